@@ -0,0 +1,57 @@
+package com.typingarena.analytics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매크로/봇 검사 한 세션 판정 (KeystrokeAnalyzer.verdict). 분석 스레드 코어 하나가
+ * 분당 몇 세션을 볼 수 있는지 = 60e9 / ns/op. B/op가 0이어야 한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KeystrokeAnalyzerBenchmark {
+
+    @Param({"100", "1000"})
+    public int keys;
+
+    private int[] human;
+    private int[] macro;
+    private final int[] hist = new int[KeystrokeAnalyzer.HIST_BINS];
+
+    @Setup
+    public void setup() {
+        Random r = new Random(3);
+        human = new int[keys - 1];
+        macro = new int[keys - 1];
+        for (int i = 0; i < keys - 1; i++) {
+            human[i] = (int) (150_000 * Math.exp(0.45 * r.nextGaussian()));
+            macro[i] = 60_000 + r.nextInt(4_000);
+        }
+    }
+
+    @Benchmark
+    public int verdictHuman() {
+        return KeystrokeAnalyzer.verdict(human, 0, human.length, hist);
+    }
+
+    @Benchmark
+    public int verdictMacro() {
+        return KeystrokeAnalyzer.verdict(macro, 0, macro.length, hist);
+    }
+}
@@ -0,0 +1,79 @@
+package com.typingarena.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 적응형 단어 선택: 가중치 뽑기, 제출 결과 기록(통계 + 표 다시 만들기 RECORD_BUDGET 걸음),
+ * 틱마다 하는 표 다시 만들기. 균등 선택(WordDictionary.pickIndex)과 비교용으로 같이 잰다.
+ * 모두 B/op가 0이어야 한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AdaptiveWordSamplerBenchmark {
+
+    @Param({"2000", "300000"})
+    public int words;
+
+    private WordDictionary dict;
+    private AdaptiveWordSampler sampler;
+    private Random rnd;
+    private int answer;
+
+    @Setup
+    public void setup() {
+        Random r = new Random(7);
+        List<String> list = new ArrayList<>(words);
+        char[] buf = new char[8];
+        for (int i = 0; i < words; i++) {
+            int len = 4 + r.nextInt(5);
+            for (int c = 0; c < len; c++) buf[c] = (char) ('a' + r.nextInt(26));
+            list.add(new String(buf, 0, len));
+        }
+        dict = WordDictionary.of(list);
+        sampler = new AdaptiveWordSampler(dict);
+        rnd = new Random(1);
+    }
+
+    @Benchmark
+    public int pickUniform() {
+        return dict.pickIndex(4, 5, rnd);
+    }
+
+    @Benchmark
+    public int pickAdaptive() {
+        return sampler.pick(4, 5, rnd);
+    }
+
+    // 다섯 번에 한 번 틀리는 플레이어
+    @Benchmark
+    public int pickAndRecord() {
+        int w = sampler.pick(4, 5, rnd);
+        sampler.record(w, ++answer % 5 != 0);
+        return w;
+    }
+
+    @Benchmark
+    public void rebuildTick() {
+        sampler.record(answer++ % dict.size(), false);
+        sampler.rebuildSome(AdaptiveWordSampler.TICK_BUDGET);
+    }
+}
@@ -0,0 +1,85 @@
+package com.typingarena.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 큰 단어 목록(words개)을 임시 파일로 만들어
+ * 메모리 매핑 로드 시간과 길이 구간 선택 비용을 잰다.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordDictionaryBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int words;
+
+    private Path file;
+    private WordDictionary dict;
+    private Random rnd;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("words", ".txt");
+        Random r = new Random(7);
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            char[] buf = new char[12];
+            for (int i = 0; i < words; i++) {
+                int len = 3 + r.nextInt(10);
+                for (int c = 0; c < len; c++) buf[c] = (char) ('a' + r.nextInt(26));
+                w.write(buf, 0, len);
+                w.newLine();
+            }
+        }
+        dict = WordDictionary.mapFile(file);
+        rnd = new Random(1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public WordDictionary load() throws IOException {
+        return WordDictionary.mapFile(file);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String pickNarrow() {
+        return dict.pick(7, 7, rnd);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String pickWide() {
+        return dict.pick(4, 8, rnd);
+    }
+}
@@ -0,0 +1,55 @@
+package com.typingarena.common.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지표 기록 비용. 게임 루프에서 매 틱/프레임 부르므로 B/op가 0이어야 한다.
+ * contended는 여러 스레드가 같은 히스토그램에 동시에 기록하는 경우.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LatencyHistogramBenchmark {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final Counter counter = new Counter();
+    private long v = 1;
+
+    @Benchmark
+    public void record() {
+        v = v * 6364136223846793005L + 1442695040888963407L;
+        histogram.record((v >>> 40) & 0xFFFFF);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        histogram.record(System.nanoTime() & 0xFFFFF);
+    }
+
+    @Benchmark
+    public void counterInc() {
+        counter.inc();
+    }
+
+    @Benchmark
+    public long recordSince() {
+        long t0 = System.nanoTime();
+        histogram.recordSince(t0);
+        return t0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.typingarena.minigames.tugofwar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HUD 갱신마다 불리는 describeEffects() 벤치마크.
+ * 효과가 하나도 없을 때 / 셋 다 켜져 있을 때를 따로 잰다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ActiveEffectsBenchmark {
+
+    private ActiveEffects none;
+    private ActiveEffects all;
+
+    @Setup
+    public void setup() {
+        none = new ActiveEffects();
+
+        GameLogic logic = new GameLogic(GameBalance.DEFAULT, 1L);
+        logic.startGame();
+        for (EffectType t : EffectType.values()) logic.useItem(t);
+        all = logic.getEffects();
+    }
+
+    @Benchmark
+    public String describeNone() {
+        return none.describeEffects();
+    }
+
+    @Benchmark
+    public String describeAll() {
+        return all.describeEffects();
+    }
+}
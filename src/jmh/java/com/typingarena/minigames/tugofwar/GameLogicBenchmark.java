@@ -0,0 +1,100 @@
+package com.typingarena.minigames.tugofwar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.typingarena.minigames.tugofwar.replay.ReplayWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameLogic 핫패스 벤치마크.
+ * 경기가 끝나면(600틱) 바로 다시 startGame()해서 항상 진행 중 상태를 측정한다.
+ * record=true면 ReplayWriter를 붙인 상태로 잰다 (기록 비용 확인용).
+ * submitCorrect/submitWrong은 한 번 부를 때마다 로프가 +4(정답 12 - 오답 8)씩 움직이고
+ * submitAnswer()는 위치를 자르지 않으므로, 로프가 경기 범위(-100 ~ 100)를 벗어나면
+ * 다시 시작한다 (25번에 한 번, startGame() 비용도 그만큼 나눠 들어간다).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameLogicBenchmark {
+
+    @Param({"false", "true"})
+    public boolean record;
+
+    private GameLogic logic;
+    private Path replayFile;
+    private ReplayWriter writer;
+
+    @Setup
+    public void setup() throws IOException {
+        logic = new GameLogic(GameBalance.DEFAULT, 1L);
+        if (record) {
+            replayFile = Files.createTempFile("bench", ".replay");
+            writer = ReplayWriter.append(replayFile);
+            logic.setListener(writer);
+        }
+        logic.startGame();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (writer != null) {
+            writer.close();
+            Files.deleteIfExists(replayFile);
+        }
+    }
+
+    private void ensureRunning() {
+        if (!logic.isRunning() || Math.abs(logic.getPos()) >= 100) logic.startGame();
+    }
+
+    @Benchmark
+    public String tick() {
+        ensureRunning();
+        return logic.tick();
+    }
+
+    @Benchmark
+    public boolean submitCorrect() {
+        ensureRunning();
+        boolean ok = logic.submitAnswer(logic.getCurrentWord());
+        logic.submitAnswer("");
+        return ok;
+    }
+
+    @Benchmark
+    public boolean submitWrong() {
+        ensureRunning();
+        boolean ok = logic.submitAnswer("xxxx");
+        logic.submitAnswer(logic.getCurrentWord());
+        return ok;
+    }
+
+    @Benchmark
+    public String randomWordShort() {
+        return logic.randomWord(4, 5);
+    }
+
+    @Benchmark
+    public String randomWordLong() {
+        return logic.randomWord(7, 8);
+    }
+}
@@ -0,0 +1,81 @@
+package com.typingarena.minigames.tugofwar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키 하나 처리 비용: InputMatcher 갱신 + KeystrokeLog 기록.
+ * 단어 하나를 한 글자씩 치고 지우는 것을 1회로 잰다 (B/op가 0이어야 함).
+ * typeHangulWord는 한글 IME처럼 조합 중인 글자를 지우고 다시 넣으며 "한글typing"을 친다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InputMatcherBenchmark {
+
+    private static final String WORD = "keyboard";
+    private static final String[] KEYS = new String[WORD.length()];
+
+    static {
+        // 실제 DocumentFilter도 키마다 Swing이 만든 한 글자 String을 받는다
+        for (int i = 0; i < KEYS.length; i++) KEYS[i] = String.valueOf(WORD.charAt(i));
+    }
+
+    private static final String HANGUL_WORD = "한글typing";
+    // IME 조합 순서: (자리, 넣을 글자, 조합 중인 글자를 바꾸는지)
+    private static final String[] IME_TEXT = {"ㅎ", "하", "한", "ㄱ", "그", "글", "t", "y", "p", "i", "n", "g"};
+    private static final int[] IME_POS = {0, 0, 0, 1, 1, 1, 2, 3, 4, 5, 6, 7};
+    private static final boolean[] IME_REPLACE = {false, true, true, false, true, true,
+            false, false, false, false, false, false};
+
+    private InputMatcher matcher;
+    private InputMatcher hangulMatcher;
+    private KeystrokeLog log;
+    private long t;
+
+    @Setup
+    public void setup() {
+        matcher = new InputMatcher();
+        matcher.retarget(WORD);
+        log = new KeystrokeLog();
+        hangulMatcher = new InputMatcher();
+        hangulMatcher.retarget(HANGUL_WORD);
+    }
+
+    @Benchmark
+    public boolean typeWord() {
+        for (int i = 0; i < KEYS.length; i++) {
+            matcher.insert(i, KEYS[i]);
+            log.record(t += 150_000_000L, 1);
+        }
+        boolean done = matcher.isComplete() && !matcher.isMismatch();
+        matcher.remove(0, matcher.length());
+        return done;
+    }
+
+    @Benchmark
+    public boolean typeHangulWord() {
+        for (int i = 0; i < IME_TEXT.length; i++) {
+            if (IME_REPLACE[i]) hangulMatcher.remove(IME_POS[i], 1);
+            hangulMatcher.insert(IME_POS[i], IME_TEXT[i]);
+            if (hangulMatcher.isMismatch()) return false;
+            log.record(t += 150_000_000L, 1);
+        }
+        boolean done = hangulMatcher.isComplete();
+        hangulMatcher.remove(0, hangulMatcher.length());
+        return done;
+    }
+}
@@ -0,0 +1,68 @@
+package com.typingarena.minigames.tugofwar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RopePanel.paintComponent()를 화면 없이 BufferedImage에 그려서 잰다.
+ * blind=true면 먹물 박스까지 그리는 경로를 포함한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RopePanelBenchmark {
+
+    @Param({"false", "true"})
+    public boolean blind;
+
+    private GameLogic logic;
+    private RopePanel panel;
+    private BufferedImage image;
+    private Graphics2D g;
+
+    @Setup
+    public void setup() {
+        logic = new GameLogic(GameBalance.DEFAULT, 1L);
+        logic.startGame();
+        if (blind) logic.useItem(EffectType.BLIND);
+
+        panel = new RopePanel(new GameSnapshot(logic, 1, null));
+        panel.setSize(800, 380);
+        image = new BufferedImage(800, 380, BufferedImage.TYPE_INT_ARGB);
+        g = image.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paint() {
+        // paintComponent가 Graphics 상태(폰트/스트로크)를 바꾸므로 매번 새로 만든다
+        Graphics2D frame = (Graphics2D) g.create();
+        try {
+            panel.paintComponent(frame);
+        } finally {
+            frame.dispose();
+        }
+        return image;
+    }
+}
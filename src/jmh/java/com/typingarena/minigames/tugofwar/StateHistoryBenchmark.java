@@ -0,0 +1,56 @@
+package com.typingarena.minigames.tugofwar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클라이언트 예측 되감기 비용.
+ * 30틱 진행(틱마다 정답 하나)한 뒤 10틱 전 스냅샷으로 되돌려 지금까지 다시 돌린다.
+ * -prof gc로 보면 gc.alloc.rate.norm이 0이어야 한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StateHistoryBenchmark {
+
+    private GameLogic logic;
+    private StateHistory history;
+    private long[] state;
+
+    @Setup
+    public void setup() {
+        logic = new GameLogic(GameBalance.DEFAULT, 1L);
+        history = new StateHistory(logic, 64, 4);
+        history.start(42L);
+        for (int t = 0; t < 30; t++) {
+            history.submitAnswer(logic.getCurrentWord());
+            history.tick();
+        }
+        state = new long[GameLogic.STATE_LONGS];
+    }
+
+    @Benchmark
+    public boolean resimulate10() {
+        return history.resimulate(history.getTick() - 10);
+    }
+
+    @Benchmark
+    public long[] saveRestore() {
+        logic.saveState(state, 0);
+        logic.loadState(state, 0);
+        return state;
+    }
+}
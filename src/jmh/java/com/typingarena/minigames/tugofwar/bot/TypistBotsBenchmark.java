@@ -0,0 +1,58 @@
+package com.typingarena.minigames.tugofwar.bot;
+
+import com.typingarena.common.WordDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 봇 bots마리를 한 틱(100ms) 진행하는 비용 (TypistBots.advance). 방 하나에 봇 8마리,
+ * 단계는 초보/보통/고수를 돌려 가며. 틱 하나에 쓸 수 있는 코어 시간(100ms)과 비교해 보면
+ * 코어 하나가 몇 마리를 돌릴 수 있는지 나온다. B/op가 0이어야 한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TypistBotsBenchmark {
+
+    private static final int TICK_MS = 100;
+    private static final int MATCH_MS = 60_000;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int bots;
+
+    private TypistBots pool;
+    private int[] hits;
+    private int[] misses;
+    private int elapsed;
+
+    @Setup
+    public void setup() {
+        pool = new TypistBots(WordDictionary.defaultDictionary(), bots);
+        int rooms = (bots + 7) / 8;
+        BotLevel[] levels = BotLevel.values();
+        for (int i = 0; i < bots; i++) pool.add(levels[i % levels.length], i / 8);
+        hits = new int[rooms];
+        misses = new int[rooms];
+        pool.start(1L);
+    }
+
+    @Benchmark
+    public int advance() {
+        elapsed = elapsed + TICK_MS == MATCH_MS ? 0 : elapsed + TICK_MS;
+        return pool.advance(TICK_MS, elapsed, hits, misses);
+    }
+}
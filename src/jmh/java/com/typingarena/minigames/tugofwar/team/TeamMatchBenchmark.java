@@ -0,0 +1,86 @@
+package com.typingarena.minigames.tugofwar.team;
+
+import com.typingarena.common.WordDictionary;
+import com.typingarena.minigames.tugofwar.GameBalance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 팀전 답 경로를 여러 스레드가 동시에 (스레드마다 다른 플레이어). 처리량(ops/us)이라 클수록 좋다.
+ * - submit: 단어 비교 + 점수 + TeamRope.pull + 다음 단어
+ * - pullStriped: TeamRope.pull만 (LongAdder)
+ * - pullAtomic / pullLocked: 비교용. 모두가 한 칸(AtomicLong CAS / synchronized)에 더할 때
+ * 코어 수에 따라 늘어나는지 보려면 -t 1,2,4,8 처럼 스레드 수를 바꿔 돌린다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TeamMatchBenchmark {
+
+    private static final AtomicInteger SEATS = new AtomicInteger();
+
+    private TeamMatch match;
+    private final AtomicLong shared = new AtomicLong();
+    private final Object lock = new Object();
+    private long locked;
+
+    @Setup
+    public void setup() {
+        match = new TeamMatch(GameBalance.DEFAULT, WordDictionary.defaultDictionary());
+        for (int i = 0; i < TeamMatch.MAX_TEAM; i++) match.join(TeamRope.LEFT);
+        for (int i = 0; i < TeamMatch.MAX_TEAM; i++) match.join(TeamRope.RIGHT);
+        match.start(1L); // 틱을 돌리지 않으므로 경기가 끝나지 않는다
+    }
+
+    /** 스레드마다 플레이어 한 명 (한 플레이어는 한 스레드만 친다) */
+    @State(Scope.Thread)
+    public static class Seat {
+        int player;
+        int side;
+
+        @Setup
+        public void take() {
+            player = SEATS.getAndIncrement() % (2 * TeamMatch.MAX_TEAM);
+            side = player < TeamMatch.MAX_TEAM ? TeamRope.LEFT : TeamRope.RIGHT;
+        }
+    }
+
+    @Benchmark
+    public boolean submit(Seat s) {
+        return match.submit(s.player, match.currentWord(s.player));
+    }
+
+    @Benchmark
+    public void pullStriped(Seat s) {
+        match.getRope().pull(s.side, 1200);
+    }
+
+    @Benchmark
+    public long pullAtomic() {
+        return shared.addAndGet(1200);
+    }
+
+    @Benchmark
+    public long pullLocked() {
+        synchronized (lock) {
+            return locked += 1200;
+        }
+    }
+}
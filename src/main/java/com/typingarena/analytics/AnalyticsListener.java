@@ -0,0 +1,39 @@
+package com.typingarena.analytics;
+
+import com.typingarena.minigames.tugofwar.GameListener;
+import com.typingarena.minigames.tugofwar.GameLogic;
+
+/**
+ * 줄다리기 한 판을 TypingAnalytics의 한 플레이어로 기록하는 리스너.
+ * GameLogic.addListener()로 붙인다. 게임 스레드에서 불리며 할당 없이 배열만 갱신한다.
+ */
+public final class AnalyticsListener implements GameListener {
+
+    private final TypingAnalytics analytics;
+    private final int player;
+
+    public AnalyticsListener(TypingAnalytics analytics, int player) {
+        this.analytics = analytics;
+        this.player = player;
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    @Override
+    public void onStart(GameLogic game, long matchSeed) {
+        analytics.startMatch(player);
+    }
+
+    @Override
+    public void onAnswer(GameLogic game, String typed, boolean correct) {
+        // onAnswer 시점의 currentWord는 아직 이 답의 대상 단어
+        analytics.recordAnswer(player, game.getCurrentWordIndex(), game.getCurrentWord(), typed, correct);
+    }
+
+    @Override
+    public void onEnd(GameLogic game, String result) {
+        analytics.endMatch(player, GameLogic.MATCH_MS - game.getTimeMs());
+    }
+}
@@ -0,0 +1,320 @@
+package com.typingarena.analytics;
+
+import com.typingarena.common.metrics.Counter;
+import com.typingarena.common.metrics.LatencyHistogram;
+import com.typingarena.common.metrics.MetricRegistry;
+import com.typingarena.minigames.tugofwar.GameMetrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+
+/**
+ * 매크로/봇 입력 검사: 경기(세션) 하나의 키 간격 열을 받아 사람이 친 것 같지 않으면 표시한다.
+ *
+ * 게임 스레드는 submit()으로 간격(마이크로초 int)을 묶음 버퍼에 복사만 하고 바로 돌아간다.
+ * 분석은 배경 스레드 하나가 묶음 단위로 한다. 묶음은 두 개를 번갈아 쓰고 (채우는 쪽 / 분석하는 쪽),
+ * 둘 다 차 있으면 기다리지 않고 그 세션을 버린다 (dropped). 그래서 게임 틱이 분석 때문에 멈추지 않는다.
+ *
+ * 묶음은 세션을 이어 붙인 int[] 하나 + 세션 경계 int[] (struct-of-arrays)라서 세션마다 객체가 없고,
+ * 특징은 기본형 배열을 앞에서부터 훑는 분기 없는 루프로 구한다 (JIT가 벡터화할 수 있는 모양).
+ * - 변동 계수 (표준편차 / 평균): 일정한 간격으로 치는 매크로는 아주 작다
+ * - 엔트로피: 8ms 칸 32개 히스토그램. 사람은 간격이 넓게 퍼져 3~4비트, 매크로는 1비트 안팎
+ * - 몰아치기: BURST_US 미만 간격의 비율과 가장 긴 연속 길이 (붙여넣기/재생)
+ * - 속도: 평균 간격이 MIN_MEAN_US 미만 (분당 500타 이상을 계속)
+ * 키가 MIN_KEYS개보다 적은 세션은 판단하지 않는다 (0).
+ *
+ * 결과는 세션마다 Listener.onVerdict(session, flags)로 (분석 스레드에서). flags 0이면 통과.
+ * 지표: typingarena_anticheat_* (GameMetrics.REGISTRY)
+ */
+public final class KeystrokeAnalyzer implements AutoCloseable {
+
+    public static final int MIN_KEYS = 20;
+    public static final int MAX_INTERVAL_US = 2_000_000; // 이보다 긴 쉼은 2초로 자른다
+
+    // 판정 기준
+    static final double MIN_CV = 0.12;
+    static final double MIN_ENTROPY_BITS = 1.5;
+    static final int BURST_US = 12_000;
+    static final double MAX_BURST_SHARE = 0.25;
+    static final int MAX_BURST_RUN = 8;
+    static final int MIN_MEAN_US = 24_000;
+
+    public static final int FLAG_UNIFORM = 1;      // 간격이 너무 고르다
+    public static final int FLAG_LOW_ENTROPY = 2;  // 간격이 몇 가지 값뿐
+    public static final int FLAG_BURST = 4;        // 사람 손으로 안 되는 몰아치기
+    public static final int FLAG_SPEED = 8;        // 평균 속도가 사람 한계 밖
+
+    static final int HIST_BINS = 32;
+    static final int HIST_SHIFT = 13; // 8192us ~ 8ms 칸
+
+    private static final int BATCH_SESSIONS = 4096;
+    private static final int BATCH_INTERVALS = 1 << 19;
+    private static final long FLUSH_MS = 50;
+
+    private static final MetricRegistry REGISTRY = GameMetrics.REGISTRY;
+    static final Counter SESSIONS =
+            REGISTRY.counter("anticheat_sessions", "검사한 세션 수");
+    static final Counter FLAGGED =
+            REGISTRY.counter("anticheat_flagged", "자동 입력으로 의심된 세션 수");
+    static final Counter DROPPED =
+            REGISTRY.counter("anticheat_dropped", "분석이 밀려서 검사하지 못하고 버린 세션 수");
+    static final LatencyHistogram BATCH =
+            REGISTRY.histogram("anticheat_batch", "묶음 하나 분석 시간");
+
+    /** 세션 하나의 결과 (분석 스레드에서 불림, 오래 잡고 있지 말 것) */
+    public interface Listener {
+        void onVerdict(long session, int flags);
+    }
+
+    // 세션을 이어 붙인 묶음
+    private static final class Batch {
+        final int[] intervals = new int[BATCH_INTERVALS];
+        final int[] start = new int[BATCH_SESSIONS + 1]; // 세션 i = intervals[start[i] .. start[i + 1])
+        final long[] session = new long[BATCH_SESSIONS];
+        int count;
+
+        boolean fits(int n) {
+            return count < BATCH_SESSIONS && start[count] + n <= BATCH_INTERVALS;
+        }
+
+        boolean halfFull() {
+            return count >= BATCH_SESSIONS / 2 || start[count] >= BATCH_INTERVALS / 2;
+        }
+    }
+
+    private final Listener listener;
+    private final Object lock = new Object();
+    private Batch filling = new Batch();  // lock 안에서만
+    private Batch working = new Batch();  // 분석 스레드 전용
+    private final int[] hist = new int[HIST_BINS];
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private KeystrokeAnalyzer(Listener listener) {
+        this.listener = listener;
+        this.thread = new Thread(this::run, "keystroke-analyzer");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    /** 분석 스레드를 띄운다 */
+    public static KeystrokeAnalyzer start(Listener listener) {
+        KeystrokeAnalyzer a = new KeystrokeAnalyzer(listener);
+        a.thread.start();
+        return a;
+    }
+
+    /**
+     * 세션 하나를 검사 대기열에 넣는다 (아무 스레드, 복사만 하고 바로 돌아옴).
+     * 간격은 마이크로초, 0 ~ MAX_INTERVAL_US로 잘라 넣는다. 대기열이 가득 차면 버리고 false.
+     */
+    public boolean submit(long session, int[] intervalsMicros, int n) {
+        synchronized (lock) {
+            Batch b = filling;
+            if (!b.fits(n)) {
+                DROPPED.inc();
+                return false;
+            }
+            int at = b.start[b.count];
+            for (int i = 0; i < n; i++) {
+                b.intervals[at + i] = Math.min(Math.max(intervalsMicros[i], 0), MAX_INTERVAL_US);
+            }
+            b.session[b.count] = session;
+            b.count++;
+            b.start[b.count] = at + n;
+            if (b.halfFull()) lock.notify();
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        synchronized (lock) {
+            lock.notify();
+        }
+    }
+
+    // ===== 분석 스레드 =====
+
+    private void run() {
+        while (running) {
+            synchronized (lock) {
+                // 반쯤 찰 때까지, 길어도 FLUSH_MS만 기다린다
+                if (running && !filling.halfFull()) {
+                    try {
+                        lock.wait(FLUSH_MS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (filling.count == 0) continue;
+                Batch full = filling;
+                filling = working; // 비어 있음 (지난번에 다 분석함)
+                working = full;
+            }
+            long t0 = System.nanoTime();
+            analyzeBatch(working);
+            BATCH.recordSince(t0);
+            working.count = 0;
+        }
+    }
+
+    private void analyzeBatch(Batch b) {
+        for (int s = 0; s < b.count; s++) {
+            int flags = verdict(b.intervals, b.start[s], b.start[s + 1], hist);
+            SESSIONS.inc();
+            if (flags != 0) FLAGGED.inc();
+            listener.onVerdict(b.session[s], flags);
+        }
+    }
+
+    /**
+     * 간격 x[from..to) (마이크로초, 0 ~ MAX_INTERVAL_US) 한 세션의 판정 플래그.
+     * hist는 HIST_BINS칸 작업 공간 (호출하는 스레드 것). 할당 없음.
+     */
+    public static int verdict(int[] x, int from, int to, int[] hist) {
+        int n = to - from;
+        if (n + 1 < MIN_KEYS) return 0;
+
+        // 1) 합, 제곱합, 짧은 간격 수: 분기 없이 한 번에
+        long sum = 0;
+        long sumSq = 0;
+        int burst = 0;
+        for (int i = from; i < to; i++) {
+            int v = x[i];
+            sum += v;
+            sumSq += (long) v * v;
+            burst += (v - BURST_US) >>> 31; // v < BURST_US면 1
+        }
+
+        // 2) 8ms 칸 히스토그램과 가장 긴 몰아치기
+        for (int k = 0; k < HIST_BINS; k++) hist[k] = 0;
+        int run = 0;
+        int maxRun = 0;
+        for (int i = from; i < to; i++) {
+            int v = x[i];
+            hist[Math.min(v >>> HIST_SHIFT, HIST_BINS - 1)]++;
+            int short1 = (v - BURST_US) >>> 31;
+            run = (run + 1) * short1;
+            maxRun = Math.max(maxRun, run);
+        }
+
+        double mean = sum / (double) n;
+        double var = Math.max(0.0, sumSq / (double) n - mean * mean);
+        double cv = mean > 0 ? Math.sqrt(var) / mean : 0.0;
+
+        double entropy = 0.0;
+        for (int k = 0; k < HIST_BINS; k++) {
+            int c = hist[k];
+            if (c == 0) continue;
+            double p = c / (double) n;
+            entropy -= p * Math.log(p);
+        }
+        entropy /= Math.log(2);
+
+        int flags = 0;
+        if (cv < MIN_CV) flags |= FLAG_UNIFORM;
+        if (entropy < MIN_ENTROPY_BITS) flags |= FLAG_LOW_ENTROPY;
+        if (burst > n * MAX_BURST_SHARE || maxRun >= MAX_BURST_RUN) flags |= FLAG_BURST;
+        if (mean < MIN_MEAN_US) flags |= FLAG_SPEED;
+        return flags;
+    }
+
+    /** 플래그를 사람이 읽을 수 있게 ("고른 간격, 몰아치기") */
+    public static String describe(int flags) {
+        if (flags == 0) return "정상";
+        StringBuilder sb = new StringBuilder();
+        if ((flags & FLAG_UNIFORM) != 0) sb.append("고른 간격, ");
+        if ((flags & FLAG_LOW_ENTROPY) != 0) sb.append("단조로운 간격, ");
+        if ((flags & FLAG_BURST) != 0) sb.append("몰아치기, ");
+        if ((flags & FLAG_SPEED) != 0) sb.append("비정상 속도, ");
+        return sb.substring(0, sb.length() - 2);
+    }
+
+    // ===== 부하 측정 =====
+
+    /**
+     * 사람/매크로/재생 세션을 섞어 한 스레드에서 최대한 빨리 넣고, 그 스레드는 100ms마다 틱도 돈다.
+     * 분당 검사 세션 수, 분석 스레드 CPU 시간, 종류별 적발률, 틱 지연을 찍는다.
+     * 사용: java ... KeystrokeAnalyzer [초=10] [세션당 키=300]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int keys = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+
+        // 세션 견본: 0~7 사람, 8 매크로(고정 간격 + 작은 흔들림), 9 재생(몰아치기)
+        int kinds = 10;
+        int templates = 1000;
+        int[][] pool = new int[templates][];
+        Random r = new Random(7);
+        for (int t = 0; t < templates; t++) {
+            int[] x = new int[keys - 1];
+            int kind = t % kinds;
+            double base = 90_000 + r.nextInt(150_000);
+            for (int i = 0; i < x.length; i++) {
+                if (kind < 8) {
+                    // 사람: 로그정규 간격 + 가끔 단어 사이 쉼
+                    double v = base * Math.exp(0.45 * r.nextGaussian());
+                    if (r.nextInt(6) == 0) v += 200_000 + r.nextInt(600_000);
+                    x[i] = (int) v;
+                } else if (kind == 8) {
+                    x[i] = 60_000 + r.nextInt(4_000);
+                } else {
+                    x[i] = r.nextInt(10) == 0 ? 300_000 + r.nextInt(200_000) : r.nextInt(6_000);
+                }
+            }
+            pool[t] = x;
+        }
+
+        long[] flaggedBy = new long[kinds];
+        long[] seenBy = new long[kinds];
+        KeystrokeAnalyzer a = KeystrokeAnalyzer.start((session, flags) -> {
+            int kind = (int) (session % kinds);
+            seenBy[kind]++;
+            if (flags != 0) flaggedBy[kind]++;
+        });
+
+        ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        long tick = 100_000_000L;
+        long t0 = System.nanoTime();
+        long nextTick = t0 + tick;
+        long end = t0 + seconds * 1_000_000_000L;
+        long maxTickLag = 0;
+        long maxSubmit = 0;
+        long submitted = 0;
+        while (System.nanoTime() < end) {
+            long now = System.nanoTime();
+            if (now >= nextTick) {
+                maxTickLag = Math.max(maxTickLag, now - nextTick);
+                nextTick += tick;
+            }
+            int t = (int) (submitted % templates);
+            long s0 = System.nanoTime();
+            if (a.submit(submitted, pool[t], pool[t].length)) submitted++;
+            else Thread.yield(); // 분석이 밀리면 다음 묶음까지 양보
+            maxSubmit = Math.max(maxSubmit, System.nanoTime() - s0);
+        }
+        Thread.sleep(2 * FLUSH_MS);
+        long cpu = mx.getThreadCpuTime(a.thread.getId()); // 스레드가 끝나기 전에
+        double secs = (System.nanoTime() - t0) / 1e9;
+        a.close();
+        a.thread.join();
+
+        long sessions = SESSIONS.getValue();
+        System.out.printf("세션 %,d개 (키 %d개씩) 검사: %,.0f개/분, 분석 스레드 CPU %.2f초 -> 코어 하나로 %,.0f개/분%n",
+                sessions, keys, sessions / secs * 60, cpu / 1e9, sessions / (cpu / 1e9) * 60);
+        System.out.printf("버림 %,d, 묶음 분석 p50 %.2fms p99 %.2fms, 넣기 최대 %.1fus, 틱 지연 최대 %.2fms%n",
+                DROPPED.getValue(), BATCH.percentileNanos(0.5) / 1e6, BATCH.percentileNanos(0.99) / 1e6,
+                maxSubmit / 1e3, maxTickLag / 1e6);
+        long humans = 0, humanFlagged = 0;
+        for (int k = 0; k < 8; k++) {
+            humans += seenBy[k];
+            humanFlagged += flaggedBy[k];
+        }
+        System.out.printf("적발: 사람 %.2f%% (오탐), 매크로 %.1f%%, 재생 %.1f%%%n",
+                100.0 * humanFlagged / Math.max(1, humans),
+                100.0 * flaggedBy[8] / Math.max(1, seenBy[8]), 100.0 * flaggedBy[9] / Math.max(1, seenBy[9]));
+    }
+}
@@ -0,0 +1,53 @@
+package com.typingarena.analytics;
+
+/**
+ * 플레이어 이름 -> 0부터 시작하는 int id.
+ * 박싱 없는 개방 주소 해시 (String[] + int[]). 한 번 받은 id는 바뀌지 않는다.
+ *
+ * id 발급은 접속/시작할 때 한 번이라 synchronized로 충분하다.
+ */
+public final class PlayerIndex {
+
+    private final int capacity;
+    private final String[] keys;  // 해시 테이블 (null = 빈 칸)
+    private final int[] ids;
+    private final String[] names; // id -> 이름
+    private final int mask;
+    private int size;
+
+    public PlayerIndex(int capacity) {
+        this.capacity = capacity;
+        int table = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1; // 2배 이상 2의 거듭제곱
+        this.keys = new String[table];
+        this.ids = new int[table];
+        this.names = new String[capacity];
+        this.mask = table - 1;
+    }
+
+    /** 이름의 id (처음 보는 이름이면 새로 발급, 꽉 찼으면 -1) */
+    public synchronized int idOf(String name) {
+        int i = mix(name.hashCode()) & mask;
+        while (keys[i] != null) {
+            if (keys[i].equals(name)) return ids[i];
+            i = (i + 1) & mask;
+        }
+        if (size == capacity) return -1;
+        keys[i] = name;
+        ids[i] = size;
+        names[size] = name;
+        return size++;
+    }
+
+    public synchronized String nameOf(int id) {
+        return id >= 0 && id < size ? names[id] : null;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,284 @@
+package com.typingarena.analytics;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 플레이어별 타이핑 통계를 경기 중에 바로바로 누적한다 (나중에 로그를 모아 돌리지 않음).
+ *
+ * 저장은 전부 플레이어 id / 단어 인덱스로 접근하는 기본형 배열 (struct-of-arrays).
+ * 플레이어 한 명당 약 190바이트라 100만 명이면 약 190MB.
+ * - 경기/답/정답/정답 글자 수/플레이 시간 (누적 + 이번 경기)
+ * - 콤보 길이 분포: 끊긴 콤보를 2의 거듭제곱 구간 8칸에 센다
+ * - 글자(a~z)별 시도/오류: char(16비트) 카운터, 가득 차면 둘 다 반으로 줄여서 비율 유지
+ * - 단어별 시도/오류: 전체 플레이어 공용 (AtomicIntegerArray)
+ *
+ * 스레드: 한 플레이어의 기록은 한 번에 한 스레드만 (그 플레이어의 게임을 돌리는 스레드).
+ * 서로 다른 플레이어는 동시에 기록해도 된다. 조회는 아무 때나 (진행 중이면 근사값).
+ * 조회 메서드는 전부 O(1) (글자 26개 훑는 것 포함).
+ */
+public final class TypingAnalytics {
+
+    public static final int COMBO_BUCKETS = 8; // 1, 2~3, 4~7, ... 64~127, 128+
+    private static final int LETTERS = 26;
+    private static final char SATURATE = Character.MAX_VALUE;
+
+    private final int capacity;
+
+    // --- 플레이어별 누적 ---
+    private final int[] matches;
+    private final int[] answers;
+    private final int[] correct;
+    private final int[] correctChars;
+    private final long[] playMs;
+
+    // --- 플레이어별 이번 경기 ---
+    private final int[] curCombo;
+    private final int[] matchAnswers;
+    private final int[] matchCorrect;
+    private final int[] matchChars;
+    private final int[] matchMaxCombo;
+    private final int[] matchMs;
+
+    // [player * COMBO_BUCKETS + bucket]
+    private final int[] comboHist;
+    // [player * LETTERS + letter]
+    private final char[] letterSeen;
+    private final char[] letterMiss;
+
+    // --- 단어별 (사전 인덱스) ---
+    private final AtomicIntegerArray wordSeen;
+    private final AtomicIntegerArray wordMiss;
+
+    public TypingAnalytics(int maxPlayers, int dictionarySize) {
+        this.capacity = maxPlayers;
+        matches = new int[maxPlayers];
+        answers = new int[maxPlayers];
+        correct = new int[maxPlayers];
+        correctChars = new int[maxPlayers];
+        playMs = new long[maxPlayers];
+        curCombo = new int[maxPlayers];
+        matchAnswers = new int[maxPlayers];
+        matchCorrect = new int[maxPlayers];
+        matchChars = new int[maxPlayers];
+        matchMaxCombo = new int[maxPlayers];
+        matchMs = new int[maxPlayers];
+        comboHist = new int[maxPlayers * COMBO_BUCKETS];
+        letterSeen = new char[maxPlayers * LETTERS];
+        letterMiss = new char[maxPlayers * LETTERS];
+        wordSeen = new AtomicIntegerArray(dictionarySize);
+        wordMiss = new AtomicIntegerArray(dictionarySize);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // ===== 기록 =====
+
+    public void startMatch(int p) {
+        curCombo[p] = 0;
+        matchAnswers[p] = 0;
+        matchCorrect[p] = 0;
+        matchChars[p] = 0;
+        matchMaxCombo[p] = 0;
+        matchMs[p] = 0;
+    }
+
+    /**
+     * 답 하나. target은 대상 단어, typed는 제출한 문자열 (둘 다 복사하지 않고 글자만 읽는다).
+     * wordIndex가 음수면 단어별 통계는 건너뛴다.
+     */
+    public void recordAnswer(int p, int wordIndex, CharSequence target, CharSequence typed, boolean ok) {
+        answers[p]++;
+        matchAnswers[p]++;
+        int base = p * LETTERS;
+        int n = target.length();
+
+        if (ok) {
+            correct[p]++;
+            matchCorrect[p]++;
+            correctChars[p] += n;
+            matchChars[p] += n;
+            int c = ++curCombo[p];
+            if (c > matchMaxCombo[p]) matchMaxCombo[p] = c;
+            for (int i = 0; i < n; i++) {
+                int l = letter(target.charAt(i));
+                if (l >= 0) countLetter(base + l, false);
+            }
+        } else {
+            endCombo(p);
+            // 같은 자리 글자가 다르거나 모자라면 그 글자를 틀린 것으로 본다
+            int m = typed.length();
+            for (int i = 0; i < n; i++) {
+                int l = letter(target.charAt(i));
+                if (l < 0) continue;
+                boolean miss = i >= m || letter(typed.charAt(i)) != l;
+                countLetter(base + l, miss);
+            }
+        }
+
+        if (wordIndex >= 0) {
+            wordSeen.incrementAndGet(wordIndex);
+            if (!ok) wordMiss.incrementAndGet(wordIndex);
+        }
+    }
+
+    /** 경기 끝. playedMs = 실제로 진행된 시간 */
+    public void endMatch(int p, int playedMs) {
+        endCombo(p);
+        matches[p]++;
+        playMs[p] += playedMs;
+        matchMs[p] = playedMs;
+    }
+
+    private void endCombo(int p) {
+        int c = curCombo[p];
+        if (c == 0) return;
+        curCombo[p] = 0;
+        comboHist[p * COMBO_BUCKETS + comboBucket(c)]++;
+    }
+
+    static int comboBucket(int combo) {
+        return Math.min(31 - Integer.numberOfLeadingZeros(combo), COMBO_BUCKETS - 1);
+    }
+
+    private void countLetter(int i, boolean miss) {
+        if (letterSeen[i] == SATURATE) {
+            letterSeen[i] >>>= 1;
+            letterMiss[i] >>>= 1;
+        }
+        letterSeen[i]++;
+        if (miss) letterMiss[i]++;
+    }
+
+    // a~z (대소문자 무시) -> 0~25, 그 밖은 -1
+    private static int letter(char c) {
+        int l = (c | 0x20) - 'a';
+        return l >= 0 && l < LETTERS ? l : -1;
+    }
+
+    // ===== 조회 (O(1)) =====
+
+    public int getMatches(int p)  { return matches[p]; }
+    public int getAnswers(int p)  { return answers[p]; }
+    public int getCorrect(int p)  { return correct[p]; }
+
+    /** 누적 WPM (정답 글자 5개 = 1단어) */
+    public double wpm(int p) {
+        return wpm(correctChars[p], playMs[p]);
+    }
+
+    public double accuracy(int p) {
+        return answers[p] == 0 ? 0.0 : correct[p] / (double) answers[p];
+    }
+
+    /** 마지막 경기 WPM (endMatch 이후) */
+    public double matchWpm(int p) {
+        return wpm(matchChars[p], matchMs[p]);
+    }
+
+    public double matchAccuracy(int p) {
+        return matchAnswers[p] == 0 ? 0.0 : matchCorrect[p] / (double) matchAnswers[p];
+    }
+
+    public int matchMaxCombo(int p) {
+        return matchMaxCombo[p];
+    }
+
+    private static double wpm(long chars, long ms) {
+        return ms <= 0 ? 0.0 : chars / 5.0 / (ms / 60_000.0);
+    }
+
+    /** 글자별 오류율 (a~z, 대소문자 무시) */
+    public double letterErrorRate(int p, char c) {
+        int l = letter(c);
+        if (l < 0) return 0.0;
+        int seen = letterSeen[p * LETTERS + l];
+        return seen == 0 ? 0.0 : letterMiss[p * LETTERS + l] / (double) seen;
+    }
+
+    /** 가장 많이 틀리는 글자 (시도 minSeen회 이상 중에서, 없으면 0) */
+    public char worstLetter(int p, int minSeen) {
+        int base = p * LETTERS;
+        int best = -1;
+        double bestRate = 0.0;
+        for (int l = 0; l < LETTERS; l++) {
+            int seen = letterSeen[base + l];
+            if (seen < minSeen) continue;
+            double rate = letterMiss[base + l] / (double) seen;
+            if (rate > bestRate) {
+                bestRate = rate;
+                best = l;
+            }
+        }
+        return best < 0 ? 0 : (char) ('a' + best);
+    }
+
+    /** 끊긴 콤보 중 길이가 bucket 구간(2^b ~ 2^(b+1)-1)에 든 횟수 */
+    public int comboCount(int p, int bucket) {
+        return comboHist[p * COMBO_BUCKETS + bucket];
+    }
+
+    /** 단어별 오류율 (전체 플레이어) */
+    public double wordErrorRate(int wordIndex) {
+        int seen = wordSeen.get(wordIndex);
+        return seen == 0 ? 0.0 : wordMiss.get(wordIndex) / (double) seen;
+    }
+
+    public int wordAttempts(int wordIndex) {
+        return wordSeen.get(wordIndex);
+    }
+
+    public String describe(int p) {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append(String.format("누적 %d경기 WPM %.1f 정확도 %.1f%%", matches[p], wpm(p), accuracy(p) * 100));
+        char worst = worstLetter(p, 20);
+        if (worst != 0) {
+            sb.append(String.format(" / 약한 글자 '%c' %.0f%%", worst, letterErrorRate(p, worst) * 100));
+        }
+        sb.append(" / 콤보 분포");
+        for (int b = 0; b < COMBO_BUCKETS; b++) {
+            sb.append(' ').append(comboCount(p, b));
+        }
+        return sb.toString();
+    }
+
+    // ===== 부하 측정 =====
+
+    /**
+     * 플레이어 수와 답 개수를 정해 기록 처리량과 메모리를 잰다.
+     * 사용: java ... TypingAnalytics [플레이어 수=1000000] [답 개수=20000000]
+     */
+    public static void main(String[] args) {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        long total = args.length > 1 ? Long.parseLong(args[1]) : 20_000_000L;
+        String[] words = {"apple", "banana", "keyboard", "arena", "typing", "java", "swing", "rope"};
+
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        long before = rt.totalMemory() - rt.freeMemory();
+        TypingAnalytics a = new TypingAnalytics(players, words.length);
+        System.gc();
+        long after = rt.totalMemory() - rt.freeMemory();
+        System.out.printf("플레이어 %,d명: %.1f MB (%.0f B/명)%n",
+                players, (after - before) / 1e6, (after - before) / (double) players);
+
+        long seed = 42;
+        for (int p = 0; p < players; p++) a.startMatch(p);
+        int last = 0;
+        long t0 = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L; // LCG (할당 없이)
+            int r = (int) (seed >>> 33);
+            int p = (r & 0x7fffffff) % players;
+            int w = (r >>> 8) & 7;
+            boolean ok = (r & 7) != 0;
+            a.recordAnswer(p, w, words[w], ok ? words[w] : words[(w + 1) & 7], ok);
+            last = p;
+        }
+        long ns = System.nanoTime() - t0;
+        for (int p = 0; p < players; p++) a.endMatch(p, 60_000);
+        System.out.printf("답 %,d개: %.2f초, %,.0f개/초%n", total, ns / 1e9, total * 1e9 / ns);
+        System.out.println("player " + last + ": " + a.describe(last));
+    }
+}
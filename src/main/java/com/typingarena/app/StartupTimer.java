@@ -0,0 +1,44 @@
+package com.typingarena.app;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 로비 시작 시간 기록. 단계마다 mark()를 찍고 report()로 한 줄 요약을 만든다.
+ * JVM 시작 시각은 ProcessHandle에서 얻는다 (java.management를 읽지 않도록).
+ */
+final class StartupTimer {
+
+    private static final int MAX_MARKS = 16;
+
+    private final long startNanos = System.nanoTime();
+    private final long jvmToMainMs;
+    private final String[] names = new String[MAX_MARKS];
+    private final long[] nanos = new long[MAX_MARKS];
+    private int count;
+
+    StartupTimer() {
+        Instant jvmStart = ProcessHandle.current().info().startInstant().orElse(null);
+        jvmToMainMs = jvmStart == null ? -1 : Duration.between(jvmStart, Instant.now()).toMillis();
+    }
+
+    synchronized void mark(String name) {
+        if (count == MAX_MARKS) return;
+        names[count] = name;
+        nanos[count++] = System.nanoTime();
+    }
+
+    /** 예: "시작 시간: JVM→main 150ms, 목록 3ms, 로비 생성 80ms, 첫 화면 40ms (main부터 123ms)" */
+    synchronized String report() {
+        StringBuilder sb = new StringBuilder("시작 시간:");
+        if (jvmToMainMs >= 0) sb.append(" JVM→main ").append(jvmToMainMs).append("ms,");
+        long prev = startNanos;
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? " " : ", ").append(names[i]).append(' ')
+                    .append((nanos[i] - prev) / 1_000_000).append("ms");
+            prev = nanos[i];
+        }
+        if (count > 0) sb.append(" (main부터 ").append((nanos[count - 1] - startNanos) / 1_000_000).append("ms)");
+        return sb.toString();
+    }
+}
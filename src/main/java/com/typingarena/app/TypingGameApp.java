@@ -2,14 +2,43 @@ package com.typingarena.app;
 
 import javax.swing.*;
 
-import com.typingarena.minigames.tugofwar.TugOfWarGame;
+import com.typingarena.common.UiResources;
+import com.typingarena.matchmaking.LocalOpponents;
+import com.typingarena.matchmaking.Match;
+import com.typingarena.matchmaking.Matchmaker;
+import com.typingarena.matchmaking.RatingBook;
+import com.typingarena.minigames.Minigame;
+import com.typingarena.minigames.MinigameRegistry;
 
 import java.awt.*;
 
+/**
+ * 로비. 미니게임 목록은 MinigameRegistry(ServiceLoader)에서 이름/설명만 받아 그린다.
+ * 게임 클래스는 시작 버튼을 누를 때, 또는 첫 화면 뒤 백그라운드 미리 읽기로 읽힌다.
+ * (-Dtypingarena.prewarm=false 면 미리 읽기 안 함)
+ */
 public class TypingGameApp extends JFrame {
 
-    public TypingGameApp() {
+    private final StartupTimer startup;
+    private final MinigameRegistry registry;
+    private boolean firstPainted;
+
+    private final JList<Minigame> gameList;
+    private final JTextArea description = new JTextArea();
+    private final JButton startBtn = new JButton("게임 시작");
+
+    // 매칭: 네트워크 대신 같은 프로세스 안의 대기열 + 가짜 상대들
+    private final String player = System.getProperty("typingarena.player", System.getProperty("user.name"));
+    private final RatingBook ratings = new RatingBook();
+    private Matchmaker matchmaker;          // 처음 매칭 버튼을 누를 때 만든다
+    private Minigame matchGame;             // 매칭 중인 게임
+    private final JButton matchBtn = new JButton("빠른 대전 (매칭)");
+    private final JLabel matchStatus = new JLabel(" ", SwingConstants.CENTER);
+
+    TypingGameApp(MinigameRegistry registry, StartupTimer startup) {
         super("Typing Mini Game");
+        this.registry = registry;
+        this.startup = startup;
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         setSize(600, 400);
         setLocationRelativeTo(null);
@@ -18,32 +47,147 @@ public class TypingGameApp extends JFrame {
         lobby.setBorder(BorderFactory.createEmptyBorder(40, 40, 40, 40));
 
         JLabel title = new JLabel("멀티플레이 타자 미니게임 로비", SwingConstants.CENTER);
-        title.setFont(title.getFont().deriveFont(Font.BOLD, 20f));
+        title.setFont(UiResources.font(title.getFont(), Font.BOLD, 20f));
         lobby.add(title, BorderLayout.NORTH);
 
-        JTextArea description = new JTextArea(
-                "준비된 미니게임:\n" +
-                "- 줄다리기 타자 대전 (Tug of War)\n\n" +
-                "시작 버튼을 누르면 새 창에서 게임이 실행됩니다."
-        );
+        // ===== 미니게임 목록 + 설명 =====
+        gameList = new JList<>(registry.games().toArray(new Minigame[0]));
+        gameList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        gameList.setFont(UiResources.font(gameList.getFont(), Font.BOLD, 14f));
+        gameList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean selected, boolean focus) {
+                return super.getListCellRendererComponent(list, ((Minigame) value).title(), index, selected, focus);
+            }
+        });
+        gameList.addListSelectionListener(e -> showSelected());
+
         description.setEditable(false);
         description.setOpaque(false);
-        description.setFont(description.getFont().deriveFont(14f));
-        lobby.add(description, BorderLayout.CENTER);
+        description.setLineWrap(true);
+        description.setWrapStyleWord(true);
+        description.setFont(UiResources.font(description.getFont(), 14f));
+
+        JPanel center = new JPanel(new GridLayout(1, 2, 20, 0));
+        center.add(new JScrollPane(gameList));
+        center.add(description);
+        lobby.add(center, BorderLayout.CENTER);
 
-        JButton startBtn = new JButton("줄다리기 게임 시작");
-        startBtn.setFont(startBtn.getFont().deriveFont(Font.BOLD, 16f));
-        startBtn.addActionListener(e -> launchTugOfWar());
-        lobby.add(startBtn, BorderLayout.SOUTH);
+        // ===== 버튼 =====
+        startBtn.setFont(UiResources.font(startBtn.getFont(), Font.BOLD, 16f));
+        startBtn.addActionListener(e -> launchSelected());
+
+        matchBtn.setFont(UiResources.font(matchBtn.getFont(), Font.BOLD, 16f));
+        matchBtn.addActionListener(e -> toggleMatchmaking());
+
+        JPanel bottom = new JPanel(new BorderLayout(0, 8));
+        JPanel buttons = new JPanel(new GridLayout(1, 2, 10, 0));
+        buttons.add(startBtn);
+        buttons.add(matchBtn);
+        bottom.add(buttons, BorderLayout.CENTER);
+        bottom.add(matchStatus, BorderLayout.SOUTH);
+        lobby.add(bottom, BorderLayout.SOUTH);
 
         add(lobby);
+
+        if (registry.games().isEmpty()) {
+            description.setText("등록된 미니게임이 없습니다.");
+            startBtn.setEnabled(false);
+            matchBtn.setEnabled(false);
+        } else {
+            gameList.setSelectedIndex(0);
+        }
     }
 
-    private void launchTugOfWar() {
-        SwingUtilities.invokeLater(() -> new TugOfWarGame().setVisible(true));
+    // 첫 화면이 그려진 시점을 기록하고, 그 뒤에 게임 클래스를 미리 읽는다
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        if (firstPainted) return;
+        firstPainted = true;
+        startup.mark("첫 화면");
+        System.out.println(startup.report());
+        if (Boolean.parseBoolean(System.getProperty("typingarena.prewarm", "true"))) {
+            Thread t = registry.prewarmInBackground();
+            new Thread(() -> {
+                try {
+                    t.join();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                System.out.println(registry.describePrewarm());
+            }, "prewarm-report").start();
+        }
+    }
+
+    private void showSelected() {
+        Minigame g = gameList.getSelectedValue();
+        if (g == null) return;
+        description.setText(g.title() + "\n\n" + g.description()
+                + "\n\n시작 버튼을 누르면 새 창에서 게임이 실행됩니다."
+                + (g.supportsMatchmaking() ? "\n빠른 대전은 레이팅이 비슷한 상대를 찾은 뒤 시작합니다." : ""));
+        matchBtn.setEnabled(g.supportsMatchmaking() || matchGame != null);
+    }
+
+    private void launchSelected() {
+        Minigame g = gameList.getSelectedValue();
+        if (g == null) return;
+        SwingUtilities.invokeLater(() -> g.launch(null));
+    }
+
+    // 매칭 시작 / 취소
+    private void toggleMatchmaking() {
+        if (matchmaker == null) {
+            matchmaker = new Matchmaker();
+            new LocalOpponents(matchmaker, RatingBook.INITIAL, 200, 20);
+        }
+        if (matchmaker.cancel(player)) {
+            matchGame = null;
+            matchBtn.setText("빠른 대전 (매칭)");
+            matchStatus.setText("매칭 취소");
+            showSelected();
+            return;
+        }
+        Minigame g = gameList.getSelectedValue();
+        if (g == null || !g.supportsMatchmaking()) return;
+        matchGame = g;
+        int rating = ratings.ratingOf(player);
+        matchBtn.setText("매칭 취소");
+        matchStatus.setText(g.title() + " 상대 찾는 중... (레이팅 " + rating + ")");
+        matchmaker.enqueue(player, rating, m -> SwingUtilities.invokeLater(() -> onMatched(m)));
+    }
+
+    // 매칭 스레드에서 넘어옴 -> EDT
+    private void onMatched(Match m) {
+        Minigame g = matchGame;
+        matchGame = null;
+        if (g == null) return; // 그 사이 취소됨
+        String opponent = m.opponentOf(player);
+        int opponentRating = m.opponentRatingOf(player);
+        matchBtn.setText("빠른 대전 (매칭)");
+        showSelected();
+        matchStatus.setText(String.format("상대: %s (%d), 대기 %.1f초", opponent, opponentRating,
+                (player.equals(m.getPlayerA()) ? m.getWaitNanosA() : m.getWaitNanosB()) / 1e9));
+
+        Window game = g.launch(result -> {
+            int next = ratings.record(player, opponentRating, (byte) result);
+            matchStatus.setText("레이팅 " + next);
+        });
+        if (game instanceof Frame) {
+            Frame f = (Frame) game;
+            f.setTitle(f.getTitle() + " - vs " + opponent);
+        }
     }
 
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> new TypingGameApp().setVisible(true));
+        StartupTimer startup = new StartupTimer();
+        MinigameRegistry registry = MinigameRegistry.load();
+        startup.mark("미니게임 목록 " + registry.games().size() + "개");
+        SwingUtilities.invokeLater(() -> {
+            TypingGameApp app = new TypingGameApp(registry, startup);
+            startup.mark("로비 생성");
+            app.setVisible(true);
+        });
     }
 }
@@ -0,0 +1,299 @@
+package com.typingarena.common;
+
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 플레이어가 틀린 기록에 맞춰 단어를 골라 주는 가중치 선택기 (단일 스레드).
+ *
+ * 단어 가중치 = 난이도 점수 * 단어별 최근 오답 * 키별 오답률
+ * - 난이도 점수: 만들 때 한 번. Shift를 눌러야 하는 자모(ㄲ, ㅖ 등)와 드문 영문자가 많을수록 높다.
+ * - 단어별 최근 오답: 틀리면 올라가고 맞히면 반으로 준다.
+ * - 키별 오답률: 틀린 단어의 키 전부에 오답을 나눠 센다. 자주 틀리는 키가 든 단어가 더 자주 나온다.
+ *
+ * 사전은 길이 버킷마다 AliasTable을 하나씩 두고, pick()은 [minLen, maxLen] 버킷 중 하나를
+ * 가중치 합으로 고른 뒤 그 표에서 O(1)로 뽑는다 (할당 없음).
+ * record()는 통계만 O(단어 길이)로 고치고, 표는 record()와 rebuildSome()(게임 틱)에서 정해진 걸음 수씩
+ * 나눠서 다시 만든다 (마지막으로 뽑은 길이 구간의 버킷 먼저). 그래서 가중치는 조금 늦게 반영되는데,
+ * 방금 틀린 단어는 RECENT 칸 링에 따로 넣어 두고 1/RECENT_SHARE 확률로 바로 다시 내 준다.
+ *
+ * GameLogic의 스냅샷/리플레이 상태에는 들어가지 않는다 (경기 밖에서 이어지는 플레이어 기록).
+ */
+public final class AdaptiveWordSampler {
+
+    /** record() 한 번에 진행할 표 다시 만들기 걸음 수 */
+    public static final int RECORD_BUDGET = 256;
+    /** 게임 틱마다 rebuildSome()에 주는 걸음 수 */
+    public static final int TICK_BUDGET = 16_384;
+
+    private static final int RECENT = 8;
+    private static final int RECENT_SHARE = 4;  // 틀린 단어가 있으면 1/4 확률로 그중에서
+    private static final int MAX_WORD_MISS = 7;
+
+    // 키 번호: a~z 0~25, 숫자 26~35, 호환 자모 36~86, 그 밖 87
+    private static final int KEYS = 88;
+
+    private final WordDictionary words;
+    private final AliasTable[] buckets = new AliasTable[WordDictionary.MAX_LEN + 1];
+    private long dirty;           // 다시 만들어야 하는 버킷 (비트 = 길이)
+    private int rebuilding = -1;  // 지금 만드는 버킷 길이
+    private int rebuildBase;      // 그 버킷의 첫 단어 인덱스
+    private int lastMinLen, lastMaxLen = WordDictionary.MAX_LEN;
+    private final IntUnaryOperator bucketWeight = i -> weightOf(rebuildBase + i);
+
+    // --- 단어별 ---
+    private final short[] difficulty;
+    private final byte[] wordMiss;
+
+    // --- 키별 (TypingAnalytics처럼 포화되면 반으로) ---
+    private final int[] keySeen = new int[KEYS];
+    private final int[] keyMiss = new int[KEYS];
+
+    // --- 방금 틀린 단어 ---
+    private final int[] recent = new int[RECENT];
+    private int recentCount;
+
+    public AdaptiveWordSampler(WordDictionary words) {
+        this.words = words;
+        int n = words.size();
+        difficulty = new short[n];
+        wordMiss = new byte[n];
+        for (int i = 0; i < n; i++) difficulty[i] = (short) difficultyOf(i);
+        for (int len = 0; len <= WordDictionary.MAX_LEN; len++) {
+            int from = words.firstOfLength(len);
+            int count = words.firstOfLength(len + 1) - from;
+            if (count == 0) continue;
+            buckets[len] = new AliasTable(count);
+            rebuildBase = from;
+            buckets[len].rebuild(bucketWeight, count);
+        }
+    }
+
+    public WordDictionary getWords() {
+        return words;
+    }
+
+    // ===== 뽑기 =====
+
+    /** 길이 [minLen, maxLen]에서 가중치대로 단어 인덱스를 고른다. 구간이 비면 사전 전체에서 */
+    public int pick(int minLen, int maxLen, Random rnd) {
+        int lo = Math.max(minLen, 0);
+        int hi = Math.min(maxLen, WordDictionary.MAX_LEN);
+        lastMinLen = lo;
+        lastMaxLen = hi;
+
+        if (recentCount > 0 && rnd.nextInt(RECENT_SHARE) == 0) {
+            int inRange = 0;
+            for (int k = 0; k < recentCount; k++) {
+                int len = words.jamoLength(recent[k]);
+                if (len >= lo && len <= hi) inRange++;
+            }
+            if (inRange > 0) {
+                int nth = rnd.nextInt(inRange);
+                for (int k = 0; k < recentCount; k++) {
+                    int len = words.jamoLength(recent[k]);
+                    if (len >= lo && len <= hi && nth-- == 0) return recent[k];
+                }
+            }
+        }
+
+        long sum = 0;
+        for (int len = lo; len <= hi; len++) {
+            if (buckets[len] != null) sum += buckets[len].total();
+        }
+        if (sum == 0) return words.pickIndex(minLen, maxLen, rnd);
+        long r = (long) (rnd.nextDouble() * sum);
+        for (int len = lo; len <= hi; len++) {
+            AliasTable t = buckets[len];
+            if (t == null) continue;
+            if (r < t.total()) return words.firstOfLength(len) + t.sample(rnd);
+            r -= t.total();
+        }
+        // 반올림으로 끝까지 온 경우: 마지막 버킷
+        for (int len = hi; ; len--) {
+            if (buckets[len] != null && buckets[len].total() > 0) {
+                return words.firstOfLength(len) + buckets[len].sample(rnd);
+            }
+        }
+    }
+
+    // ===== 기록 =====
+
+    /** 단어 index를 제출한 결과. 통계를 고치고 표 다시 만들기를 조금 진행한다 */
+    public void record(int index, boolean correct) {
+        int off = words.jamoOffset(index);
+        int n = words.jamoLength(index);
+        for (int j = 0; j < n; j++) {
+            int k = keyOf(words.jamo(off + j));
+            if (++keySeen[k] == Integer.MAX_VALUE) {
+                keySeen[k] >>= 1;
+                keyMiss[k] >>= 1;
+            }
+            if (!correct) keyMiss[k]++;
+        }
+        if (correct) {
+            wordMiss[index] >>= 1;
+            if (wordMiss[index] == 0) forgetRecent(index);
+        } else {
+            if (wordMiss[index] < MAX_WORD_MISS) wordMiss[index]++;
+            remember(index);
+        }
+        // 키 통계가 바뀌면 모든 단어 가중치가 조금씩 바뀐다
+        dirty = -1L >>> (63 - WordDictionary.MAX_LEN);
+        rebuildSome(RECORD_BUDGET);
+    }
+
+    /** 표 다시 만들기를 최대 budget 걸음 진행한다 (버킷 하나를 다 만들면 거기서 멈춤) */
+    public void rebuildSome(int budget) {
+        if (rebuilding < 0) {
+            rebuilding = nextDirty();
+            if (rebuilding < 0) return;
+            dirty &= ~(1L << rebuilding);
+            rebuildBase = words.firstOfLength(rebuilding);
+            buckets[rebuilding].beginRebuild(words.firstOfLength(rebuilding + 1) - rebuildBase);
+        }
+        if (buckets[rebuilding].rebuildStep(bucketWeight, budget)) rebuilding = -1;
+    }
+
+    // 지금 뽑고 있는 길이 구간을 먼저, 그다음 짧은 길이부터
+    private int nextDirty() {
+        for (int len = lastMinLen; len <= lastMaxLen; len++) {
+            if ((dirty & (1L << len)) != 0) {
+                if (buckets[len] != null) return len;
+                dirty &= ~(1L << len);
+            }
+        }
+        while (dirty != 0) {
+            int len = Long.numberOfTrailingZeros(dirty);
+            if (buckets[len] != null) return len;
+            dirty &= ~(1L << len);
+        }
+        return -1;
+    }
+
+    private void remember(int index) {
+        for (int k = 0; k < recentCount; k++) {
+            if (recent[k] == index) return;
+        }
+        if (recentCount == RECENT) {
+            System.arraycopy(recent, 1, recent, 0, RECENT - 1);
+            recentCount--;
+        }
+        recent[recentCount++] = index;
+    }
+
+    private void forgetRecent(int index) {
+        for (int k = 0; k < recentCount; k++) {
+            if (recent[k] == index) {
+                System.arraycopy(recent, k + 1, recent, k, recentCount - k - 1);
+                recentCount--;
+                return;
+            }
+        }
+    }
+
+    // ===== 가중치 =====
+
+    /** 단어 index의 지금 가중치 (표에는 다시 만들 때 반영) */
+    public int weightOf(int index) {
+        int off = words.jamoOffset(index);
+        int n = words.jamoLength(index);
+        int rate = 0; // 키 오답률 평균 (0~64)
+        for (int j = 0; j < n; j++) {
+            int k = keyOf(words.jamo(off + j));
+            rate += (int) (keyMiss[k] * 64L / (keySeen[k] + 8));
+        }
+        if (n > 0) rate /= n;
+        return difficulty[index] * (1 + wordMiss[index]) * (64 + 3 * rate) >> 6;
+    }
+
+    // 64 + Shift 자모/드문 영문자마다 16
+    private int difficultyOf(int index) {
+        int off = words.jamoOffset(index);
+        int n = words.jamoLength(index);
+        int hard = 0;
+        for (int j = 0; j < n; j++) {
+            if (isHardKey(words.jamo(off + j))) hard++;
+        }
+        return Math.min(64 + 16 * hard, Short.MAX_VALUE);
+    }
+
+    private static boolean isHardKey(char c) {
+        switch (c) {
+            case 'q': case 'z': case 'x': case 'j': case 'k': case 'v':
+            case 'ㄲ': case 'ㄸ': case 'ㅃ': case 'ㅆ': case 'ㅉ': case 'ㅒ': case 'ㅖ':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static int keyOf(char c) {
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        if (c >= '0' && c <= '9') return 26 + c - '0';
+        if (c >= 'ㄱ' && c <= 'ㅣ') return 36 + c - 'ㄱ';
+        return KEYS - 1;
+    }
+
+    // ===== 부하 측정 =====
+
+    /**
+     * 무작위 영문 단어 N개로 만들기/뽑기/기록 비용과, 틀린 키가 든 단어가 실제로 더 자주 나오는지 본다.
+     *
+     *   java com.typingarena.common.AdaptiveWordSampler [단어 수=300000]
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        Random r = new Random(7);
+        java.util.List<String> list = new java.util.ArrayList<>(n);
+        char[] buf = new char[8];
+        for (int i = 0; i < n; i++) {
+            int len = 4 + r.nextInt(5);
+            for (int c = 0; c < len; c++) buf[c] = (char) ('a' + r.nextInt(26));
+            list.add(new String(buf, 0, len));
+        }
+        WordDictionary dict = WordDictionary.of(list);
+
+        long t0 = System.nanoTime();
+        AdaptiveWordSampler s = new AdaptiveWordSampler(dict);
+        System.out.printf("만들기 %,d단어: %.1f ms%n", n, (System.nanoTime() - t0) / 1e6);
+
+        Random rnd = new Random(1);
+        for (int round = 1; round <= 2; round++) { // 1회차는 JIT 예열
+            int picks = 2_000_000;
+            long acc = 0;
+            t0 = System.nanoTime();
+            for (int i = 0; i < picks; i++) acc += s.pick(4, 8, rnd);
+            long pickNs = System.nanoTime() - t0;
+
+            // 'z'가 든 단어는 늘 틀리고 나머지는 맞히는 플레이어
+            int records = 20_000;
+            t0 = System.nanoTime();
+            for (int i = 0; i < records; i++) {
+                int w = s.pick(4, 8, rnd);
+                s.record(w, dict.word(w).indexOf('z') < 0);
+            }
+            long recNs = System.nanoTime() - t0;
+
+            // 표가 다 반영될 때까지 틱 돌리기
+            int ticks = 0;
+            while (s.rebuilding >= 0 || s.dirty != 0) {
+                s.rebuildSome(TICK_BUDGET);
+                ticks++;
+            }
+            int withZ = 0;
+            int sample = 100_000;
+            for (int i = 0; i < sample; i++) {
+                if (dict.word(s.pick(4, 8, rnd)).indexOf('z') >= 0) withZ++;
+            }
+            int baseZ = 0;
+            for (int i = 0; i < sample; i++) {
+                if (dict.word(dict.pickIndex(4, 8, rnd)).indexOf('z') >= 0) baseZ++;
+            }
+            System.out.printf("== %d회차: pick %.1f ns, pick+record %.2f us, 전체 반영 %d틱 (%,d걸음/틱)%n",
+                    round, pickNs / (double) picks, recNs / 1e3 / records, ticks, TICK_BUDGET);
+            System.out.printf("   'z' 든 단어 비율: 균등 %.1f%% -> 적응형 %.1f%% (%d)%n",
+                    baseZ * 100.0 / sample, withZ * 100.0 / sample, acc & 1);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.typingarena.common;
+
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 가중치 표본 추출용 별칭 표 (Vose의 alias method, 단일 스레드).
+ *
+ * 칸 i를 고르고 prob[i] 확률로 i, 아니면 alias[i]를 돌려주므로 sample()은 항목 수와 상관없이
+ * 난수 두 번으로 끝난다 (O(1), 할당 없음).
+ *
+ * 표 다시 만들기는 한 번에 끝내지 않고 rebuildStep(budget)으로 조금씩 나눠서 한다.
+ * 만드는 동안에는 뒤쪽 배열에 쓰고, 다 되면 앞뒤를 바꿔 끼운다. 그 사이 sample()은 이전 표를 쓴다.
+ * 단계: 가중치 읽기/합계 -> 작은/큰 칸 나누기 -> 짝짓기 -> 남은 칸 채우기. 한 걸음은 전부 O(1).
+ */
+public final class AliasTable {
+
+    // prob 고정소수점 (1.0 = ONE)
+    private static final int ONE = 1 << 24;
+
+    private static final int IDLE = 0, SUM = 1, SPLIT = 2, PAIR = 3, FILL = 4;
+
+    // --- 지금 쓰는 표 ---
+    private int n;
+    private long total;
+    private int[] prob;
+    private int[] alias;
+
+    // --- 만들고 있는 표 ---
+    private int[] nextProb;
+    private int[] nextAlias;
+    private long[] scaled; // 가중치 * 항목 수 (짝짓기 중 남은 몫)
+    private int[] work;    // 앞쪽 [0, small) = 작은 칸 스택, 뒤쪽 [large, size) = 큰 칸
+    private int phase = IDLE;
+    private int size;
+    private int cursor;
+    private int small;
+    private int large;
+    private long sum;
+
+    public AliasTable(int capacity) {
+        prob = new int[capacity];
+        alias = new int[capacity];
+        nextProb = new int[capacity];
+        nextAlias = new int[capacity];
+        scaled = new long[capacity];
+        work = new int[capacity];
+    }
+
+    /** 지금 표의 항목 수 */
+    public int size() {
+        return n;
+    }
+
+    /** 지금 표의 가중치 합 (0이면 뽑을 수 없음) */
+    public long total() {
+        return total;
+    }
+
+    public boolean isRebuilding() {
+        return phase != IDLE;
+    }
+
+    /** 가중치에 비례해 [0, size()) 중 하나를 고른다. 비어 있으면 -1 */
+    public int sample(Random rnd) {
+        if (total == 0) return -1;
+        int i = rnd.nextInt(n);
+        return rnd.nextInt(ONE) < prob[i] ? i : alias[i];
+    }
+
+    /** 항목 count개로 다시 만들기 시작한다 (만들던 것이 있으면 버림). count <= capacity */
+    public void beginRebuild(int count) {
+        if (count > work.length) throw new IllegalArgumentException("capacity " + work.length + " < " + count);
+        size = count;
+        cursor = 0;
+        sum = 0;
+        phase = SUM;
+    }
+
+    /**
+     * 다시 만들기를 최대 budget 걸음 진행한다. weight(i)는 항목 i의 현재 가중치 (0 이상).
+     * 가중치는 SUM 단계에서 한 번씩만 읽으므로 도중에 바뀐 값은 다음 번에 반영된다.
+     * 새 표로 바꿔 끼웠으면 true.
+     */
+    public boolean rebuildStep(IntUnaryOperator weight, int budget) {
+        while (budget > 0 && phase != IDLE) {
+            switch (phase) {
+                case SUM: {
+                    int end = cursor + Math.min(size - cursor, budget);
+                    budget -= end - cursor;
+                    for (; cursor < end; cursor++) {
+                        long w = weight.applyAsInt(cursor);
+                        scaled[cursor] = w;
+                        sum += w;
+                    }
+                    if (cursor == size) {
+                        cursor = 0;
+                        small = 0;
+                        large = size;
+                        phase = sum == 0 ? FILL : SPLIT;
+                    }
+                    break;
+                }
+                case SPLIT: {
+                    int end = cursor + Math.min(size - cursor, budget);
+                    budget -= end - cursor;
+                    for (; cursor < end; cursor++) {
+                        long s = scaled[cursor] * size;
+                        scaled[cursor] = s;
+                        if (s < sum) work[small++] = cursor;
+                        else work[--large] = cursor;
+                    }
+                    if (cursor == size) phase = PAIR;
+                    break;
+                }
+                case PAIR: {
+                    while (budget > 0 && small > 0 && large < size) {
+                        budget--;
+                        int s = work[--small];
+                        int l = work[large];
+                        nextProb[s] = (int) (scaled[s] * (double) ONE / sum);
+                        nextAlias[s] = l;
+                        scaled[l] -= sum - scaled[s];
+                        if (scaled[l] < sum) {
+                            large++;
+                            work[small++] = l;
+                        }
+                    }
+                    if (small == 0 || large == size) {
+                        cursor = 0;
+                        phase = FILL;
+                    }
+                    break;
+                }
+                case FILL: {
+                    // 짝이 안 남은 칸(반올림 오차 포함)은 자기 자신을 확률 1로
+                    int left = small + (size - large);
+                    int end = cursor + Math.min(left - cursor, budget);
+                    budget -= end - cursor;
+                    for (; cursor < end; cursor++) {
+                        int i = cursor < small ? work[cursor] : work[large + cursor - small];
+                        nextProb[i] = ONE;
+                        nextAlias[i] = i;
+                    }
+                    if (cursor == left) swap();
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("phase " + phase);
+            }
+        }
+        return phase == IDLE;
+    }
+
+    /** 한 번에 끝까지 만든다 */
+    public void rebuild(IntUnaryOperator weight, int count) {
+        beginRebuild(count);
+        rebuildStep(weight, Integer.MAX_VALUE);
+    }
+
+    private void swap() {
+        int[] p = prob;
+        prob = nextProb;
+        nextProb = p;
+        int[] a = alias;
+        alias = nextAlias;
+        nextAlias = a;
+        n = size;
+        total = sum;
+        phase = IDLE;
+    }
+}
@@ -0,0 +1,119 @@
+package com.typingarena.common;
+
+/**
+ * 한글 자모 분해 (타자 비교용).
+ *
+ * 완성형 음절(가~힣)과 호환 자모(ㄱ~ㅣ)를 "키 하나에 자모 하나" 단위로 푼다.
+ * - 겹모음/겹받침은 두 키로 나눈다: ㅘ -> ㅗㅏ, ㄳ -> ㄱㅅ
+ * - 된소리(ㄲㄸㅃㅆㅉ)와 ㅐㅒㅔㅖ는 키 하나라 그대로 둔다
+ * - 한글이 아닌 글자는 대소문자를 접어 한 글자로 (equalsIgnoreCase와 같은 규칙)
+ * 결과는 호환 자모(U+3131~)로 통일한다. 그래서 IME 조합 중인 "한"과 목표 "하나"의
+ * 앞부분(ㅎㅏㄴ)을 바로 비교할 수 있다.
+ *
+ * 표는 클래스 로드 때 한 번 만들고, decompose()는 할당 없이 out 배열에만 쓴다.
+ */
+public final class Hangul {
+
+    /** 글자 하나가 풀리는 최대 자모 수 (초성 1 + 겹모음 2 + 겹받침 2) */
+    public static final int MAX_JAMO = 5;
+
+    private static final char SYLLABLE_FIRST = '\uAC00'; // 가
+    private static final char SYLLABLE_LAST  = '\uD7A3'; // 힣
+    private static final char COMPAT_FIRST   = '\u3131'; // ㄱ
+    private static final char COMPAT_LAST    = '\u3163'; // ㅣ
+
+    private static final String CHO = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+    // 한 칸 = 한 자모가 풀리는 키 (공백으로 구분)
+    private static final String JUNG_KEYS =
+            "ㅏ ㅐ ㅑ ㅒ ㅓ ㅔ ㅕ ㅖ ㅗ ㅗㅏ ㅗㅐ ㅗㅣ ㅛ ㅜ ㅜㅓ ㅜㅔ ㅜㅣ ㅠ ㅡ ㅡㅣ ㅣ";
+    private static final String JONG_KEYS = // 첫 칸은 받침 없음
+            "- ㄱ ㄲ ㄱㅅ ㄴ ㄴㅈ ㄴㅎ ㄷ ㄹ ㄹㄱ ㄹㅁ ㄹㅂ ㄹㅅ ㄹㅌ ㄹㅍ ㄹㅎ ㅁ ㅂ ㅂㅅ ㅅ ㅆ ㅇ ㅈ ㅊ ㅋ ㅌ ㅍ ㅎ";
+    private static final String COMPAT_CONSONANT_KEYS = // ㄱ(3131) ~ ㅎ(314E)
+            "ㄱ ㄲ ㄱㅅ ㄴ ㄴㅈ ㄴㅎ ㄷ ㄸ ㄹ ㄹㄱ ㄹㅁ ㄹㅂ ㄹㅅ ㄹㅌ ㄹㅍ ㄹㅎ ㅁ ㅂ ㅃ ㅂㅅ ㅅ ㅆ ㅇ ㅈ ㅉ ㅊ ㅋ ㅌ ㅍ ㅎ";
+
+    // 자모 1~2개를 int 하나에 (아래 16비트 = 첫 키, 위 16비트 = 둘째 키, 없으면 0)
+    private static final int[] JUNG = pack(JUNG_KEYS);
+    private static final int[] JONG = pack(JONG_KEYS);
+    private static final int[] COMPAT = concat(pack(COMPAT_CONSONANT_KEYS), JUNG);
+
+    private Hangul() {
+    }
+
+    private static int[] pack(String keys) {
+        String[] parts = keys.split(" ");
+        int[] out = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String p = parts[i];
+            if (p.equals("-")) continue;
+            out[i] = p.charAt(0) | (p.length() > 1 ? p.charAt(1) << 16 : 0);
+        }
+        return out;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        int[] out = new int[a.length + b.length];
+        System.arraycopy(a, 0, out, 0, a.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
+        return out;
+    }
+
+    /** 글자 c를 자모로 풀어 out[off..]에 쓰고 쓴 개수(1~MAX_JAMO)를 돌려준다 */
+    public static int decompose(char c, char[] out, int off) {
+        if (c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST) {
+            int s = c - SYLLABLE_FIRST;
+            out[off] = CHO.charAt(s / 588);
+            int n = 1 + put(JUNG[(s % 588) / 28], out, off + 1);
+            int jong = s % 28;
+            return jong == 0 ? n : n + put(JONG[jong], out, off + n);
+        }
+        if (c >= COMPAT_FIRST && c <= COMPAT_LAST) {
+            return put(COMPAT[c - COMPAT_FIRST], out, off);
+        }
+        out[off] = fold(c);
+        return 1;
+    }
+
+    private static int put(int keys, char[] out, int off) {
+        out[off] = (char) keys;
+        char second = (char) (keys >>> 16);
+        if (second == 0) return 1;
+        out[off + 1] = second;
+        return 2;
+    }
+
+    /** 문자열 전체를 풀어 out[off..]에 쓴다 (out은 s.length() * MAX_JAMO 칸이면 충분) */
+    public static int decompose(CharSequence s, char[] out, int off) {
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            n += decompose(s.charAt(i), out, off + n);
+        }
+        return n;
+    }
+
+    /** 풀었을 때의 자모 수 = 쳐야 하는 키 수 */
+    public static int jamoLength(CharSequence s) {
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST) {
+                int x = c - SYLLABLE_FIRST;
+                n += 1 + keys(JUNG[(x % 588) / 28]) + (x % 28 == 0 ? 0 : keys(JONG[x % 28]));
+            } else if (c >= COMPAT_FIRST && c <= COMPAT_LAST) {
+                n += keys(COMPAT[c - COMPAT_FIRST]);
+            } else {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static int keys(int packed) {
+        return packed >>> 16 == 0 ? 1 : 2;
+    }
+
+    // 대소문자 접기 (String.equalsIgnoreCase의 글자 비교와 같은 결과)
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
@@ -0,0 +1,83 @@
+package com.typingarena.common;
+
+import com.typingarena.common.metrics.Gauge;
+import com.typingarena.minigames.tugofwar.GameMetrics;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 화면 공용 리소스: 파생 폰트와 색을 한 번만 만들고 같이 쓴다.
+ *
+ * deriveFont()는 부를 때마다 새 Font(와 속성 맵)를 만들고, 새 Font는 글리프/폭 캐시도
+ * 처음부터 다시 채운다. 창/라벨/버튼마다 같은 "기본 폰트 굵게 14pt"를 따로 만들던 것을
+ * (기준 폰트, 스타일, 크기) 하나당 Font 하나로 합친다. 색도 ARGB 값 하나당 Color 하나.
+ * 화면 코드가 쓰는 조합은 수십 개라 따로 내보내지 않는다 (개수는 ui_fonts/ui_colors 지표).
+ * 어느 스레드에서나 불러도 된다.
+ */
+public final class UiResources {
+
+    private static final ConcurrentHashMap<Key, Font> FONTS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Integer, Color> COLORS = new ConcurrentHashMap<>();
+
+    static final Gauge FONT_COUNT =
+            GameMetrics.REGISTRY.gauge("ui_fonts", "공유 파생 폰트 수 (UiResources)");
+    static final Gauge COLOR_COUNT =
+            GameMetrics.REGISTRY.gauge("ui_colors", "공유 색 수 (UiResources)");
+
+    // 파생 폰트 키 (기준 폰트는 equals로 비교: 이름/스타일/크기/변환)
+    private static final class Key {
+        final Font base;
+        final int style;
+        final float size;
+
+        Key(Font base, int style, float size) {
+            this.base = base;
+            this.style = style;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return style == k.style && size == k.size && base.equals(k.base);
+        }
+
+        @Override
+        public int hashCode() {
+            return (base.hashCode() * 31 + style) * 31 + Float.floatToIntBits(size);
+        }
+    }
+
+    private UiResources() {
+    }
+
+    /** base.deriveFont(style, size)와 같은 폰트. 같은 인자면 같은 인스턴스 */
+    public static Font font(Font base, int style, float size) {
+        return FONTS.computeIfAbsent(new Key(base, style, size), k -> {
+            FONT_COUNT.add(1);
+            return k.base.deriveFont(k.style, k.size);
+        });
+    }
+
+    /** 스타일은 그대로 두고 크기만 바꾼 폰트 */
+    public static Font font(Font base, float size) {
+        return font(base, base.getStyle(), size);
+    }
+
+    /** new Color(r, g, b)와 같은 색. 같은 값이면 같은 인스턴스 */
+    public static Color color(int r, int g, int b) {
+        return color(r, g, b, 255);
+    }
+
+    /** 알파 포함 */
+    public static Color color(int r, int g, int b, int a) {
+        int argb = (a & 0xFF) << 24 | (r & 0xFF) << 16 | (g & 0xFF) << 8 | (b & 0xFF);
+        return COLORS.computeIfAbsent(argb, v -> {
+            COLOR_COUNT.add(1);
+            return new Color(v, true);
+        });
+    }
+}
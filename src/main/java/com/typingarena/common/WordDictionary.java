@@ -0,0 +1,268 @@
+package com.typingarena.common;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 길이별로 정렬해 둔 단어 사전 (불변, 스레드 안전).
+ *
+ * 단어를 길이 오름차순으로 한 배열에 몰아 넣고
+ * lengthStart[len] = 길이가 len인 첫 단어의 위치 를 기록해 둔다.
+ * 그러면 [minLen, maxLen] 구간은 배열에서 연속된 한 덩어리라서
+ * 난수 한 번으로 O(1) 선택이 되고, 호출마다 새 객체를 만들지 않는다.
+ *
+ * 게임 난이도는 단어 길이로 정해지므로 길이 버킷이 곧 난이도 구간이다.
+ * 길이는 글자 수가 아니라 쳐야 하는 키 수(Hangul 자모 수)라서 "한글"은 6이다.
+ * 영문은 글자 수와 같다. 단어마다 자모 분해도 만들 때 한 번 해 둔다 (jamo 배열).
+ *
+ * 단어 목록 형식: UTF-8, 한 줄에 한 단어, 빈 줄과 '#' 주석 줄은 무시.
+ */
+public final class WordDictionary {
+
+    // 이보다 긴 단어는 버린다 (게임에서 쓰는 길이는 4~8)
+    public static final int MAX_LEN = 32;
+
+    private static final String DEFAULT_RESOURCE = "/words/en.txt";
+
+    private final String[] words;     // 길이 오름차순
+    private final int[] lengthStart;  // 크기 MAX_LEN + 2, lengthStart[MAX_LEN + 1] == words.length
+    private final char[] jamo;        // 모든 단어의 자모를 이어 붙인 것 (영문은 소문자로 접음)
+    private final int[] jamoStart;    // 단어 i의 자모 = jamo[jamoStart[i] .. jamoStart[i + 1])
+
+    private WordDictionary(String[] words, int[] lengthStart, char[] jamo, int[] jamoStart) {
+        this.words = words;
+        this.lengthStart = lengthStart;
+        this.jamo = jamo;
+        this.jamoStart = jamoStart;
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    public String word(int index) {
+        return words[index];
+    }
+
+    // ===== 자모 (Hangul.decompose 결과를 미리 계산) =====
+
+    public int jamoOffset(int index) {
+        return jamoStart[index];
+    }
+
+    /** 단어 index의 자모 수 = 길이 */
+    public int jamoLength(int index) {
+        return jamoStart[index + 1] - jamoStart[index];
+    }
+
+    public char jamo(int pos) {
+        return jamo[pos];
+    }
+
+    /** 단어 index의 자모를 dst[off..]에 복사하고 개수를 돌려준다 */
+    public int copyJamo(int index, char[] dst, int off) {
+        int n = jamoLength(index);
+        System.arraycopy(jamo, jamoStart[index], dst, off, n);
+        return n;
+    }
+
+    /**
+     * typed가 단어 index를 친 것인지 자모 단위로 비교한다 (InputMatcher와 같은 규칙).
+     * 영문은 equalsIgnoreCase와 같고, 한글은 같은 키를 친 입력이면 맞다 ("ㅎㅏㄴ" == "한").
+     * scratch는 Hangul.MAX_JAMO칸 이상 (호출하는 스레드 것, 할당 없음)
+     */
+    public boolean matches(int index, CharSequence typed, char[] scratch) {
+        int off = jamoStart[index];
+        int n = jamoStart[index + 1] - off;
+        int j = 0;
+        for (int i = 0; i < typed.length(); i++) {
+            int k = Hangul.decompose(typed.charAt(i), scratch, 0);
+            if (j + k > n) return false;
+            for (int m = 0; m < k; m++) {
+                if (scratch[m] != jamo[off + j + m]) return false;
+            }
+            j += k;
+        }
+        return j == n;
+    }
+
+    /** 길이가 len인 첫 단어의 인덱스 (길이 len인 단어는 [firstOfLength(len), firstOfLength(len + 1))) */
+    public int firstOfLength(int len) {
+        return len > MAX_LEN ? words.length : lengthStart[clampLen(len)];
+    }
+
+    // 길이가 [minLen, maxLen]인 단어 수
+    public int count(int minLen, int maxLen) {
+        return lengthStart[clampLen(maxLen) + 1] - lengthStart[clampLen(minLen)];
+    }
+
+    /**
+     * 길이가 [minLen, maxLen]인 단어 중 하나의 인덱스를 고른다.
+     * 구간에 단어가 하나도 없으면 전체에서 고른다.
+     */
+    public int pickIndex(int minLen, int maxLen, Random rnd) {
+        int from = lengthStart[clampLen(minLen)];
+        int to = lengthStart[clampLen(maxLen) + 1];
+        if (from >= to) {
+            return rnd.nextInt(words.length);
+        }
+        return from + rnd.nextInt(to - from);
+    }
+
+    public String pick(int minLen, int maxLen, Random rnd) {
+        return words[pickIndex(minLen, maxLen, rnd)];
+    }
+
+    private static int clampLen(int len) {
+        if (len < 0) return 0;
+        return Math.min(len, MAX_LEN);
+    }
+
+    // ===== 생성 =====
+
+    // 기본 사전 (클래스패스 /words/en.txt), 처음 쓸 때 한 번만 읽는다
+    // -Dtypingarena.words=ko 면 /words/ko.txt
+    private static final class DefaultHolder {
+        static final WordDictionary INSTANCE = fromResource(defaultResource());
+    }
+
+    private static String defaultResource() {
+        String pack = System.getProperty("typingarena.words");
+        return pack == null ? DEFAULT_RESOURCE : "/words/" + pack + ".txt";
+    }
+
+    public static WordDictionary defaultDictionary() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public static WordDictionary of(List<String> list) {
+        return build(list.toArray(new String[0]), list.size());
+    }
+
+    /** 클래스패스 리소스에서 읽는다. */
+    public static WordDictionary fromResource(String path) {
+        InputStream in = WordDictionary.class.getResourceAsStream(path);
+        if (in == null) {
+            throw new IllegalArgumentException("단어 목록을 찾을 수 없음: " + path);
+        }
+        List<String> list = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && line.charAt(0) != '#') list.add(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return of(list);
+    }
+
+    /**
+     * 큰 단어 파일(수십만~백만 줄)을 메모리 매핑해서 읽는다.
+     * 줄 단위 바이트 구간을 바로 String으로 디코딩하므로 중간 버퍼가 없다.
+     */
+    public static WordDictionary mapFile(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("단어 파일이 너무 큼: " + size + " bytes");
+            }
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            byte[] line = new byte[256];
+            String[] out = new String[1024];
+            int n = 0;
+            int len = 0;
+            int limit = buf.limit();
+            for (int i = 0; i <= limit; i++) {
+                byte b = i < limit ? buf.get(i) : (byte) '\n';
+                if (b != '\n') {
+                    if (len < line.length) line[len++] = b;
+                    continue;
+                }
+                // 앞뒤 공백/CR 제거
+                int s = 0, e = len;
+                while (s < e && (line[s] & 0xFF) <= ' ') s++;
+                while (e > s && (line[e - 1] & 0xFF) <= ' ') e--;
+                if (e > s && line[s] != '#') {
+                    if (n == out.length) out = Arrays.copyOf(out, n * 2);
+                    out[n++] = new String(line, s, e - s, StandardCharsets.UTF_8);
+                }
+                len = 0;
+            }
+            return build(out, n);
+        }
+    }
+
+    // 길이(자모 수)별 계수 정렬 (안정 정렬이라 같은 길이끼리는 파일 순서 유지)
+    private static WordDictionary build(String[] src, int n) {
+        int[] lens = new int[n];
+        int[] start = new int[MAX_LEN + 2];
+        int kept = 0;
+        int totalJamo = 0;
+        for (int i = 0; i < n; i++) {
+            int len = Hangul.jamoLength(src[i]);
+            lens[i] = len;
+            if (len <= MAX_LEN) {
+                start[len + 1]++;
+                kept++;
+                totalJamo += len;
+            }
+        }
+        for (int len = 1; len < start.length; len++) {
+            start[len] += start[len - 1];
+        }
+
+        String[] sorted = new String[kept];
+        int[] fill = start.clone();
+        for (int i = 0; i < n; i++) {
+            if (lens[i] <= MAX_LEN) sorted[fill[lens[i]]++] = src[i];
+        }
+        if (kept == 0) {
+            throw new IllegalArgumentException("단어 목록이 비어 있음");
+        }
+
+        char[] jamo = new char[totalJamo];
+        int[] jamoStart = new int[kept + 1];
+        int pos = 0;
+        for (int i = 0; i < kept; i++) {
+            jamoStart[i] = pos;
+            pos += Hangul.decompose(sorted[i], jamo, pos);
+        }
+        jamoStart[kept] = pos;
+        return new WordDictionary(sorted, start, jamo, jamoStart);
+    }
+
+    // ===== 로드 시간 / 힙 사용량 측정 =====
+    //   java com.typingarena.common.WordDictionary [단어파일]
+    public static void main(String[] args) throws IOException {
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = rt.totalMemory() - rt.freeMemory();
+
+        long t0 = System.nanoTime();
+        WordDictionary dict = args.length > 0 ? mapFile(Path.of(args[0])) : fromResource(defaultResource());
+        double ms = (System.nanoTime() - t0) / 1e6;
+
+        System.gc();
+        long heapAfter = rt.totalMemory() - rt.freeMemory();
+
+        System.out.printf("words: %,d (len 4~8: %,d)%n", dict.size(), dict.count(4, 8));
+        System.out.printf("load: %.1f ms%n", ms);
+        System.out.printf("heap: ~%,d KB (%.1f B/word)%n",
+                (heapAfter - heapBefore) / 1024, (double) (heapAfter - heapBefore) / dict.size());
+    }
+}
@@ -0,0 +1,22 @@
+package com.typingarena.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** 단조 증가 카운터. 어느 스레드에서나 inc() 가능, 할당 없음 */
+public final class Counter implements CounterMXBean {
+
+    private final AtomicLong value = new AtomicLong();
+
+    public void inc() {
+        value.incrementAndGet();
+    }
+
+    public void add(long n) {
+        value.addAndGet(n);
+    }
+
+    @Override
+    public long getValue() {
+        return value.get();
+    }
+}
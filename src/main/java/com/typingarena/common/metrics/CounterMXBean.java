@@ -0,0 +1,7 @@
+package com.typingarena.common.metrics;
+
+/** JMX로 보이는 Counter 값 */
+public interface CounterMXBean {
+
+    long getValue();
+}
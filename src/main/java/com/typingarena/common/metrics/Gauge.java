@@ -0,0 +1,22 @@
+package com.typingarena.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** 현재 값 (대기열 길이 등). 어느 스레드에서나 set()/add() 가능, 할당 없음 */
+public final class Gauge implements GaugeMXBean {
+
+    private final AtomicLong value = new AtomicLong();
+
+    public void set(long v) {
+        value.set(v);
+    }
+
+    public void add(long n) {
+        value.addAndGet(n);
+    }
+
+    @Override
+    public long getValue() {
+        return value.get();
+    }
+}
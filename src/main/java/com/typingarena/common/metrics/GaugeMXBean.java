@@ -0,0 +1,7 @@
+package com.typingarena.common.metrics;
+
+/** JMX로 보이는 Gauge 값 */
+public interface GaugeMXBean {
+
+    long getValue();
+}
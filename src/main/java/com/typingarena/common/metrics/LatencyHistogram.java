@@ -0,0 +1,119 @@
+package com.typingarena.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 나노초 지연 히스토그램 (로그-선형 버킷, 상대 오차 12.5% 이내).
+ *
+ * 2의 거듭제곱 구간마다 8칸으로 나눈 고정 버킷 488개를 AtomicLongArray 하나에 둔다.
+ * record()는 비트 연산 + 원자적 증가뿐이라 할당이 없고 여러 스레드에서 동시에 불러도 된다.
+ * 분위수는 조회할 때 버킷을 훑어서 계산한다 (버킷 중간값으로 추정).
+ */
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;                 // 구간당 8칸
+    private static final int BUCKETS = SUB + (63 - SUB_BITS) * SUB; // 488
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /** 값 하나 기록 (음수는 0으로) */
+    public void record(long nanos) {
+        long v = Math.max(0L, nanos);
+        counts.incrementAndGet(bucket(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        long m = max.get();
+        while (v > m && !max.compareAndSet(m, v)) {
+            m = max.get();
+        }
+    }
+
+    /** start = System.nanoTime()으로 잰 구간을 지금까지로 기록 */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    static int bucket(long v) {
+        if (v < SUB) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v); // >= SUB_BITS
+        int mantissa = (int) (v >>> (exp - SUB_BITS)) & (SUB - 1);
+        return SUB + (exp - SUB_BITS) * SUB + mantissa;
+    }
+
+    static long lowerBound(int b) {
+        if (b < SUB) return b;
+        int exp = (b - SUB) / SUB + SUB_BITS;
+        int mantissa = (b - SUB) % SUB;
+        return (long) (SUB + mantissa) << (exp - SUB_BITS);
+    }
+
+    /** p 분위수 (나노초, 0 <= p <= 1). 기록이 없으면 0 */
+    public long percentileNanos(double p) {
+        long total = count.get();
+        if (total == 0) return 0L;
+        long rank = Math.max(1L, (long) Math.ceil(p * total));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts.get(b);
+            if (seen >= rank) {
+                long lo = lowerBound(b);
+                long hi = b + 1 < BUCKETS ? lowerBound(b + 1) : Long.MAX_VALUE;
+                return Math.min(lo + (hi - lo) / 2, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public long getSumNanos() {
+        return sum.get();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long n = count.get();
+        return n == 0 ? 0.0 : sum.get() / 1e3 / n;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return percentileNanos(0.50) / 1e3;
+    }
+
+    @Override
+    public double getP90Micros() {
+        return percentileNanos(0.90) / 1e3;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return percentileNanos(0.99) / 1e3;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return max.get() / 1e3;
+    }
+
+    /** 기록을 비운다 (기록 중인 값과 겹치면 일부가 남을 수 있음) */
+    @Override
+    public void reset() {
+        for (int b = 0; b < BUCKETS; b++) counts.set(b, 0L);
+        count.set(0L);
+        sum.set(0L);
+        max.set(0L);
+    }
+}
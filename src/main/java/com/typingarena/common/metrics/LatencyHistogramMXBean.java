@@ -0,0 +1,19 @@
+package com.typingarena.common.metrics;
+
+/** JMX로 보이는 LatencyHistogram 값 (마이크로초) */
+public interface LatencyHistogramMXBean {
+
+    long getCount();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getMaxMicros();
+
+    void reset();
+}
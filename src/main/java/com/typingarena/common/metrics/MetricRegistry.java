@@ -0,0 +1,137 @@
+package com.typingarena.common.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 지표 목록. 히스토그램/카운터를 이름(+라벨 하나)으로 등록해 두고
+ * JMX MBean 등록과 Prometheus 텍스트 출력을 한곳에서 한다.
+ *
+ * 등록은 시작할 때 몇 번만 하고, 기록은 각 지표 객체에 직접 한다 (이 클래스를 거치지 않음).
+ */
+public final class MetricRegistry {
+
+    private static final class Entry {
+        final String name;       // prefix 없는 이름 (예: tick_duration)
+        final String help;
+        final String labelName;  // 없으면 null
+        final String labelValue;
+        final Object metric;     // LatencyHistogram, Counter 또는 Gauge
+
+        Entry(String name, String help, String labelName, String labelValue, Object metric) {
+            this.name = name;
+            this.help = help;
+            this.labelName = labelName;
+            this.labelValue = labelValue;
+            this.metric = metric;
+        }
+    }
+
+    private final String prefix;
+    private final List<Entry> entries = new CopyOnWriteArrayList<>();
+
+    /** prefix: 지표 이름 앞에 붙는 이름 공간이자 JMX 도메인 (예: typingarena) */
+    public MetricRegistry(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public LatencyHistogram histogram(String name, String help) {
+        LatencyHistogram h = new LatencyHistogram();
+        entries.add(new Entry(name, help, null, null, h));
+        return h;
+    }
+
+    public Counter counter(String name, String help) {
+        return counter(name, help, null, null);
+    }
+
+    /** 같은 name에 라벨 값만 다른 카운터 여러 개 (예: items{item="BLIND"}) */
+    public Counter counter(String name, String help, String labelName, String labelValue) {
+        Counter c = new Counter();
+        entries.add(new Entry(name, help, labelName, labelValue, c));
+        return c;
+    }
+
+    public Gauge gauge(String name, String help) {
+        Gauge g = new Gauge();
+        entries.add(new Entry(name, help, null, null, g));
+        return g;
+    }
+
+    /** 플랫폼 MBeanServer에 등록 (이미 있으면 건너뜀) */
+    public void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Entry e : entries) {
+            String type = e.metric instanceof Counter ? "Counter"
+                    : e.metric instanceof Gauge ? "Gauge" : "Histogram";
+            String name = e.labelName == null ? e.name : e.name + "." + e.labelValue;
+            try {
+                server.registerMBean(e.metric,
+                        new ObjectName(prefix + ":type=" + type + ",name=" + ObjectName.quote(name)));
+            } catch (InstanceAlreadyExistsException ignored) {
+                // 같은 JVM에서 두 번 등록한 경우
+            } catch (JMException ex) {
+                throw new IllegalStateException("MBean 등록 실패: " + name, ex);
+            }
+        }
+    }
+
+    /**
+     * Prometheus 텍스트 형식 (version 0.0.4).
+     * 히스토그램은 초 단위 summary(분위수 0.5/0.9/0.99 + _sum/_count + _max),
+     * 카운터는 _total, 게이지는 이름 그대로.
+     */
+    public void writeText(StringBuilder out) {
+        String lastName = null;
+        for (Entry e : entries) {
+            if (e.metric instanceof LatencyHistogram) {
+                LatencyHistogram h = (LatencyHistogram) e.metric;
+                String n = prefix + "_" + e.name + "_seconds";
+                header(out, n, e.help, "summary");
+                quantile(out, n, "0.5", h.percentileNanos(0.50));
+                quantile(out, n, "0.9", h.percentileNanos(0.90));
+                quantile(out, n, "0.99", h.percentileNanos(0.99));
+                out.append(n).append("_sum ").append(seconds(h.getSumNanos())).append('\n');
+                out.append(n).append("_count ").append(h.getCount()).append('\n');
+                header(out, n + "_max", e.help + " (최대)", "gauge");
+                out.append(n).append("_max ").append(seconds(h.getMaxNanos())).append('\n');
+                lastName = null;
+            } else if (e.metric instanceof Gauge) {
+                String n = prefix + "_" + e.name;
+                header(out, n, e.help, "gauge");
+                out.append(n).append(' ').append(((Gauge) e.metric).getValue()).append('\n');
+                lastName = null;
+            } else {
+                String n = prefix + "_" + e.name + "_total";
+                if (!n.equals(lastName)) {
+                    header(out, n, e.help, "counter");
+                    lastName = n;
+                }
+                out.append(n);
+                if (e.labelName != null) {
+                    out.append('{').append(e.labelName).append("=\"").append(e.labelValue).append("\"}");
+                }
+                out.append(' ').append(((Counter) e.metric).getValue()).append('\n');
+            }
+        }
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void quantile(StringBuilder out, String name, String q, long nanos) {
+        out.append(name).append("{quantile=\"").append(q).append("\"} ").append(seconds(nanos)).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+}
@@ -0,0 +1,58 @@
+package com.typingarena.common.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 로컬 전용 지표 HTTP 엔드포인트. GET /metrics 에 Prometheus 텍스트를 돌려준다.
+ * 루프백 주소에만 바인딩하고, 요청은 JDK HttpServer의 기본 스레드 하나가 처리한다.
+ *
+ *   curl http://127.0.0.1:9400/metrics
+ */
+public final class MetricsEndpoint implements AutoCloseable {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer http;
+
+    private MetricsEndpoint(HttpServer http) {
+        this.http = http;
+    }
+
+    /** port가 0이면 임시 포트 */
+    public static MetricsEndpoint start(MetricRegistry registry, int port) throws IOException {
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext("/metrics", exchange -> {
+            try (exchange) {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    exchange.sendResponseHeaders(405, -1);
+                    return;
+                }
+                StringBuilder sb = new StringBuilder(4096);
+                registry.writeText(sb);
+                byte[] body = sb.toString().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        http.start();
+        return new MetricsEndpoint(http);
+    }
+
+    public int getPort() {
+        return http.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        http.stop(0);
+    }
+}
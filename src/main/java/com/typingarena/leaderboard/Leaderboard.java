@@ -0,0 +1,217 @@
+package com.typingarena.leaderboard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 로컬 리더보드.
+ *
+ * - 기록: 순위 색인(RankIndex)에 넣고 선행 기록 로그(LeaderboardLog) 버퍼에 추가.
+ *   디스크에는 백그라운드 스레드가 FLUSH_MS마다 모아서 쓴다 (그 사이에 꺼지면 최대 FLUSH_MS 분량 유실).
+ *   바로 내려야 하면 flush().
+ * - 조회: 상위 K개, 점수로 등수 - O(log n), 여러 스레드에서 동시에 기록/조회 가능.
+ * - 재시작: 로그를 한 번 훑어 정렬 후 균형 트리로 한 번에 만든다 (하나씩 삽입하지 않음).
+ * - 압축: 로그 레코드 수가 색인 크기의 2배(최소 COMPACT_MIN)를 넘으면 백그라운드 스레드가
+ *   색인 스냅샷으로 로그를 새로 쓴다. capacity를 넘어 밀려난 하위 기록이 여기서 지워진다.
+ *
+ * 사용 예:
+ *   try (Leaderboard lb = Leaderboard.open(Path.of("data/leaderboard"))) {
+ *       MatchRecord r = lb.record("me", 1234, 17, MatchRecord.WIN);
+ *       int rank = lb.rankOf(r.getScore());
+ *   }
+ */
+public final class Leaderboard implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 1_000_000;
+    private static final long FLUSH_MS = 10;
+    private static final long COMPACT_MIN = 100_000;
+    static final String LOG_NAME = "leaderboard.log";
+
+    private final RankIndex index = new RankIndex();
+    private final LeaderboardLog log;
+    private final int capacity;
+    private final AtomicLong nextSeq;
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    private volatile IOException backgroundError; // 백그라운드 쓰기 실패 (다음 호출에서 던짐)
+    private volatile long lastRecoveryNanos;
+    private volatile long lastCompactNanos;
+    private final AtomicLong compactions = new AtomicLong();
+
+    private Leaderboard(LeaderboardLog log, int capacity, long nextSeq) {
+        this.log = log;
+        this.capacity = capacity;
+        this.nextSeq = new AtomicLong(nextSeq);
+        this.flusher = new Thread(this::flushLoop, "leaderboard-flush");
+        this.flusher.setDaemon(true);
+    }
+
+    public static Leaderboard open(Path dir) throws IOException {
+        return open(dir, DEFAULT_CAPACITY);
+    }
+
+    /** dir 안의 leaderboard.log를 열고 (없으면 만든다) 색인을 복구한다 */
+    public static Leaderboard open(Path dir, int capacity) throws IOException {
+        long t0 = System.nanoTime();
+        Files.createDirectories(dir);
+        List<MatchRecord> loaded = new ArrayList<>();
+        LeaderboardLog log = LeaderboardLog.open(dir.resolve(LOG_NAME), loaded::add);
+
+        // 정렬 -> 중복(seq 같은 것) 제거 -> capacity 초과분 버림 -> 균형 트리
+        MatchRecord[] all = loaded.toArray(new MatchRecord[0]);
+        Arrays.sort(all, MatchRecord.RANK_ORDER);
+        int n = 0;
+        long maxSeq = 0;
+        for (MatchRecord r : all) {
+            maxSeq = Math.max(maxSeq, r.getSeq());
+            if (n > 0 && all[n - 1].getSeq() == r.getSeq()) continue;
+            all[n++] = r;
+        }
+        n = Math.min(n, capacity);
+
+        Leaderboard lb = new Leaderboard(log, capacity, maxSeq + 1);
+        lb.index.bulkLoad(all, n);
+        lb.lastRecoveryNanos = System.nanoTime() - t0;
+        lb.flusher.start();
+        return lb;
+    }
+
+    /** 경기 하나 기록. 여러 스레드에서 동시에 불러도 된다 */
+    public MatchRecord record(String player, int score, int maxCombo, byte result) {
+        checkOpen();
+        MatchRecord r = new MatchRecord(nextSeq.getAndIncrement(), System.currentTimeMillis(),
+                player, score, maxCombo, result);
+        index.insert(r); // 로그보다 먼저 (압축 스냅샷이 로그 위치 앞의 기록을 빠뜨리지 않도록)
+        if (index.size() > capacity) index.removeLast();
+        try {
+            log.append(r);
+        } catch (IOException e) {
+            throw new UncheckedIOException("리더보드 기록 실패", e);
+        }
+        return r;
+    }
+
+    /** 상위 k개 (1등부터) */
+    public List<MatchRecord> top(int k) {
+        return index.top(k);
+    }
+
+    /** score 점이면 몇 등인지 (동점은 같은 등수) */
+    public int rankOf(int score) {
+        return index.rankOf(score);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /** 지금까지 기록을 디스크까지 내린다 */
+    public void flush() throws IOException {
+        checkOpen();
+        log.flush();
+    }
+
+    /** 바로 압축 (보통은 백그라운드에서 알아서 함) */
+    public synchronized void compact() throws IOException {
+        long t0 = System.nanoTime();
+        log.compact(index::snapshot);
+        lastCompactNanos = System.nanoTime() - t0;
+        compactions.incrementAndGet();
+    }
+
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("닫힌 리더보드");
+        IOException e = backgroundError;
+        if (e != null) throw new UncheckedIOException("리더보드 백그라운드 쓰기 실패", e);
+    }
+
+    // interrupt()로 깨우면 안 된다: FileChannel은 쓰는 중에 인터럽트되면 채널을 닫아 버리고
+    // 이미 버퍼에서 빼낸 기록이 사라진다. close()는 closed를 세우고 unpark()만 한다
+    private void flushLoop() {
+        while (!closed) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(FLUSH_MS));
+            if (closed) return; // 남은 것은 close()가 내린다
+            try {
+                log.flush();
+                long records = log.getRecords();
+                if (records > Math.max(COMPACT_MIN, 2L * index.size())) {
+                    compact();
+                }
+            } catch (IOException e) {
+                backgroundError = e;
+                return;
+            }
+        }
+    }
+
+    public String describeStats() {
+        try {
+            return String.format("기록 %,d개 / 로그 %,d레코드 %,d바이트 / 복구 %.1fms / 압축 %d회 (최근 %.1fms)",
+                    index.size(), log.getRecords(), log.sizeOnDisk(),
+                    lastRecoveryNanos / 1e6, compactions.get(), lastCompactNanos / 1e6);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(); // 하던 flush/압축은 끝내고 나온다
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.close();
+    }
+
+    /**
+     * 부하 테스트: 스레드 T개가 합쳐서 N건 기록 -> 닫고 다시 열어 복구 시간 측정.
+     *
+     *   java com.typingarena.leaderboard.Leaderboard [디렉터리] [건수] [스레드]
+     */
+    public static void main(String[] args) throws Exception {
+        Path dir = Path.of(args.length > 0 ? args[0] : "target/leaderboard-bench");
+        int n = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        try (Leaderboard lb = open(dir)) {
+            System.out.println("열기: " + lb.describeStats());
+            Thread[] ts = new Thread[threads];
+            long t0 = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                final int id = t;
+                ts[t] = new Thread(() -> {
+                    SplittableRandom r = new SplittableRandom(id);
+                    for (int i = id; i < n; i += threads) {
+                        int score = r.nextInt(40_000);
+                        lb.record("p" + (i % 10_000), score, r.nextInt(100), MatchRecord.WIN);
+                        if ((i & 63) == 0) lb.rankOf(score);
+                    }
+                });
+                ts[t].start();
+            }
+            for (Thread t : ts) t.join();
+            lb.flush();
+            double sec = (System.nanoTime() - t0) / 1e9;
+            System.out.printf("기록 %,d건 / %d스레드: %.2fs = %,.0f건/s%n", n, threads, sec, n / sec);
+            System.out.println("상위 3: " + lb.top(3));
+            System.out.println(lb.describeStats());
+        }
+        try (Leaderboard lb = open(dir)) {
+            System.out.println("다시 열기: " + lb.describeStats());
+        }
+    }
+}
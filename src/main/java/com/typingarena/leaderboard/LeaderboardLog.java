@@ -0,0 +1,298 @@
+package com.typingarena.leaderboard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * 리더보드 선행 기록 로그 (write-ahead log).
+ *
+ * 파일 구조:
+ *   int MAGIC, byte VERSION
+ *   레코드 반복:
+ *     int bodyLen, int crc32c(body)
+ *     body = long seq, long timeMillis, int score, int maxCombo, byte result,
+ *            short nameLen, byte[nameLen] UTF-8
+ *
+ * 쓰기는 메모리 버퍼에 모았다가 flush()에서 파일에 쓰고 force() 한다 (그룹 커밋).
+ * 버퍼가 두 개라 flush가 디스크에 쓰는 동안에도 append()는 다른 버퍼에 계속 쌓는다.
+ *
+ * 락 순서: ioLock -> this. append()는 this만, flush()/compact()는 ioLock을 먼저 잡는다.
+ *
+ * 한 로그 파일은 한 곳에서만 연다: 옆의 .lock 파일에 OS 파일 락을 잡고 close()까지 들고 있는다.
+ * (로그 파일 자체는 압축 때 새 파일로 바뀌므로 따로 둔다) 다른 프로세스나 같은 JVM의 다른
+ * 인스턴스가 열고 있으면 open()이 바로 실패한다.
+ */
+final class LeaderboardLog implements AutoCloseable {
+
+    static final int MAGIC = 0x54414C42; // "TALB"
+    static final byte VERSION = 1;
+    static final int FILE_HEADER = 5;
+    private static final int RECORD_HEADER = 8;
+    private static final int BODY_FIXED = 8 + 8 + 4 + 4 + 1 + 2;
+    private static final int MAX_NAME = 255; // 이름은 UTF-8 바이트 기준으로 자른다
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path file;
+    private final FileChannel lockChannel; // 파일 락을 잡고 있는 .lock 파일 (close()에서 놓음)
+    private final ReentrantLock ioLock = new ReentrantLock();
+    private FileChannel channel;
+
+    private ByteBuffer active = ByteBuffer.allocateDirect(BUFFER_SIZE); // append() 대상 (this로 보호)
+    private ByteBuffer spare = ByteBuffer.allocateDirect(BUFFER_SIZE);  // flush() 중 디스크로 가는 쪽
+    private final CRC32C crc = new CRC32C();  // append()용 (this로 보호)
+    private long records; // 파일 + 버퍼에 있는 레코드 수 (압축 시점 판단용)
+
+    private LeaderboardLog(Path file, FileChannel lockChannel, FileChannel channel, long records) {
+        this.file = file;
+        this.lockChannel = lockChannel;
+        this.channel = channel;
+        this.records = records;
+    }
+
+    /**
+     * 로그를 열고 들어 있는 레코드를 순서대로 sink에 넘긴다.
+     * 끝부분이 깨져 있으면(쓰다가 꺼진 경우) 마지막 온전한 레코드 뒤로 잘라낸다.
+     */
+    static LeaderboardLog open(Path file, Consumer<MatchRecord> sink) throws IOException {
+        FileChannel lockChannel = lock(file);
+        try {
+            return open(file, lockChannel, sink);
+        } catch (IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    // 옆의 .lock 파일에 락을 잡는다. 이미 누가 잡고 있으면 기다리지 않고 실패
+    private static FileChannel lock(Path file) throws IOException {
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        FileChannel ch = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = ch.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null; // 같은 JVM에서 이미 열려 있음
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+        if (lock == null) {
+            ch.close();
+            throw new IOException("리더보드 로그를 이미 다른 곳에서 쓰는 중: " + file);
+        }
+        return ch;
+    }
+
+    // 락을 잡은 뒤 읽기 (실패하면 부른 쪽이 락을 놓는다)
+    private static LeaderboardLog open(Path file, FileChannel lockChannel, Consumer<MatchRecord> sink)
+            throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long count = 0;
+        long size = ch.size();
+        if (size == 0) {
+            ByteBuffer h = ByteBuffer.allocate(FILE_HEADER).putInt(MAGIC).put(VERSION).flip();
+            while (h.hasRemaining()) ch.write(h);
+            ch.force(true);
+        } else {
+            ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < FILE_HEADER || buf.getInt(0) != MAGIC || buf.get(4) != VERSION) {
+                ch.close();
+                throw new IOException("리더보드 로그 형식이 아님: " + file);
+            }
+            CRC32C crc = new CRC32C();
+            int p = FILE_HEADER;
+            while (p + RECORD_HEADER <= size) {
+                int len = buf.getInt(p);
+                int sum = buf.getInt(p + 4);
+                if (len < BODY_FIXED || p + RECORD_HEADER + (long) len > size) break;
+                ByteBuffer body = buf.slice(p + RECORD_HEADER, len);
+                crc.reset();
+                crc.update(body.duplicate());
+                if ((int) crc.getValue() != sum) break;
+                sink.accept(decode(body));
+                count++;
+                p += RECORD_HEADER + len;
+            }
+            if (p != size) {
+                ch.truncate(p); // 깨진 꼬리 버림
+                ch.force(true);
+            }
+        }
+        ch.position(ch.size());
+        return new LeaderboardLog(file, lockChannel, ch, count);
+    }
+
+    private static MatchRecord decode(ByteBuffer b) {
+        long seq = b.getLong(0);
+        long time = b.getLong(8);
+        int score = b.getInt(16);
+        int combo = b.getInt(20);
+        byte result = b.get(24);
+        int nameLen = b.getShort(25) & 0xFFFF;
+        byte[] name = new byte[nameLen];
+        b.get(BODY_FIXED, name);
+        return new MatchRecord(seq, time, new String(name, StandardCharsets.UTF_8), score, combo, result);
+    }
+
+    private static byte[] nameBytes(String player) {
+        byte[] n = player.getBytes(StandardCharsets.UTF_8);
+        if (n.length <= MAX_NAME) return n;
+        byte[] cut = new byte[MAX_NAME];
+        System.arraycopy(n, 0, cut, 0, MAX_NAME);
+        return cut;
+    }
+
+    private static void encode(ByteBuffer out, MatchRecord r, byte[] name, CRC32C crc) {
+        int len = BODY_FIXED + name.length;
+        int start = out.position();
+        out.putInt(len).putInt(0);
+        int bodyStart = out.position();
+        out.putLong(r.getSeq()).putLong(r.getTimeMillis())
+           .putInt(r.getScore()).putInt(r.getMaxCombo()).put(r.getResult())
+           .putShort((short) name.length).put(name);
+        crc.reset();
+        crc.update(out.duplicate().position(bodyStart).limit(out.position()));
+        out.putInt(start + 4, (int) crc.getValue());
+    }
+
+    /** 버퍼에 추가 (디스크에는 다음 flush() 때 반영) */
+    void append(MatchRecord r) throws IOException {
+        byte[] name = nameBytes(r.getPlayer());
+        int need = RECORD_HEADER + BODY_FIXED + name.length;
+        while (true) {
+            synchronized (this) {
+                if (active.remaining() >= need) {
+                    encode(active, r, name, crc);
+                    records++;
+                    return;
+                }
+            }
+            flush(); // 버퍼가 꽉 찼으면 비우고 다시 (락 밖에서)
+        }
+    }
+
+    /** 버퍼에 모인 기록을 파일에 쓰고 디스크까지 내린다 */
+    void flush() throws IOException {
+        ioLock.lock();
+        try {
+            ByteBuffer out;
+            synchronized (this) {
+                if (active.position() == 0) return;
+                out = active;
+                active = spare;
+                spare = out;
+            }
+            out.flip();
+            while (out.hasRemaining()) channel.write(out);
+            out.clear();
+            channel.force(false);
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    synchronized long getRecords() {
+        return records;
+    }
+
+    /**
+     * 로그 압축: snapshot(이 시점 색인 내용)만 담은 새 파일로 바꾼다.
+     *
+     * 1) ioLock 아래에서 flush 후 파일 끝 위치 P와 색인 스냅샷을 같이 잡는다.
+     *    (기록은 항상 색인에 먼저 넣고 로그에 쓰므로 P 앞의 기록은 전부 스냅샷에 있다)
+     * 2) 락 없이 스냅샷을 임시 파일에 쓴다 (그동안 append/flush는 계속 된다)
+     * 3) 다시 ioLock 아래에서 P 이후에 쌓인 꼬리를 임시 파일 뒤에 붙이고 원자적으로 교체
+     * 스냅샷과 꼬리에 같은 기록이 겹칠 수 있는데, 복구할 때 seq로 걸러낸다.
+     */
+    void compact(SnapshotSource source) throws IOException {
+        MatchRecord[] snapshot;
+        long cut;
+        long recordsAtCut;
+        ioLock.lock();
+        try {
+            flush();
+            cut = channel.size();
+            snapshot = source.snapshot();
+            recordsAtCut = getRecords();
+        } finally {
+            ioLock.unlock();
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buf.putInt(MAGIC).put(VERSION);
+            CRC32C crc = new CRC32C();
+            for (MatchRecord r : snapshot) {
+                byte[] name = nameBytes(r.getPlayer());
+                if (buf.remaining() < RECORD_HEADER + BODY_FIXED + name.length) {
+                    buf.flip();
+                    while (buf.hasRemaining()) out.write(buf);
+                    buf.clear();
+                }
+                encode(buf, r, name, crc);
+            }
+            buf.flip();
+            while (buf.hasRemaining()) out.write(buf);
+
+            ioLock.lock();
+            try {
+                flush();
+                long end = channel.size();
+                for (long p = cut; p < end; ) {
+                    p += channel.transferTo(p, end - p, out);
+                }
+                out.force(true);
+                channel.close();
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                channel.position(channel.size());
+                synchronized (this) {
+                    // 스냅샷 + P 이후에 추가된 것 (파일 꼬리든 아직 버퍼든)
+                    records = snapshot.length + (records - recordsAtCut);
+                }
+            } finally {
+                ioLock.unlock();
+            }
+        }
+    }
+
+    /** 압축할 때 색인 내용을 받아오는 곳 */
+    interface SnapshotSource {
+        MatchRecord[] snapshot();
+    }
+
+    long sizeOnDisk() throws IOException {
+        ioLock.lock();
+        try {
+            return channel.size();
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        ioLock.lock();
+        try {
+            flush();
+            channel.close();
+        } finally {
+            ioLock.unlock();
+            lockChannel.close();
+        }
+    }
+}
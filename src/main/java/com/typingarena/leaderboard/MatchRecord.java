@@ -0,0 +1,57 @@
+package com.typingarena.leaderboard;
+
+import java.util.Comparator;
+
+/**
+ * 끝난 경기 하나의 기록 (불변).
+ * 순위는 점수 높은 순, 같으면 최고 콤보 높은 순, 그래도 같으면 먼저 기록된 순.
+ */
+public final class MatchRecord {
+
+    public static final byte WIN  = 1;
+    public static final byte LOSS = 2;
+    public static final byte DRAW = 3;
+
+    /** 순위 순서 (앞일수록 높은 순위). seq가 유일하므로 서로 다른 기록은 절대 같지 않다 */
+    static final Comparator<MatchRecord> RANK_ORDER = (a, b) -> {
+        if (a.score != b.score) return a.score > b.score ? -1 : 1;
+        if (a.maxCombo != b.maxCombo) return a.maxCombo > b.maxCombo ? -1 : 1;
+        return Long.compare(a.seq, b.seq);
+    };
+
+    private final long seq;        // 기록 순번 (로그 안에서 유일)
+    private final long timeMillis; // 기록 시각
+    private final String player;
+    private final int score;
+    private final int maxCombo;
+    private final byte result;
+
+    MatchRecord(long seq, long timeMillis, String player, int score, int maxCombo, byte result) {
+        this.seq = seq;
+        this.timeMillis = timeMillis;
+        this.player = player;
+        this.score = score;
+        this.maxCombo = maxCombo;
+        this.result = result;
+    }
+
+    public long getSeq()        { return seq; }
+    public long getTimeMillis() { return timeMillis; }
+    public String getPlayer()   { return player; }
+    public int getScore()       { return score; }
+    public int getMaxCombo()    { return maxCombo; }
+    public byte getResult()     { return result; }
+
+    /** 로프 최종 위치로 승/패/무 판정 (GameLogic.step()의 종료 조건과 같은 기준) */
+    public static byte resultOf(double pos) {
+        if (pos > 0) return WIN;
+        if (pos < 0) return LOSS;
+        return DRAW;
+    }
+
+    @Override
+    public String toString() {
+        String r = result == WIN ? "승" : result == LOSS ? "패" : "무";
+        return player + " " + score + "점 (최고 콤보 " + maxCombo + ", " + r + ")";
+    }
+}
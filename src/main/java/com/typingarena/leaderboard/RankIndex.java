@@ -0,0 +1,201 @@
+package com.typingarena.leaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 순위 색인: 노드마다 서브트리 크기를 들고 있는 트립(order-statistic tree).
+ * 삽입/최하위 삭제/순위 조회가 모두 O(log n), 상위 K개는 O(log n + K).
+ *
+ * 쓰기는 쓰기 락, 조회는 읽기 락 (조회끼리는 동시에 돈다).
+ */
+final class RankIndex {
+
+    private static final class Node {
+        final MatchRecord rec;
+        final int prio;
+        int size = 1;
+        Node left;  // 더 높은 순위
+        Node right; // 더 낮은 순위
+
+        Node(MatchRecord rec, int prio) {
+            this.rec = rec;
+            this.prio = prio;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static Node fix(Node n) {
+        n.size = 1 + size(n.left) + size(n.right);
+        return n;
+    }
+
+    // seq를 섞어서 우선순위로 (같은 입력이면 같은 모양의 트리)
+    private static int priority(long seq) {
+        long z = seq * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 32)) * 0xD6E8FEB86659FD93L;
+        return (int) (z ^ (z >>> 32));
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 같은 seq가 이미 있으면 무시하고 false */
+    boolean insert(MatchRecord r) {
+        lock.writeLock().lock();
+        try {
+            int before = size(root);
+            root = insert(root, new Node(r, priority(r.getSeq())));
+            return size(root) != before;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Node insert(Node t, Node n) {
+        if (t == null) return n;
+        int c = MatchRecord.RANK_ORDER.compare(n.rec, t.rec);
+        if (c == 0) return t; // 중복 (로그 압축 경계에서 같은 기록이 두 번 나올 수 있음)
+        if (c < 0) {
+            t.left = insert(t.left, n);
+            if (t.left.prio > t.prio) t = rotateRight(t);
+        } else {
+            t.right = insert(t.right, n);
+            if (t.right.prio > t.prio) t = rotateLeft(t);
+        }
+        return fix(t);
+    }
+
+    private static Node rotateRight(Node t) {
+        Node l = t.left;
+        t.left = l.right;
+        l.right = fix(t);
+        return fix(l);
+    }
+
+    private static Node rotateLeft(Node t) {
+        Node r = t.right;
+        t.right = r.left;
+        r.left = fix(t);
+        return fix(r);
+    }
+
+    /** 최하위 기록을 빼서 돌려준다 (비어 있으면 null) */
+    MatchRecord removeLast() {
+        lock.writeLock().lock();
+        try {
+            if (root == null) return null;
+            if (root.right == null) {
+                MatchRecord r = root.rec;
+                root = root.left;
+                return r;
+            }
+            Node parent = root;
+            parent.size--;
+            while (parent.right.right != null) {
+                parent = parent.right;
+                parent.size--;
+            }
+            MatchRecord r = parent.right.rec;
+            parent.right = parent.right.left;
+            return r;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** score 점이면 몇 등인지 (더 높은 점수의 기록 수 + 1, 동점은 같은 등수) */
+    int rankOf(int score) {
+        lock.readLock().lock();
+        try {
+            int higher = 0;
+            Node n = root;
+            while (n != null) {
+                if (n.rec.getScore() > score) {
+                    higher += size(n.left) + 1;
+                    n = n.right;
+                } else {
+                    n = n.left;
+                }
+            }
+            return higher + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 상위 k개 (높은 순위부터) */
+    List<MatchRecord> top(int k) {
+        lock.readLock().lock();
+        try {
+            List<MatchRecord> out = new ArrayList<>(Math.min(k, size(root)));
+            collect(root, k, out);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collect(Node n, int k, List<MatchRecord> out) {
+        // 중위 순회, k개 모이면 중단 (깊이는 O(log n)이라 재귀로 충분)
+        if (n == null || out.size() >= k) return;
+        collect(n.left, k, out);
+        if (out.size() < k) out.add(n.rec);
+        collect(n.right, k, out);
+    }
+
+    /** 순위 순서로 전부 (로그 압축용) */
+    MatchRecord[] snapshot() {
+        lock.readLock().lock();
+        try {
+            MatchRecord[] out = new MatchRecord[size(root)];
+            fill(root, out, 0);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int fill(Node n, MatchRecord[] out, int i) {
+        if (n == null) return i;
+        i = fill(n.left, out, i);
+        out[i++] = n.rec;
+        return fill(n.right, out, i);
+    }
+
+    /**
+     * 순위 순서로 정렬된(중복 없는) 배열로 한 번에 다시 만든다. 복구용, O(n).
+     * 가운데를 루트로 삼는 완전 균형 트리를 만들고, 트립 힙 조건이 깨지지 않도록
+     * 우선순위는 깊이가 얕을수록 크게 준다.
+     */
+    void bulkLoad(MatchRecord[] sorted, int n) {
+        lock.writeLock().lock();
+        try {
+            root = build(sorted, 0, n, 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Node build(MatchRecord[] a, int from, int to, int depth) {
+        if (from >= to) return null;
+        int mid = (from + to) >>> 1;
+        Node n = new Node(a[mid], Integer.MAX_VALUE - depth);
+        n.left = build(a, from, mid, depth + 1);
+        n.right = build(a, mid + 1, to, depth + 1);
+        return fix(n);
+    }
+}
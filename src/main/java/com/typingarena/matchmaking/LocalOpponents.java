@@ -0,0 +1,56 @@
+package com.typingarena.matchmaking;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 네트워크 대신 쓰는 가짜 상대들.
+ * 대기열에 봇 플레이어를 꾸준히 넣어 두어 혼자 실행해도 매칭이 잡히게 한다.
+ * 봇 레이팅은 center 주변 정규분포, 대기열이 target명보다 적을 때만 채운다.
+ */
+public final class LocalOpponents implements AutoCloseable {
+
+    private static final long FILL_MS = 500;
+
+    private final Matchmaker matchmaker;
+    private final int center;
+    private final int spread;
+    private final int target;
+    private final Thread filler;
+    private volatile boolean closed;
+    private long botSeq;
+
+    public LocalOpponents(Matchmaker matchmaker, int center, int spread, int target) {
+        this.matchmaker = matchmaker;
+        this.center = center;
+        this.spread = spread;
+        this.target = target;
+        this.filler = new Thread(this::fillLoop, "local-opponents");
+        this.filler.setDaemon(true);
+        this.filler.start();
+    }
+
+    private void fillLoop() {
+        SplittableRandom r = new SplittableRandom();
+        while (!closed) {
+            // 한 번에 하나씩만 넣어 대기열이 천천히 차도록
+            if (matchmaker.size() < target) {
+                int rating = (int) Math.round(center + gaussian(r) * spread);
+                matchmaker.enqueue("bot-" + (++botSeq), rating, null);
+            }
+            LockSupport.parkNanos(FILL_MS * 1_000_000L);
+        }
+    }
+
+    // Box-Muller
+    private static double gaussian(SplittableRandom r) {
+        double u = 1.0 - r.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * r.nextDouble());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(filler);
+    }
+}
@@ -0,0 +1,43 @@
+package com.typingarena.matchmaking;
+
+/** 매칭 결과 하나 (불변). a가 먼저 대기열에 들어온 쪽 */
+public final class Match {
+
+    private final String playerA;
+    private final int ratingA;
+    private final String playerB;
+    private final int ratingB;
+    private final long waitNanosA;
+    private final long waitNanosB;
+
+    Match(String playerA, int ratingA, String playerB, int ratingB, long waitNanosA, long waitNanosB) {
+        this.playerA = playerA;
+        this.ratingA = ratingA;
+        this.playerB = playerB;
+        this.ratingB = ratingB;
+        this.waitNanosA = waitNanosA;
+        this.waitNanosB = waitNanosB;
+    }
+
+    public String getPlayerA()  { return playerA; }
+    public int getRatingA()     { return ratingA; }
+    public String getPlayerB()  { return playerB; }
+    public int getRatingB()     { return ratingB; }
+    public long getWaitNanosA() { return waitNanosA; }
+    public long getWaitNanosB() { return waitNanosB; }
+
+    /** player 기준 상대 이름 */
+    public String opponentOf(String player) {
+        return player.equals(playerA) ? playerB : playerA;
+    }
+
+    /** player 기준 상대 레이팅 */
+    public int opponentRatingOf(String player) {
+        return player.equals(playerA) ? ratingB : ratingA;
+    }
+
+    @Override
+    public String toString() {
+        return playerA + "(" + ratingA + ") vs " + playerB + "(" + ratingB + ")";
+    }
+}
@@ -0,0 +1,134 @@
+package com.typingarena.matchmaking;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * 레이팅 대기열 (동기화 없음, Matchmaker가 락을 잡고 쓴다).
+ *
+ * - byRating: 레이팅 순 트리. 새 플레이어는 바로 위/아래 이웃 중 창 안에 드는 가까운 쪽과 짝지어진다.
+ * - 매칭 창은 기다린 시간에 따라 단계적으로 넓어진다: base + 단계 * widen (최대 max).
+ *   단계마다 FIFO를 하나씩 두면 한 FIFO 안에서는 들어온 순서 = 다음 단계로 넘어갈 순서라서,
+ *   advance()는 각 FIFO 앞에서 때가 된 것만 꺼내 넓어진 창으로 다시 찾아본다.
+ *   그래서 플레이어 한 명은 단계 수만큼만 다시 검사되고, 매번 전체를 훑지 않는다.
+ * - 짝 조건: 레이팅 차이 <= 두 사람 창 중 넓은 쪽 (오래 기다린 쪽이 양보).
+ *
+ * enqueue / cancel / 짝 찾기 모두 O(log n). 빠진 티켓은 FIFO에서 늦게(앞에 왔을 때) 버린다.
+ */
+final class MatchQueue {
+
+    /** 짝이 지어질 때마다 받는 쪽 (a가 먼저 들어온 쪽) */
+    interface PairSink {
+        void paired(Ticket a, Ticket b);
+    }
+
+    private final int baseWindow;
+    private final int widenPerStep;
+    private final int maxWindow;
+    private final long stepNanos;
+
+    private final TreeSet<Ticket> byRating = new TreeSet<>(Ticket.BY_RATING);
+    private final Map<String, Ticket> byPlayer = new HashMap<>();
+    private final ArrayDeque<Ticket>[] levels; // 마지막 단계는 더 넓어지지 않으므로 FIFO 없음
+    private long seq;
+
+    @SuppressWarnings("unchecked")
+    MatchQueue(int baseWindow, int widenPerStep, int maxWindow, long stepNanos) {
+        this.baseWindow = baseWindow;
+        this.widenPerStep = widenPerStep;
+        this.maxWindow = maxWindow;
+        this.stepNanos = stepNanos;
+        int steps = widenPerStep <= 0 ? 0 : (maxWindow - baseWindow + widenPerStep - 1) / widenPerStep;
+        this.levels = (ArrayDeque<Ticket>[]) new ArrayDeque<?>[steps];
+        for (int i = 0; i < steps; i++) levels[i] = new ArrayDeque<>();
+    }
+
+    int size() {
+        return byPlayer.size();
+    }
+
+    boolean contains(String player) {
+        return byPlayer.containsKey(player);
+    }
+
+    int window(int level) {
+        return Math.min(baseWindow + level * widenPerStep, maxWindow);
+    }
+
+    /**
+     * 대기열에 넣고 바로 짝을 찾아본다.
+     * 이미 대기 중인 이름이면 false (아무것도 안 함).
+     */
+    boolean enqueue(String player, int rating, long nowNanos, Consumer<Match> onMatch, PairSink sink) {
+        if (byPlayer.containsKey(player)) return false;
+        Ticket t = new Ticket(seq++, player, rating, nowNanos, onMatch);
+        byRating.add(t);
+        byPlayer.put(player, t);
+        if (!tryPair(t, sink) && levels.length > 0) {
+            levels[0].addLast(t);
+        }
+        return true;
+    }
+
+    boolean cancel(String player) {
+        Ticket t = byPlayer.remove(player);
+        if (t == null) return false;
+        byRating.remove(t);
+        t.queued = false;
+        return true;
+    }
+
+    /** 기다린 시간이 다음 단계에 이른 티켓들의 창을 넓혀 다시 짝을 찾는다. */
+    void advance(long nowNanos, PairSink sink) {
+        // 오래 기다린(높은 단계) 쪽부터
+        for (int l = levels.length - 1; l >= 0; l--) {
+            ArrayDeque<Ticket> q = levels[l];
+            long due = (l + 1) * stepNanos;
+            Ticket t;
+            while ((t = q.peekFirst()) != null) {
+                if (!t.queued) {
+                    q.pollFirst();
+                    continue;
+                }
+                if (nowNanos - t.enqueuedNanos < due) break;
+                q.pollFirst();
+                t.level = l + 1;
+                if (!tryPair(t, sink) && l + 1 < levels.length) {
+                    levels[l + 1].addLast(t);
+                }
+            }
+        }
+    }
+
+    // 바로 위/아래 이웃 중 창 안에 드는 가까운 쪽과 짝짓는다
+    private boolean tryPair(Ticket t, PairSink sink) {
+        Ticket lo = byRating.lower(t);
+        Ticket hi = byRating.higher(t);
+        int w = window(t.level);
+        int dLo = lo == null ? Integer.MAX_VALUE : t.rating - lo.rating;
+        int dHi = hi == null ? Integer.MAX_VALUE : hi.rating - t.rating;
+        boolean okLo = lo != null && dLo <= Math.max(w, window(lo.level));
+        boolean okHi = hi != null && dHi <= Math.max(w, window(hi.level));
+
+        Ticket other;
+        if (okLo && okHi) other = dLo <= dHi ? lo : hi;
+        else if (okLo) other = lo;
+        else if (okHi) other = hi;
+        else return false;
+
+        remove(t);
+        remove(other);
+        if (other.seq < t.seq) sink.paired(other, t);
+        else sink.paired(t, other);
+        return true;
+    }
+
+    private void remove(Ticket t) {
+        byRating.remove(t);
+        byPlayer.remove(t.player);
+        t.queued = false;
+    }
+}
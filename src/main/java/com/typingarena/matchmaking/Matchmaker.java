@@ -0,0 +1,219 @@
+package com.typingarena.matchmaking;
+
+import com.typingarena.common.metrics.Counter;
+import com.typingarena.common.metrics.Gauge;
+import com.typingarena.common.metrics.LatencyHistogram;
+import com.typingarena.common.metrics.MetricRegistry;
+import com.typingarena.minigames.tugofwar.GameMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 레이팅 기반 매칭 서비스 (프로세스 안에서 도는 네트워크 대역).
+ *
+ * - enqueue(이름, 레이팅, 콜백): 대기열에 넣는다. 짝이 지어지면 양쪽 콜백이 불린다.
+ * - 매칭 창은 기다린 시간에 따라 넓어진다 (MatchQueue 참고). 백그라운드 스레드가
+ *   PASS_MS마다 때가 된 대기자만 다시 찾아본다.
+ * - 콜백은 락 밖에서, 짝을 만든 스레드(enqueue 호출자 또는 매칭 스레드)에서 불린다.
+ *   Swing에서 쓰면 콜백 안에서 invokeLater로 넘길 것.
+ *
+ * 지표 (GameMetrics.REGISTRY, typingarena_matchmaking_*):
+ * 대기 시간 히스토그램, 대기열 길이 게이지, 매칭/취소 카운터.
+ */
+public final class Matchmaker implements AutoCloseable {
+
+    public static final int BASE_WINDOW = 50;       // 막 들어왔을 때 허용 레이팅 차이
+    public static final int WIDEN_PER_STEP = 25;    // 단계마다 넓어지는 폭
+    public static final int MAX_WINDOW = 400;
+    public static final long STEP_MS = 1000;        // 단계 간격
+    private static final long PASS_MS = 100;
+
+    // --- 지표 (JVM 하나에 한 벌) ---
+    private static final MetricRegistry REGISTRY = GameMetrics.REGISTRY;
+    static final LatencyHistogram WAIT =
+            REGISTRY.histogram("matchmaking_wait", "대기열에 들어와서 짝이 지어질 때까지");
+    static final Gauge DEPTH =
+            REGISTRY.gauge("matchmaking_queue_depth", "매칭 대기 인원");
+    static final Counter MATCHES =
+            REGISTRY.counter("matchmaking_matches", "지어진 짝 수");
+    static final Counter CANCELLED =
+            REGISTRY.counter("matchmaking_cancelled", "매칭 취소 수");
+
+    private final MatchQueue queue;
+    private final Thread pairer;
+    private volatile boolean closed;
+
+    // 락 안에서 모은 짝 (콜백은 락 밖에서)
+    private final List<Match> found = new ArrayList<>();
+    private final List<Ticket> foundTickets = new ArrayList<>();
+    private final MatchQueue.PairSink sink = this::collect;
+
+    public Matchmaker() {
+        this(BASE_WINDOW, WIDEN_PER_STEP, MAX_WINDOW, STEP_MS);
+    }
+
+    public Matchmaker(int baseWindow, int widenPerStep, int maxWindow, long stepMs) {
+        this.queue = new MatchQueue(baseWindow, widenPerStep, maxWindow, stepMs * 1_000_000L);
+        this.pairer = new Thread(this::pairLoop, "matchmaker");
+        this.pairer.setDaemon(true);
+        this.pairer.start();
+        GameMetrics.expose();
+        REGISTRY.registerMBeans(); // expose() 뒤에 추가된 지표도 JMX에 보이도록
+    }
+
+    /** 대기열에 넣는다. 이미 대기 중이면 false */
+    public boolean enqueue(String player, int rating, Consumer<Match> onMatch) {
+        boolean added;
+        synchronized (this) {
+            added = queue.enqueue(player, rating, System.nanoTime(), onMatch, sink);
+            DEPTH.set(queue.size());
+        }
+        deliver();
+        return added;
+    }
+
+    public synchronized boolean cancel(String player) {
+        boolean removed = queue.cancel(player);
+        if (removed) {
+            CANCELLED.inc();
+            DEPTH.set(queue.size());
+        }
+        return removed;
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    public synchronized boolean isQueued(String player) {
+        return queue.contains(player);
+    }
+
+    // MatchQueue가 락 안에서 부름
+    private void collect(Ticket a, Ticket b) {
+        long now = System.nanoTime();
+        long waitA = now - a.enqueuedNanos;
+        long waitB = now - b.enqueuedNanos;
+        WAIT.record(waitA);
+        WAIT.record(waitB);
+        MATCHES.inc();
+        found.add(new Match(a.player, a.rating, b.player, b.rating, waitA, waitB));
+        foundTickets.add(a);
+        foundTickets.add(b);
+    }
+
+    // 모인 짝의 콜백을 락 밖에서 부른다
+    private void deliver() {
+        Match[] matches;
+        Ticket[] tickets;
+        synchronized (this) {
+            if (found.isEmpty()) return;
+            matches = found.toArray(new Match[0]);
+            tickets = foundTickets.toArray(new Ticket[0]);
+            found.clear();
+            foundTickets.clear();
+        }
+        for (int i = 0; i < matches.length; i++) {
+            deliverTo(tickets[i * 2], matches[i]);
+            deliverTo(tickets[i * 2 + 1], matches[i]);
+        }
+    }
+
+    private static void deliverTo(Ticket t, Match m) {
+        if (t.onMatch == null) return;
+        try {
+            t.onMatch.accept(m);
+        } catch (RuntimeException e) {
+            System.err.println("매칭 콜백 실패 (" + t.player + "): " + e);
+        }
+    }
+
+    private void pairLoop() {
+        long next = System.nanoTime();
+        while (!closed) {
+            synchronized (this) {
+                queue.advance(System.nanoTime(), sink);
+                DEPTH.set(queue.size());
+            }
+            deliver();
+            next += PASS_MS * 1_000_000L;
+            long wait;
+            while (!closed && (wait = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(pairer);
+    }
+
+    // ===== 부하 측정 =====
+
+    /**
+     * MatchQueue를 가상 시계로 돌려 대기열 N명에서의 연산 비용을 잰다.
+     * 처음엔 창을 0으로 둬서 아무도 짝이 안 지어지게 N명을 채운 뒤,
+     * 넣기/빼기 비용과 창이 넓어지며 짝이 지어지는 과정을 본다.
+     *
+     *   java com.typingarena.matchmaking.Matchmaker [대기 인원=100000]
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        String[] names = new String[n];
+        int[] ratings = new int[n];
+        SplittableRandom r = new SplittableRandom(7);
+        // 레이팅이 서로 다르게 (간격 10) 섞어서 넣는다
+        for (int i = 0; i < n; i++) {
+            names[i] = "p" + i;
+            ratings[i] = i * 10;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = r.nextInt(i + 1);
+            int t = ratings[i]; ratings[i] = ratings[j]; ratings[j] = t;
+        }
+        for (int round = 1; round <= 2; round++) { // 1회차는 JIT 예열
+            System.out.println("== " + round + "회차");
+            loadRound(names, ratings);
+        }
+    }
+
+    private static void loadRound(String[] names, int[] ratings) {
+        int n = names.length;
+        long step = 1_000_000_000L;
+        MatchQueue q = new MatchQueue(0, 2, 64, step);
+        int[] pairs = new int[1];
+        MatchQueue.PairSink count = (a, b) -> pairs[0]++;
+
+        long now = 0;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < n; i++) q.enqueue(names[i], ratings[i], now, null, count);
+        long fill = System.nanoTime() - t0;
+        System.out.printf("넣기 %,d명: %.1f ns/명, 대기 %,d명, 짝 %d%n", n, fill / (double) n, q.size(), pairs[0]);
+
+        // 대기열이 찬 상태에서 빼고 다시 넣기
+        t0 = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            q.cancel(names[i]);
+            q.enqueue(names[i], ratings[i], now, null, count);
+        }
+        long churn = System.nanoTime() - t0;
+        System.out.printf("빼기+넣기 %,d회: %.1f ns/회 (대기 %,d명)%n", n, churn / (double) n, q.size());
+
+        // 창이 넓어지며 짝 짓기 (단계마다 2씩, 간격 10이 되는 5단계째부터 짝이 생김)
+        for (int s = 1; s <= 6; s++) {
+            now += step;
+            int before = pairs[0];
+            t0 = System.nanoTime();
+            q.advance(now, count);
+            long ns = System.nanoTime() - t0;
+            System.out.printf("단계 %d (창 %d): 짝 %,d, 남은 대기 %,d, %.1f ms%n",
+                    s, q.window(s), pairs[0] - before, q.size(), ns / 1e6);
+        }
+    }
+}
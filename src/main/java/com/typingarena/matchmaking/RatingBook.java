@@ -0,0 +1,37 @@
+package com.typingarena.matchmaking;
+
+import com.typingarena.leaderboard.MatchRecord;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 플레이어 레이팅 (Elo). 경기 결과로만 바뀐다.
+ * 결과는 MatchRecord.WIN/LOSS/DRAW, 상대 레이팅은 매칭 때 받은 값을 쓴다.
+ * 여러 스레드에서 불려도 되도록 synchronized.
+ */
+public final class RatingBook {
+
+    public static final int INITIAL = 1500;
+    private static final double K = 32.0;
+
+    private final Map<String, Integer> ratings = new HashMap<>();
+
+    public synchronized int ratingOf(String player) {
+        return ratings.getOrDefault(player, INITIAL);
+    }
+
+    /** 결과를 반영하고 새 레이팅을 돌려준다 */
+    public synchronized int record(String player, int opponentRating, byte result) {
+        int r = ratingOf(player);
+        double score = result == MatchRecord.WIN ? 1.0 : result == MatchRecord.LOSS ? 0.0 : 0.5;
+        int next = (int) Math.round(r + K * (score - expected(r, opponentRating)));
+        ratings.put(player, next);
+        return next;
+    }
+
+    /** r이 opp를 이길 기대 확률 */
+    static double expected(int r, int opp) {
+        return 1.0 / (1.0 + Math.pow(10.0, (opp - r) / 400.0));
+    }
+}
@@ -0,0 +1,35 @@
+package com.typingarena.matchmaking;
+
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+/**
+ * 대기열에 든 플레이어 한 명 (MatchQueue 내부용).
+ * 레이팅 순 트리와 대기 단계별 FIFO에 같은 객체가 들어가고,
+ * 빠질 때는 queued만 끄고 FIFO에서는 나중에 앞에 왔을 때 버린다.
+ */
+final class Ticket {
+
+    /** 레이팅 오름차순, 같으면 먼저 들어온 순 */
+    static final Comparator<Ticket> BY_RATING = (a, b) -> {
+        int c = Integer.compare(a.rating, b.rating);
+        return c != 0 ? c : Long.compare(a.seq, b.seq);
+    };
+
+    final long seq;
+    final String player;
+    final int rating;
+    final long enqueuedNanos;
+    final Consumer<Match> onMatch; // 매칭되면 부를 콜백 (없으면 null)
+
+    int level;       // 창이 넓어진 단계 (0 = 막 들어옴)
+    boolean queued = true;
+
+    Ticket(long seq, String player, int rating, long enqueuedNanos, Consumer<Match> onMatch) {
+        this.seq = seq;
+        this.player = player;
+        this.rating = rating;
+        this.enqueuedNanos = enqueuedNanos;
+        this.onMatch = onMatch;
+    }
+}
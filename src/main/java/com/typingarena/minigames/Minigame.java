@@ -0,0 +1,41 @@
+package com.typingarena.minigames;
+
+import java.awt.Window;
+import java.util.function.IntConsumer;
+
+/**
+ * 로비에 올라가는 미니게임 하나 (ServiceLoader 제공자).
+ *
+ * 구현 클래스는 META-INF/services/com.typingarena.minigames.Minigame 에 한 줄로 등록한다.
+ * 로비는 이 객체만 만들어 이름/설명을 보여 주므로, 구현 클래스의 필드나 static 초기화에서
+ * 게임 클래스(창, 패널, 리소스)를 건드리지 말 것. 게임 코드는 launch()/prewarm() 안에서만 참조한다.
+ */
+public interface Minigame {
+
+    /** 고유 id (영문, 바뀌지 않는 값) */
+    String id();
+
+    /** 로비 목록에 보일 이름 */
+    String title();
+
+    /** 로비 설명 칸에 보일 한두 줄 */
+    String description();
+
+    /** 로비 "빠른 대전"(매칭 후 시작)을 지원하는지 */
+    default boolean supportsMatchmaking() {
+        return false;
+    }
+
+    /**
+     * 게임 창을 열어 돌려준다 (EDT에서 호출).
+     * onResult가 있으면 경기가 끝날 때마다 결과(MatchRecord.WIN/LOSS/DRAW)를 넘긴다.
+     */
+    Window launch(IntConsumer onResult);
+
+    /**
+     * 처음 실행이 빨라지도록 게임 클래스/리소스를 미리 읽어 둔다 (백그라운드 스레드에서 호출).
+     * 창이나 Swing 컴포넌트는 만들지 말 것.
+     */
+    default void prewarm() {
+    }
+}
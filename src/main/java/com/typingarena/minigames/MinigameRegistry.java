@@ -0,0 +1,90 @@
+package com.typingarena.minigames;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * ServiceLoader로 찾은 미니게임 목록.
+ *
+ * load()는 제공자 객체(이름/설명만 가진 가벼운 클래스)만 만든다.
+ * 게임 클래스는 launch() 때, 또는 prewarmInBackground()로 첫 화면 이후에 읽힌다.
+ * 그래서 미니게임이 늘어도 로비 첫 화면까지 걸리는 시간은 거의 그대로다.
+ */
+public final class MinigameRegistry {
+
+    private final List<Minigame> games;
+    private final long loadNanos;
+    private volatile String prewarmReport = "미리 읽기 안 함";
+
+    private MinigameRegistry(List<Minigame> games, long loadNanos) {
+        this.games = Collections.unmodifiableList(games);
+        this.loadNanos = loadNanos;
+    }
+
+    public static MinigameRegistry load() {
+        return load(MinigameRegistry.class.getClassLoader());
+    }
+
+    /** 잘못 등록된 제공자는 경고만 찍고 건너뛴다 */
+    public static MinigameRegistry load(ClassLoader loader) {
+        long t0 = System.nanoTime();
+        List<Minigame> list = new ArrayList<>();
+        Iterator<Minigame> it = ServiceLoader.load(Minigame.class, loader).iterator();
+        while (true) {
+            try {
+                if (!it.hasNext()) break;
+                list.add(it.next());
+            } catch (ServiceConfigurationError e) {
+                System.err.println("미니게임 등록 오류 (건너뜀): " + e.getMessage());
+            }
+        }
+        return new MinigameRegistry(list, System.nanoTime() - t0);
+    }
+
+    public List<Minigame> games() {
+        return games;
+    }
+
+    /** id로 찾기 (없으면 null) */
+    public Minigame find(String id) {
+        for (Minigame g : games) {
+            if (g.id().equals(id)) return g;
+        }
+        return null;
+    }
+
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    /** 낮은 우선순위 데몬 스레드에서 모든 게임의 prewarm()을 차례로 부른다 */
+    public Thread prewarmInBackground() {
+        Thread t = new Thread(this::prewarmAll, "minigame-prewarm");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        t.start();
+        return t;
+    }
+
+    private void prewarmAll() {
+        StringBuilder sb = new StringBuilder("미리 읽기:");
+        for (Minigame g : games) {
+            long t0 = System.nanoTime();
+            try {
+                g.prewarm();
+                sb.append(String.format(" %s %.0fms", g.id(), (System.nanoTime() - t0) / 1e6));
+            } catch (RuntimeException | LinkageError e) {
+                sb.append(' ').append(g.id()).append(" 실패(").append(e).append(')');
+            }
+        }
+        prewarmReport = sb.toString();
+    }
+
+    public String describePrewarm() {
+        return prewarmReport;
+    }
+}
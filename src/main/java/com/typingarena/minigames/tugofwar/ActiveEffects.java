@@ -1,39 +1,139 @@
 package com.typingarena.minigames.tugofwar;
 
+import java.util.Arrays;
+
 /**
- * 아이템 효과들의 지속시간을 관리하는 클래스.
- * now < ...Until 이면 해당 효과가 활성 중이라고 본다.
+ * 아이템 효과 레지스트리. 효과 종류는 EffectType에 정의한다.
+ *
+ * 시간 단위는 벽시계(ms)가 아니라 게임 틱(100ms) 수.
+ * GameLogic.tick()이 advance()로 now를 한 칸씩 올려주므로
+ * 헤드리스 시뮬레이션에서도 실제 시간과 무관하게 똑같이 동작한다.
+ *
+ * 스레드:
+ * - 쓰기(activate/advance/clearAll)는 게임을 돌리는 스레드 하나만 한다
+ *   (Swing은 EDT, 서버는 방이 붙은 샤드 스레드). 다른 스레드는 그 스레드로 넘겨서 요청.
+ * - 읽기는 아무 스레드나 가능. 켜진 효과 비트마스크를 volatile long 하나로 공개하므로
+ *   isActive()는 load 한 번 + 비트 연산.
+ * - 마스크는 발동할 때와 틱마다 한 번 다시 계산된다.
  */
 public class ActiveEffects {
-    long powerGripUntil = 0L; // 파워 그립: 정답 밀 힘 2배
-    long anchorUntil    = 0L; // 앵커: 거의 안 밀림
-    long blindUntil     = 0L; // 먹물: 단어 부분 가리기
 
-    public boolean isPowerGripActive() {
-        return System.currentTimeMillis() < powerGripUntil;
+    private long now = 0L;                      // 현재 게임 틱 (가상 시계)
+    private final long[] until = new long[EffectType.idLimit()]; // 효과별 종료 틱
+    private volatile long activeMask = 0L;      // 켜진 효과 비트 (EffectType.getBit())
+
+    // HUD 문자열 캐시: 마스크가 바뀔 때만 새로 만든다
+    private static final class Described {
+        final long mask;
+        final String text;
+
+        Described(long mask, String text) {
+            this.mask = mask;
+            this.text = text;
+        }
+    }
+
+    private static final Described NONE = new Described(0L, "효과: 없음");
+    private volatile Described described = NONE;
+
+    public boolean isActive(EffectType type) {
+        return (activeMask & type.getBit()) != 0;
     }
 
-    public boolean isAnchorActive() {
-        return System.currentTimeMillis() < anchorUntil;
+    /** 켜진 효과 비트 전체 (네트워크 전송 등) */
+    public long getActiveMask() {
+        return activeMask;
     }
 
-    public boolean isBlindActive() {
-        return System.currentTimeMillis() < blindUntil;
+    /** 남은 틱 수 (꺼져 있으면 0). 쓰는 스레드에서만 정확하다 */
+    public long remainingTicks(EffectType type) {
+        return Math.max(0L, until[type.getId()] - now);
+    }
+
+    long getNow() {
+        return now;
+    }
+
+    /**
+     * 효과 발동 (GameLogic에서만 호출). 중복 발동 규칙은 EffectType.Stacking.
+     * 실제로 켜지거나 시간이 바뀌었으면 true.
+     */
+    boolean activate(EffectType type) {
+        int i = type.getId();
+        long dur = type.getDurationTicks();
+        long cur = until[i];
+        long next;
+        switch (type.getStacking()) {
+            case EXTEND:  next = Math.max(cur, now) + dur;  break;
+            case IGNORE:  next = cur > now ? cur : now + dur; break;
+            default:      next = Math.max(cur, now + dur);  break; // REFRESH
+        }
+        if (next == cur) return false;
+        until[i] = next;
+        activeMask |= type.getBit();
+        return true;
+    }
+
+    // 한 틱 진행 (GameLogic.tick()에서만 호출). 켜진 효과만 훑어서 끝난 것을 끈다
+    void advance() {
+        now++;
+        long mask = activeMask;
+        long rest = mask;
+        while (rest != 0) {
+            int i = Long.numberOfTrailingZeros(rest);
+            rest &= rest - 1;
+            if (until[i] <= now) mask &= ~(1L << i);
+        }
+        if (mask != activeMask) activeMask = mask;
+    }
+
+    // ===== 스냅샷 (GameLogic.saveState/loadState) =====
+
+    static int stateLongs() {
+        return 1 + EffectType.idLimit();
+    }
+
+    void saveState(long[] dst, int off) {
+        dst[off] = now;
+        System.arraycopy(until, 0, dst, off + 1, until.length);
+    }
+
+    // 마스크는 종료 틱에서 다시 계산한다
+    void loadState(long[] src, int off) {
+        now = src[off];
+        System.arraycopy(src, off + 1, until, 0, until.length);
+        long mask = 0L;
+        for (int i = 0; i < until.length; i++) {
+            if (until[i] > now) mask |= 1L << i;
+        }
+        activeMask = mask;
     }
 
     public void clearAll() {
-        powerGripUntil = 0L;
-        anchorUntil = 0L;
-        blindUntil = 0L;
+        now = 0L;
+        Arrays.fill(until, 0L);
+        activeMask = 0L;
     }
 
-    // HUD 표시용 문자열
+    // HUD 표시용 문자열 (효과 조합이 바뀔 때만 새로 만듦)
     public String describeEffects() {
-        StringBuilder sb = new StringBuilder();
-        if (isPowerGripActive()) sb.append("[파워그립] ");
-        if (isAnchorActive())    sb.append("[앵커] ");
-        if (isBlindActive())     sb.append("[먹물] ");
-        if (sb.length() == 0) return "효과: 없음";
-        return "효과: " + sb.toString().trim();
+        long mask = activeMask;
+        Described d = described;
+        if (d.mask != mask) {
+            d = mask == 0 ? NONE : new Described(mask, build(mask));
+            described = d;
+        }
+        return d.text;
+    }
+
+    private static String build(long mask) {
+        StringBuilder sb = new StringBuilder("효과:");
+        long rest = mask;
+        while (rest != 0) {
+            EffectType t = EffectType.byId(Long.numberOfTrailingZeros(rest));
+            rest &= rest - 1;
+            if (t != null) sb.append(" [").append(t.getLabel()).append(']');
+        }
+        return sb.toString();
     }
 }
@@ -0,0 +1,187 @@
+package com.typingarena.minigames.tugofwar;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 능동 렌더링 경기장.
+ * Swing repaint 대신 전용 렌더 스레드가 BufferStrategy로 모니터 주사율마다 직접 그린다.
+ *
+ * 게임 상태는 여전히 100ms 틱으로만 바뀐다. 틱/입력 때 EDT에서 refresh(GameSnapshot)가
+ * "지금 보이는 위치 -> 새 위치" 구간(Motion)을 만들어 두면, 렌더 스레드는
+ * 매 프레임 경과 시간만큼 보간한 위치에 말판을 그린다.
+ * 그래서 말판이 100ms마다 뚝뚝 끊기지 않고, 입력 결과도 다음 프레임부터 바로 보인다.
+ *
+ * 렌더 스레드는 GameLogic을 읽지 않는다. 필요한 값은 전부 Motion에 담겨 넘어온다.
+ */
+public class ActiveRopeCanvas extends Canvas implements RopeView {
+
+    private static final long MOTION_NANOS = GameLogic.TICK_MS * 1_000_000L;
+    private static final int DEFAULT_HZ = 60;
+
+    /** EDT -> 렌더 스레드로 넘기는 불변 값 */
+    private static final class Motion {
+        final double from;
+        final double to;
+        final long startNanos;
+        final String word;
+        final boolean blind;
+
+        Motion(double from, double to, long startNanos, String word, boolean blind) {
+            this.from = from;
+            this.to = to;
+            this.startNanos = startNanos;
+            this.word = word;
+            this.blind = blind;
+        }
+
+        double posAt(long now) {
+            double t = (now - startNanos) / (double) MOTION_NANOS;
+            if (t >= 1.0) return to;
+            if (t <= 0.0) return from;
+            return from + (to - from) * t;
+        }
+    }
+
+    private final RopeRenderer renderer = new RopeRenderer(this);
+    private final FrameLatency latency = new FrameLatency();
+
+    private volatile Motion motion;
+    private volatile boolean running;
+    private Thread renderThread;
+
+    // 렌더 스레드 통계
+    private volatile long frames;
+    private volatile long lateFrames; // 프레임 예정 시각을 한 프레임 이상 넘긴 횟수
+
+    public ActiveRopeCanvas(GameSnapshot initial) {
+        this.motion = new Motion(initial.pos, initial.pos, System.nanoTime(), initial.word, false);
+        setBackground(RopeRenderer.BG);
+        setIgnoreRepaint(true); // 그리기는 렌더 스레드만
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createBufferStrategy(2);
+        running = true;
+        renderThread = new Thread(this::renderLoop, "rope-render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        running = false;
+        Thread t = renderThread;
+        renderThread = null;
+        if (t != null) {
+            LockSupport.unpark(t);
+            try {
+                t.join(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        super.removeNotify();
+    }
+
+    @Override
+    public Component component() {
+        return this;
+    }
+
+    @Override
+    public FrameLatency latency() {
+        return latency;
+    }
+
+    /** 틱/입력 후 EDT에서 호출: 지금 보이는 위치에서 새 위치로 이어지는 구간을 만든다 */
+    @Override
+    public void refresh(GameSnapshot s) {
+        long now = System.nanoTime();
+        motion = new Motion(motion.posAt(now), s.pos, now, s.word, s.blind);
+    }
+
+    @Override
+    public void flashRight() {
+        renderer.flashRight();
+    }
+
+    @Override
+    public void flashLeft() {
+        renderer.flashLeft();
+    }
+
+    @Override
+    public void flashBuffColor(Color c) {
+        renderer.flashBuff(c);
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public long getLateFrames() {
+        return lateFrames;
+    }
+
+    // ===== 렌더 스레드 =====
+
+    private void renderLoop() {
+        long frameNanos = 1_000_000_000L / refreshRate();
+        long next = System.nanoTime();
+        BufferStrategy bs = getBufferStrategy();
+
+        while (running) {
+            renderFrame(bs);
+
+            // 다음 프레임 예정 시각은 누적으로 계산 (오차가 쌓이지 않게)
+            next += frameNanos;
+            long now = System.nanoTime();
+            if (now - next > frameNanos) {
+                lateFrames++;
+                next = now; // 많이 밀렸으면 따라잡으려 몰아 그리지 않고 기준을 다시 잡음
+            }
+            long wait;
+            while (running && (wait = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    private void renderFrame(BufferStrategy bs) {
+        int w = getWidth();
+        int h = getHeight();
+        if (w <= 0 || h <= 0) return;
+
+        latency.frameStart();
+        long t0 = System.nanoTime();
+        Motion m = motion;
+        double pos = m.posAt(t0);
+        do {
+            do {
+                Graphics2D g = (Graphics2D) bs.getDrawGraphics();
+                try {
+                    renderer.paint(g, w, h, pos, m.word, m.blind);
+                } finally {
+                    g.dispose();
+                }
+            } while (bs.contentsRestored());
+            bs.show();
+        } while (bs.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+        GameMetrics.PAINT.recordSince(t0);
+        latency.framePresented();
+        frames++;
+    }
+
+    // 모니터 주사율 (모르면 60Hz)
+    private int refreshRate() {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null) return DEFAULT_HZ;
+        int hz = gc.getDevice().getDisplayMode().getRefreshRate();
+        return hz == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_HZ : hz;
+    }
+}
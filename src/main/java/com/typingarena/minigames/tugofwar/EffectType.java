@@ -0,0 +1,79 @@
+package com.typingarena.minigames.tugofwar;
+
+/**
+ * 아이템 효과 종류. 새 아이템은 여기에 한 줄 추가하면 된다
+ * (GameLogic에 필드/메서드를 늘리지 않음). 효과가 규칙에 주는 영향만
+ * GameLogic에서 effects.isActive(...)로 확인한다.
+ *
+ * id는 활성 비트 번호이자 리플레이/네트워크에 기록되는 값이므로
+ * 한 번 정한 값은 바꾸지 않는다. 최대 64종 (long 비트마스크).
+ */
+public enum EffectType {
+
+    //          id   wire       HUD 표시    지속(ms)  중복 발동 규칙
+    POWER_GRIP(0, "POWER",  "파워그립", 5_000, Stacking.REFRESH), // 정답 밀 힘 2배
+    ANCHOR    (1, "ANCHOR", "앵커",     3_000, Stacking.REFRESH), // 거의 안 밀림
+    BLIND     (2, "BLIND",  "먹물",     3_000, Stacking.REFRESH); // 단어 부분 가리기
+
+    /** 이미 켜져 있는 효과를 다시 발동했을 때 */
+    public enum Stacking {
+        REFRESH, // 남은 시간을 지속시간으로 다시 채움 (더 길면 유지)
+        EXTEND,  // 남은 시간에 지속시간을 더함
+        IGNORE   // 켜져 있는 동안은 무시
+    }
+
+    private static final EffectType[] VALUES = values(); // values()는 호출마다 배열을 복사함
+    private static final EffectType[] BY_ID = new EffectType[64];
+
+    static {
+        for (EffectType t : VALUES) {
+            if (t.id < 0 || t.id >= 64 || BY_ID[t.id] != null) {
+                throw new ExceptionInInitializerError("효과 id 중복/범위 초과: " + t);
+            }
+            BY_ID[t.id] = t;
+        }
+    }
+
+    private final int id;
+    private final long bit;
+    private final String wireName;
+    private final String label;
+    private final int durationTicks;
+    private final Stacking stacking;
+
+    EffectType(int id, String wireName, String label, int durationMs, Stacking stacking) {
+        this.id = id;
+        this.bit = 1L << id;
+        this.wireName = wireName;
+        this.label = label;
+        this.durationTicks = durationMs / GameLogic.TICK_MS;
+        this.stacking = stacking;
+    }
+
+    public int getId()            { return id; }
+    public long getBit()          { return bit; }
+    public String getWireName()   { return wireName; }
+    public String getLabel()      { return label; }
+    public int getDurationTicks() { return durationTicks; }
+    public Stacking getStacking() { return stacking; }
+
+    /** 최대 id + 1 (ActiveEffects 배열 크기) */
+    static int idLimit() {
+        int max = -1;
+        for (EffectType t : VALUES) max = Math.max(max, t.id);
+        return max + 1;
+    }
+
+    /** 리플레이에 기록된 id로 찾기 (없으면 null) */
+    public static EffectType byId(int id) {
+        return id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+    }
+
+    /** 서버 프로토콜 이름으로 찾기 (없으면 null) */
+    public static EffectType byWireName(String name) {
+        for (EffectType t : VALUES) {
+            if (t.wireName.equals(name)) return t;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.typingarena.minigames.tugofwar;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 입력(엔터) -> 그 결과가 담긴 프레임이 화면에 나갈 때까지의 시간.
+ *
+ * markInput()은 EDT, frameStart()/framePresented()는 그리는 스레드
+ * (RopePanel이면 EDT, ActiveRopeCanvas면 렌더 스레드)에서 호출한다.
+ * 프레임을 그리기 시작하기 전에 들어온 입력만 그 프레임에 반영된 것으로 센다.
+ * 한 프레임 사이에 입력이 여러 번 오면 가장 먼저 온 것 기준.
+ */
+public final class FrameLatency {
+
+    private final AtomicLong pendingInput = new AtomicLong(); // 0이면 대기 중인 입력 없음
+    private long frameInput;  // 지금 그리는 프레임이 반영하는 입력 시각 (그리는 스레드 전용)
+
+    private long count;
+    private long sumNanos;
+    private long maxNanos;
+
+    /** 입력 처리 직후 호출 */
+    public void markInput() {
+        pendingInput.compareAndSet(0L, System.nanoTime());
+    }
+
+    /** 상태를 읽어 그리기 시작할 때 */
+    void frameStart() {
+        frameInput = pendingInput.get() != 0L ? pendingInput.getAndSet(0L) : 0L;
+    }
+
+    /** 프레임을 화면에 내보낸 직후 */
+    void framePresented() {
+        if (frameInput == 0L) return;
+        long d = System.nanoTime() - frameInput;
+        frameInput = 0L;
+        synchronized (this) {
+            count++;
+            sumNanos += d;
+            if (d > maxNanos) maxNanos = d;
+        }
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized void reset() {
+        count = 0;
+        sumNanos = 0;
+        maxNanos = 0;
+    }
+
+    public synchronized String describe() {
+        if (count == 0) return "입력->화면: 측정 없음";
+        return String.format("입력->화면: %d회 평균 %.1fms 최대 %.1fms",
+                count, sumNanos / 1e6 / count, maxNanos / 1e6);
+    }
+}
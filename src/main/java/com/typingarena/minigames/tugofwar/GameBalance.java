@@ -0,0 +1,35 @@
+package com.typingarena.minigames.tugofwar;
+
+/**
+ * 줄다리기 밸런스 값 묶음 (불변).
+ * GameLogic은 생성 시 이 값을 받아서 쓰고,
+ * 시뮬레이터는 여러 GameBalance를 만들어 파라미터 그리드를 돈다.
+ */
+public final class GameBalance {
+
+    // 지금까지 손으로 맞춰 온 기본값
+    public static final GameBalance DEFAULT = new GameBalance(12.0, 8.0, 0.08, 0.00015);
+
+    private final double stepHit;   // 정답 시 오른쪽으로 당기는 양
+    private final double stepMiss;  // 오답 시 왼쪽으로 밀리는 양
+    private final double enemyBase; // 기본적으로 왼쪽으로 끌리는 힘
+    private final double enemyGrow; // 시간이 지날수록 압박 증가
+
+    public GameBalance(double stepHit, double stepMiss, double enemyBase, double enemyGrow) {
+        this.stepHit = stepHit;
+        this.stepMiss = stepMiss;
+        this.enemyBase = enemyBase;
+        this.enemyGrow = enemyGrow;
+    }
+
+    public double getStepHit()   { return stepHit; }
+    public double getStepMiss()  { return stepMiss; }
+    public double getEnemyBase() { return enemyBase; }
+    public double getEnemyGrow() { return enemyGrow; }
+
+    @Override
+    public String toString() {
+        return String.format("hit=%.2f miss=%.2f base=%.3f grow=%.5f",
+                stepHit, stepMiss, enemyBase, enemyGrow);
+    }
+}
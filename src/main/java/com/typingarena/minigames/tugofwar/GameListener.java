@@ -0,0 +1,64 @@
+package com.typingarena.minigames.tugofwar;
+
+/**
+ * GameLogic에서 일어나는 일을 밖에서 받아 보는 훅.
+ * 리플레이 기록처럼 게임 규칙과 상관없는 부가 기능은 여기에 붙인다.
+ *
+ * GameLogic을 호출한 스레드에서 바로 불리므로 가볍게 처리해야 한다.
+ * 필요한 것만 골라 구현하도록 전부 빈 default 메서드.
+ * GameLogic에는 하나만 붙으므로 여러 개는 both()로 묶는다.
+ */
+public interface GameListener {
+
+    /** startGame() 직후 (matchSeed로 단어 순서가 정해짐) */
+    default void onStart(GameLogic game, long matchSeed) { }
+
+    /** tick()이 상태를 바꾸기 직전 (진행 중일 때만) */
+    default void onTick(GameLogic game) { }
+
+    /** submitAnswer() 판정 직후 (점수/위치는 반영됨, currentWord는 아직 이 답의 대상 단어) */
+    default void onAnswer(GameLogic game, String typed, boolean correct) { }
+
+    /** 아이템이 실제로 발동됐을 때 */
+    default void onItem(GameLogic game, EffectType item) { }
+
+    /** tick()이 게임 종료를 알렸을 때 */
+    default void onEnd(GameLogic game, String result) { }
+
+    /** 두 리스너에 차례로 전달 (null은 건너뜀) */
+    static GameListener both(GameListener first, GameListener second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return new GameListener() {
+            @Override
+            public void onStart(GameLogic game, long matchSeed) {
+                first.onStart(game, matchSeed);
+                second.onStart(game, matchSeed);
+            }
+
+            @Override
+            public void onTick(GameLogic game) {
+                first.onTick(game);
+                second.onTick(game);
+            }
+
+            @Override
+            public void onAnswer(GameLogic game, String typed, boolean correct) {
+                first.onAnswer(game, typed, correct);
+                second.onAnswer(game, typed, correct);
+            }
+
+            @Override
+            public void onItem(GameLogic game, EffectType item) {
+                first.onItem(game, item);
+                second.onItem(game, item);
+            }
+
+            @Override
+            public void onEnd(GameLogic game, String result) {
+                first.onEnd(game, result);
+                second.onEnd(game, result);
+            }
+        };
+    }
+}
@@ -1,5 +1,10 @@
 package com.typingarena.minigames.tugofwar;
 
+import com.typingarena.common.AdaptiveWordSampler;
+import com.typingarena.common.Hangul;
+import com.typingarena.common.WordDictionary;
+import com.typingarena.minigames.tugofwar.bot.TypistBots;
+
 import java.util.Random;
 
 /**
@@ -7,69 +12,235 @@ import java.util.Random;
  * 점수, 콤보, 남은 시간, 로프 위치, 단어 생성/판정,
  * 아이템(파워그립/앵커/먹물) 지속시간 갱신까지 전부 담당.
  *
- * TugOfWarGame(프레임)은 화면/버튼/타이머만 담당하고
- * RopePanel은 이 GameLogic을 읽어서 그리기만 함.
+ * TugOfWarGame(프레임)은 화면/버튼만 담당하고, 틱은 SimulationClock이 돌린다.
+ * 화면(RopePanel 등)은 시계가 떠 준 GameSnapshot을 읽어서 그리기만 함.
  */
 public class GameLogic {
 
-    // 랜덤 단어 뽑기용
-    private final Random rnd = new Random();
+    // 틱 간격(ms). tick() 한 번이 게임 시계 TICK_MS만큼이다.
+    // 실제 시간에 맞춰 부르는 것은 호출하는 쪽 몫 (화면 게임은 SimulationClock이 밀린 틱까지 따라잡는다)
+    public static final int TICK_MS = 100;
+
+    // 한 경기 길이(ms)
+    public static final int MATCH_MS = 60_000;
+
+    // 랜덤 단어 뽑기용. 경기마다 matchSeed로 다시 시드를 넣어서
+    // 같은 matchSeed + 같은 입력이면 같은 경기가 재현된다.
+    // (수열은 Random과 같고, 스냅샷을 위해 상태를 꺼낼 수 있는 GameRandom)
+    private final GameRandom rnd = new GameRandom();
+    private final Random seedSource; // 경기별 matchSeed를 뽑는 용도
+
+    // 단어 사전 (길이별 버킷, 여러 GameLogic이 공유)
+    private final WordDictionary words;
+
+    // 스냅샷 한 개 크기 (long 개수). 배치는 saveState() 참고
+    public static final int STATE_LONGS = 8 + ActiveEffects.stateLongs();
+
+    private static final String FIRST_WORD = "apple"; // 시작 전 표시용
 
     // --- 상태 ---
-    private String currentWord = "apple"; // 지금 쳐야 하는 단어
+    // 바뀌면 saveState()/loadState()에도 반영할 것
+    private String currentWord = FIRST_WORD; // 지금 쳐야 하는 단어
+    private int currentWordIndex = -1;    // currentWord의 사전 인덱스 (시작 전 -1)
     private double pos = 0.0;             // 로프 위치 (-100 ~ 100)
     private int score = 0;
     private int combo = 0;
-    private int timeMs = 60_000;          // 남은 시간(ms)
+    private int maxCombo = 0;             // 이번 경기 최고 콤보
+    private int timeMs = MATCH_MS;        // 남은 시간(ms)
     private boolean running = false;
 
-    // --- 파라미터(밸런스 값) ---
-    private final double STEP_HIT  = 12.0;    // 정답 시 오른쪽으로 당기는 양
-    private final double STEP_MISS = 8.0;     // 오답 시 왼쪽으로 밀리는 양
-    private final double ENEMY_BASE = 0.08;   // 기본적으로 왼쪽으로 끌리는 힘
-    private final double ENEMY_GROW = 0.00015;// 시간이 지날수록 압박 증가
+    // --- 파라미터(밸런스 값) --- 기본값은 GameBalance.DEFAULT 참고
+    private final double STEP_HIT;   // 정답 시 오른쪽으로 당기는 양
+    private final double STEP_MISS;  // 오답 시 왼쪽으로 밀리는 양
+    private final double ENEMY_BASE; // 기본적으로 왼쪽으로 끌리는 힘
+    private final double ENEMY_GROW; // 시간이 지날수록 압박 증가
+
+    private final GameBalance balance;
 
     // 아이템 효과
     private final ActiveEffects effects = new ActiveEffects();
 
+    // 리플레이 기록 등 (없으면 null)
+    private GameListener listener;
+
+    // 적응형 단어 선택 (없으면 null = 길이 구간에서 균등).
+    // 플레이어 기록이라 스냅샷/리플레이에 들어가지 않으므로 StateHistory/리플레이 검증과는 같이 못 쓴다
+    private AdaptiveWordSampler adaptive;
+
+    // 봇 상대 (없으면 null = ENEMY_BASE/ENEMY_GROW 공식으로 끄는 적).
+    // 적응형 단어처럼 스냅샷/리플레이에 들어가지 않는다
+    private TypistBots opponent;
+    private final int[] botHits = new int[1];
+    private final int[] botMisses = new int[1];
+
+    // 답 비교용 (글자 하나를 푼 자모)
+    private final char[] jamoScratch = new char[Hangul.MAX_JAMO];
+
+    public GameLogic() {
+        this(GameBalance.DEFAULT, WordDictionary.defaultDictionary(), new Random());
+    }
+
+    // 시뮬레이션/테스트용: 밸런스 값과 랜덤 시드를 고정
+    public GameLogic(GameBalance balance, long seed) {
+        this(balance, WordDictionary.defaultDictionary(), seed);
+    }
+
+    public GameLogic(GameBalance balance, WordDictionary words, long seed) {
+        this(balance, words, new Random(seed));
+    }
+
+    private GameLogic(GameBalance balance, WordDictionary words, Random seedSource) {
+        this.seedSource = seedSource;
+        this.words = words;
+        this.balance = balance;
+        this.STEP_HIT = balance.getStepHit();
+        this.STEP_MISS = balance.getStepMiss();
+        this.ENEMY_BASE = balance.getEnemyBase();
+        this.ENEMY_GROW = balance.getEnemyGrow();
+    }
+
     // ===== 공개 Getter =====
     public double getPos()          { return pos; }
     public int    getScore()        { return score; }
     public int    getCombo()        { return combo; }
+    public int    getMaxCombo()     { return maxCombo; }
     public int    getTimeMs()       { return timeMs; }
     public boolean isRunning()      { return running; }
     public ActiveEffects getEffects(){ return effects; }
     public String getCurrentWord()  { return currentWord; }
+    public int    getCurrentWordIndex() { return currentWordIndex; }
+    public GameBalance getBalance() { return balance; }
+    public WordDictionary getWords(){ return words; }
+
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    // 이미 붙은 리스너 뒤에 하나 더
+    public void addListener(GameListener l) {
+        this.listener = GameListener.both(this.listener, l);
+    }
+
+    GameListener getListener() {
+        return listener;
+    }
+
+    /** 다음 단어부터 플레이어 오답 기록에 맞춘 가중치로 고른다 (null이면 균등). 같은 사전이어야 함 */
+    public void setAdaptiveWords(AdaptiveWordSampler sampler) {
+        if (sampler != null && sampler.getWords() != words) {
+            throw new IllegalArgumentException("다른 단어 사전의 선택기");
+        }
+        this.adaptive = sampler;
+    }
+
+    public AdaptiveWordSampler getAdaptiveWords() {
+        return adaptive;
+    }
+
+    /**
+     * 공식 대신 봇이 상대가 된다 (null이면 공식). 자리 0의 봇이 정답마다 STEP_HIT만큼 왼쪽으로
+     * 당기고 오답마다 STEP_MISS만큼 밀린다. startGame() 전에.
+     */
+    public void setOpponent(TypistBots bots) {
+        this.opponent = bots;
+    }
+
+    public TypistBots getOpponent() {
+        return opponent;
+    }
+
+    // ===== 스냅샷 =====
+    // 게임 진행에 영향을 주는 상태 전부를 long 배열 한 칸 구간에 저장/복원한다 (할당 없음).
+    // 밸런스 값, 사전, 리스너는 경기 중 바뀌지 않으므로 넣지 않는다.
+    //  [0] pos (double 비트)  [1] score  [2] combo  [3] maxCombo  [4] timeMs
+    //  [5] currentWordIndex  [6] running  [7] 난수 상태  [8~] 효과 (ActiveEffects)
+
+    public void saveState(long[] dst, int off) {
+        dst[off]     = Double.doubleToRawLongBits(pos);
+        dst[off + 1] = score;
+        dst[off + 2] = combo;
+        dst[off + 3] = maxCombo;
+        dst[off + 4] = timeMs;
+        dst[off + 5] = currentWordIndex;
+        dst[off + 6] = running ? 1 : 0;
+        dst[off + 7] = rnd.getState();
+        effects.saveState(dst, off + 8);
+    }
+
+    public void loadState(long[] src, int off) {
+        pos = Double.longBitsToDouble(src[off]);
+        score = (int) src[off + 1];
+        combo = (int) src[off + 2];
+        maxCombo = (int) src[off + 3];
+        timeMs = (int) src[off + 4];
+        currentWordIndex = (int) src[off + 5];
+        currentWord = currentWordIndex >= 0 ? words.word(currentWordIndex) : FIRST_WORD;
+        running = src[off + 6] != 0;
+        rnd.setState(src[off + 7]);
+        effects.loadState(src, off + 8);
+    }
 
     // ===== 게임 시작 =====
     public void startGame() {
+        startGame(seedSource.nextLong());
+    }
+
+    // 리플레이 재생용: 기록된 matchSeed로 시작
+    public void startGame(long matchSeed) {
+        rnd.setSeed(matchSeed);
         pos = 0.0;
         score = 0;
         combo = 0;
-        timeMs = 60_000;
+        maxCombo = 0;
+        timeMs = MATCH_MS;
         running = true;
 
         effects.clearAll();
         nextWord(); // 첫 단어 세팅
+        if (opponent != null) opponent.start(matchSeed ^ 0x5DEECE66DL);
+
+        if (listener != null) listener.onStart(this, matchSeed);
     }
 
-    // ===== 매 틱(100ms마다 호출) =====
+    // ===== 매 틱(게임 시계 TICK_MS마다 호출) =====
     // return 값:
     //  - null이면 아직 진행 중
     //  - "승리! ..." , "패배..." 등 문자열이면 게임 끝 이유
     public String tick() {
         if (!running) return null;
+        if (listener != null) listener.onTick(this);
+
+        String result = step();
+        if (result != null) {
+            running = false;
+            effects.clearAll(); // 게임 시계가 멈추므로 효과도 같이 끈다
+            if (listener != null) listener.onEnd(this, result);
+        }
+        return result;
+    }
 
-        // 시간 감소
-        timeMs -= 100;
+    private String step() {
+        // 시간 감소 (효과 시계도 한 틱 진행)
+        timeMs -= TICK_MS;
         if (timeMs < 0) timeMs = 0;
+        effects.advance();
+        if (adaptive != null) adaptive.rebuildSome(AdaptiveWordSampler.TICK_BUDGET);
 
         // 상대가 나를 왼쪽으로 끄는 힘 계산
-        double elapsedSec = (60_000 - timeMs) / 1000.0;
-        double enemyPushPerTick = ENEMY_BASE + ENEMY_GROW * elapsedSec * 100;
+        double enemyPushPerTick;
+        if (opponent != null) {
+            // 봇: 이번 틱에 제출한 답만큼 (플레이어와 같은 규칙)
+            botHits[0] = 0;
+            botMisses[0] = 0;
+            opponent.advance(TICK_MS, MATCH_MS - timeMs, botHits, botMisses);
+            enemyPushPerTick = botHits[0] * STEP_HIT - botMisses[0] * STEP_MISS;
+        } else {
+            double elapsedSec = (MATCH_MS - timeMs) / 1000.0;
+            enemyPushPerTick = ENEMY_BASE + ENEMY_GROW * elapsedSec * 100;
+        }
 
         // 앵커가 켜져 있으면 거의 안 밀림
-        if (effects.isAnchorActive()) {
+        if (effects.isActive(EffectType.ANCHOR)) {
             enemyPushPerTick *= 0.1;
         }
 
@@ -82,15 +253,12 @@ public class GameLogic {
 
         // 종료 조건 판정
         if (pos >= 100) {
-            running = false;
             return "승리! 오른쪽 끝 도달";
         }
         if (pos <= -100) {
-            running = false;
             return "패배… 왼쪽 끝 도달";
         }
         if (timeMs == 0) {
-            running = false;
             if (pos > 0)  return "시간 종료: 근소한 승리";
             if (pos < 0)  return "시간 종료: 근소한 패배";
             return "무승부";
@@ -105,74 +273,61 @@ public class GameLogic {
         if (!running) return false;
         if (typed == null) return false;
 
-        if (typed.equalsIgnoreCase(currentWord)) {
+        if (isAnswer(typed)) {
             // 정답
             combo++;
+            if (combo > maxCombo) maxCombo = combo;
             score += 10 + (combo * 2);
 
             double push = STEP_HIT;
-            if (effects.isPowerGripActive()) {
+            if (effects.isActive(EffectType.POWER_GRIP)) {
                 push *= 2.0; // 파워그립이면 2배로 민다
             }
             pos += push;
 
+            // 리스너는 다음 단어로 바꾸기 전에 (currentWord = 방금 맞힌 단어)
+            if (listener != null) listener.onAnswer(this, typed, true);
+            if (adaptive != null && currentWordIndex >= 0) adaptive.record(currentWordIndex, true);
             nextWord(); // 다음 단어 세팅
             return true;
         } else {
             // 오답
             combo = 0;
             pos -= STEP_MISS;
+            if (listener != null) listener.onAnswer(this, typed, false);
+            if (adaptive != null && currentWordIndex >= 0) adaptive.record(currentWordIndex, false);
             return false;
         }
     }
 
+    // 정답 판정: 자모 단위로 비교 (WordDictionary.matches, InputMatcher와 같은 규칙).
+    // 목표 단어의 자모는 사전이 미리 풀어 둔 것을 읽으므로 할당이 없다.
+    private boolean isAnswer(String typed) {
+        if (currentWordIndex < 0) return typed.equalsIgnoreCase(currentWord);
+        return words.matches(currentWordIndex, typed, jamoScratch);
+    }
+
     // ===== 단어 생성 =====
     private void nextWord() {
         // 경과 시간에 따라 단어 길이를 늘려 난이도 조절
-        int elapsed = 60_000 - timeMs;
+        int elapsed = MATCH_MS - timeMs;
         int minLen = 4 + Math.min(elapsed / 15_000, 3); // 0~3 → 4~7
         int maxLen = Math.min(minLen + 1, 8);
 
-        currentWord = randomWord(minLen, maxLen);
+        currentWordIndex = adaptive != null
+                ? adaptive.pick(minLen, maxLen, rnd)
+                : words.pickIndex(minLen, maxLen, rnd);
+        currentWord = words.word(currentWordIndex);
     }
 
-    private String randomWord(int minLen, int maxLen) {
-        String[] pool = {
-            "apple","note","river","korea","typing","banana","window","socket","orange","system",
-            "thread","packet","object","combo","vector","method","class","random","matrix","buffer",
-            "friend","music","guitar","soccer","player","winner","castle","dragon","danger","shield",
-            "future","simple","mobile","attack","defense","victory","balance","energy","memory","rocket",
-            "coffee","school","winter","summer","spring","autumn","family","forest","desert","thunder"
-        };
-
-        for (int i = 0; i < 100; i++) {
-            String w = pool[rnd.nextInt(pool.length)];
-            if (w.length() >= minLen && w.length() <= maxLen) {
-                return w;
-            }
-        }
-        return pool[rnd.nextInt(pool.length)];
+    String randomWord(int minLen, int maxLen) {
+        return words.pick(minLen, maxLen, rnd);
     }
 
     // ===== 아이템 발동 =====
-    public void usePowerGrip() {
-        if (!running) return;
-        long now = System.currentTimeMillis();
-        long dur = 5_000; // 5초
-        effects.powerGripUntil = Math.max(effects.powerGripUntil, now + dur);
-    }
-
-    public void useAnchor() {
-        if (!running) return;
-        long now = System.currentTimeMillis();
-        long dur = 3_000; // 3초
-        effects.anchorUntil = Math.max(effects.anchorUntil, now + dur);
-    }
-
-    public void useBlind() {
+    // 지속시간/중복 규칙은 EffectType에 있다 (게임 시계 틱 기준)
+    public void useItem(EffectType type) {
         if (!running) return;
-        long now = System.currentTimeMillis();
-        long dur = 3_000; // 3초
-        effects.blindUntil = Math.max(effects.blindUntil, now + dur);
+        if (effects.activate(type) && listener != null) listener.onItem(this, type);
     }
 }
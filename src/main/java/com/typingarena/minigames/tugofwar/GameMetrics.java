@@ -0,0 +1,80 @@
+package com.typingarena.minigames.tugofwar;
+
+import com.typingarena.common.metrics.Counter;
+import com.typingarena.common.metrics.LatencyHistogram;
+import com.typingarena.common.metrics.MetricRegistry;
+import com.typingarena.common.metrics.MetricsEndpoint;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 줄다리기 게임 루프 지표 (JVM 하나에 한 벌, 항상 켜져 있음).
+ *
+ * 기록은 화면 쪽(TugOfWarGame/RopePanel/ActiveRopeCanvas)과 게임 시계(SimulationClock)에서 한다.
+ * GameLogic 안에는 넣지 않는다: 시뮬레이터/서버/리플레이 검증이 같은 코드를
+ * 초당 수백만 번 돌리므로 틱마다 nanoTime 두 번도 비용이 크다.
+ *
+ * expose()는 JMX MBean을 등록하고, -Dtypingarena.metricsPort=포트 가 있으면
+ * 루프백 HTTP /metrics 엔드포인트도 연다.
+ */
+public final class GameMetrics {
+
+    public static final MetricRegistry REGISTRY = new MetricRegistry("typingarena");
+
+    static final LatencyHistogram TICK =
+            REGISTRY.histogram("tick_duration", "GameLogic.tick() 처리 시간");
+    static final LatencyHistogram PAINT =
+            REGISTRY.histogram("paint_duration", "경기장 한 프레임 그리는 시간");
+    static final LatencyHistogram INPUT_TO_HUD =
+            REGISTRY.histogram("input_to_hud", "답 제출 처리 시작부터 HUD/화면 갱신 요청까지");
+    static final LatencyHistogram SUBMIT =
+            REGISTRY.histogram("submit_answer", "GameLogic.submitAnswer() 처리 시간");
+    static final LatencyHistogram TICK_LAG =
+            REGISTRY.histogram("tick_lag", "틱 예정 시각부터 실제 처리 시작까지");
+
+    static final Counter ANSWERS_CORRECT =
+            REGISTRY.counter("answers_correct", "정답 수");
+    static final Counter ANSWERS_WRONG =
+            REGISTRY.counter("answers_wrong", "오답 수");
+    static final Counter TICKS_LATE =
+            REGISTRY.counter("ticks_late", "한 틱 이상 늦어서 몰아 돌린 틱 수");
+    static final Counter TICKS_MISSED =
+            REGISTRY.counter("ticks_missed", "너무 밀려서 (SimulationClock.MAX_CATCH_UP 넘게) 버린 틱 수");
+
+    // EffectType.getId() -> 카운터
+    private static final Counter[] ITEMS = new Counter[EffectType.idLimit()];
+
+    static {
+        for (EffectType t : EffectType.values()) {
+            ITEMS[t.getId()] = REGISTRY.counter("items", "아이템 발동 수", "item", t.getWireName());
+        }
+    }
+
+    private static MetricsEndpoint endpoint;
+    private static boolean exposed;
+
+    private GameMetrics() {
+    }
+
+    static void itemUsed(EffectType type) {
+        ITEMS[type.getId()].inc();
+    }
+
+    /** JMX 등록 + (설정 시) HTTP 엔드포인트. 여러 번 불러도 한 번만 한다 */
+    public static synchronized void expose() {
+        if (exposed) return;
+        exposed = true;
+        REGISTRY.registerMBeans();
+
+        Integer port = Integer.getInteger("typingarena.metricsPort");
+        if (port != null) {
+            try {
+                endpoint = MetricsEndpoint.start(REGISTRY, port);
+                System.out.println("metrics: http://127.0.0.1:" + endpoint.getPort() + "/metrics");
+            } catch (IOException e) {
+                throw new UncheckedIOException("지표 엔드포인트를 열 수 없음: " + port, e);
+            }
+        }
+    }
+}
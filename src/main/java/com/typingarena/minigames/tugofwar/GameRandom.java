@@ -0,0 +1,42 @@
+package com.typingarena.minigames.tugofwar;
+
+import java.util.Random;
+
+/**
+ * java.util.Random과 똑같은 수열을 내는 난수기. 대신 48비트 상태를 꺼내고 되돌릴 수 있다.
+ * (Random은 상태를 AtomicLong 안에 숨겨 두어 스냅샷을 뜰 수 없음)
+ *
+ * 같은 시드면 Random과 결과가 같으므로 기존 리플레이도 그대로 재생된다.
+ * 게임을 돌리는 스레드 하나에서만 쓴다 (동기화 없음).
+ */
+final class GameRandom extends Random {
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state; // Random 생성자가 setSeed()로 채우므로 초기값을 두지 않는다
+
+    GameRandom() {
+        super();
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    long getState() {
+        return state;
+    }
+
+    void setState(long state) {
+        this.state = state & MASK;
+    }
+}
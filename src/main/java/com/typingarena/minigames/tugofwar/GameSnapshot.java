@@ -0,0 +1,40 @@
+package com.typingarena.minigames.tugofwar;
+
+/**
+ * 화면용 불변 게임 상태 (SimulationClock -> EDT).
+ *
+ * HUD, 경기장(RopeView), 입력창(KeystrokeInput)은 GameLogic을 직접 읽지 않고 이것만 본다.
+ * 틱은 시계 스레드에서 돌기 때문에, 값을 락 안에서 한 번에 떠 두면 화면이 반쯤 바뀐 상태를 볼 일이 없다.
+ * (GameLogic.saveState()의 long 배열 스냅샷과는 별개. 그쪽은 되감기/재시뮬레이션용)
+ */
+final class GameSnapshot {
+
+    final long version;       // 만들어진 순서 (늦게 도착한 예전 상태는 버리기 위해)
+    final double pos;
+    final int score;
+    final int combo;
+    final int maxCombo;
+    final int timeMs;
+    final String word;
+    final int wordIndex;
+    final boolean running;
+    final boolean blind;
+    final String effectsText;
+    final String endReason;   // 경기가 끝났으면 끝난 사유, 아니면 null
+
+    /** GameLogic을 건드리는 스레드(또는 같은 락 안)에서 만든다 */
+    GameSnapshot(GameLogic logic, long version, String endReason) {
+        this.version = version;
+        this.pos = logic.getPos();
+        this.score = logic.getScore();
+        this.combo = logic.getCombo();
+        this.maxCombo = logic.getMaxCombo();
+        this.timeMs = logic.getTimeMs();
+        this.word = logic.getCurrentWord();
+        this.wordIndex = logic.getCurrentWordIndex();
+        this.running = logic.isRunning();
+        this.blind = logic.getEffects().isActive(EffectType.BLIND);
+        this.effectsText = logic.getEffects().describeEffects();
+        this.endReason = endReason;
+    }
+}
@@ -0,0 +1,150 @@
+package com.typingarena.minigames.tugofwar;
+
+import com.typingarena.common.Hangul;
+import com.typingarena.common.WordDictionary;
+
+/**
+ * 입력창 내용을 글자 배열로 따라가면서 목표 단어와 앞부분이 얼마나 맞는지 센다.
+ * 키 하나마다 String을 만들지 않고, 바뀐 위치부터만 다시 비교한다.
+ *
+ * 비교는 글자가 아니라 자모(Hangul) 단위로 한다. 한글 IME는 조합 중인 음절을
+ * 문서에 넣었다 바꿨다 하므로 ("ㅎ" -> "하" -> "한" -> "하나"), 글자로 비교하면
+ * 목표가 "하나"일 때 "한"이 틀린 것처럼 보인다. 자모로 풀면 ㅎㅏㄴ은 ㅎㅏㄴㅏ의 앞부분이다.
+ * 입력 쪽은 바뀐 글자만 다시 풀고, 목표 단어의 자모는 사전이 미리 풀어 둔 것을 복사해 온다.
+ *
+ * 비교 규칙은 GameLogic.submitAnswer()와 같다 (자모 단위, 영문 대소문자 무시, 앞뒤 공백 무시).
+ * Swing에 의존하지 않으며 EDT 한 스레드에서만 쓴다.
+ */
+final class InputMatcher {
+
+    // --- 입력 (문서 그대로) ---
+    private char[] buf = new char[64];
+    private int len;
+
+    // --- 입력을 푼 자모 ---
+    private char[] jamo = new char[64 * Hangul.MAX_JAMO];
+    private int[] jamoEnd = new int[64]; // buf[0..i]를 풀면 jamo[0 .. jamoEnd[i])
+    private int jamoLen;
+
+    // --- 목표 단어 ---
+    private String target = "";
+    private char[] targetJamo = new char[64];
+    private int targetLen;   // 자모 수
+
+    private int start;       // 앞쪽 공백을 건너뛴 첫 글자 위치
+    private int jamoStart;   // start 글자의 첫 자모 위치
+    private int matched;     // jamo[jamoStart..]가 targetJamo와 맞는 자모 수
+
+    /** 목표 단어가 바뀌면 처음부터 다시 비교 (사전 밖의 단어) */
+    void retarget(String word) {
+        if (word == target) return;
+        target = word;
+        ensureTarget(word.length() * Hangul.MAX_JAMO);
+        targetLen = Hangul.decompose(word, targetJamo, 0);
+        matched = 0;
+        rescan(0);
+    }
+
+    /** 사전 단어로 목표를 바꾼다 (미리 풀어 둔 자모를 복사만 함) */
+    void retarget(WordDictionary words, int index, String word) {
+        if (word == target) return;
+        if (index < 0) {
+            retarget(word);
+            return;
+        }
+        target = word;
+        ensureTarget(words.jamoLength(index));
+        targetLen = words.copyJamo(index, targetJamo, 0);
+        matched = 0;
+        rescan(0);
+    }
+
+    private void ensureTarget(int n) {
+        if (n > targetJamo.length) targetJamo = new char[Math.max(n, targetJamo.length * 2)];
+    }
+
+    void clear() {
+        len = 0;
+        jamoLen = 0;
+        start = 0;
+        jamoStart = 0;
+        matched = 0;
+    }
+
+    void insert(int offset, CharSequence text) {
+        int n = text.length();
+        if (n == 0) return;
+        if (len + n > buf.length) {
+            int cap = Math.max(buf.length * 2, len + n);
+            char[] grown = new char[cap];
+            System.arraycopy(buf, 0, grown, 0, len);
+            buf = grown;
+            int[] ends = new int[cap];
+            System.arraycopy(jamoEnd, 0, ends, 0, len);
+            jamoEnd = ends;
+            char[] j = new char[cap * Hangul.MAX_JAMO];
+            System.arraycopy(jamo, 0, j, 0, jamoLen);
+            jamo = j;
+        }
+        System.arraycopy(buf, offset, buf, offset + n, len - offset);
+        for (int i = 0; i < n; i++) buf[offset + i] = text.charAt(i);
+        len += n;
+        rescan(offset);
+    }
+
+    void remove(int offset, int length) {
+        if (length <= 0) return;
+        System.arraycopy(buf, offset + length, buf, offset, len - offset - length);
+        len -= length;
+        rescan(offset);
+    }
+
+    // offset 이후만 바뀌었으니 그 앞에서 이미 푼 자모와 맞은 자모는 다시 보지 않는다
+    private void rescan(int offset) {
+        // 1) offset부터 자모를 다시 푼다 (보통 마지막 한 글자)
+        int pos = offset == 0 ? 0 : jamoEnd[offset - 1];
+        for (int i = offset; i < len; i++) {
+            pos += Hangul.decompose(buf[i], jamo, pos);
+            jamoEnd[i] = pos;
+        }
+        jamoLen = pos;
+
+        // 2) 앞부분 일치 길이
+        if (offset <= start) {
+            start = 0;
+            while (start < len && Character.isWhitespace(buf[start])) start++;
+            jamoStart = start == 0 ? 0 : jamoEnd[start - 1];
+            matched = 0;
+        } else {
+            matched = Math.min(matched, jamoEnd[offset - 1] - jamoStart);
+        }
+        int max = Math.min(jamoLen - jamoStart, targetLen);
+        while (matched < max && jamo[jamoStart + matched] == targetJamo[matched]) {
+            matched++;
+        }
+    }
+
+    /** 지금까지 친 글자가 목표 단어의 앞부분과 어긋났는지 (뒤쪽 공백은 허용) */
+    boolean isMismatch() {
+        for (int i = jamoStart + matched; i < jamoLen; i++) {
+            if (matched < targetLen || !Character.isWhitespace(jamo[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** trim 후 목표 단어와 자모가 모두 같은지 */
+    boolean isComplete() {
+        return matched == targetLen && targetLen > 0 && !isMismatch();
+    }
+
+    /** 맞은 자모 수 (= 맞게 친 키 수) */
+    int getMatched() {
+        return matched;
+    }
+
+    int length() {
+        return len;
+    }
+}
@@ -0,0 +1,119 @@
+package com.typingarena.minigames.tugofwar;
+
+import com.typingarena.common.UiResources;
+import com.typingarena.common.WordDictionary;
+
+import javax.swing.*;
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DocumentFilter;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+
+/**
+ * 입력창에 키 단위 처리를 붙인다.
+ * - DocumentFilter: 문서가 바뀔 때마다 InputMatcher에 그대로 반영해 앞부분 일치를 바로 판정
+ *   (붙여넣기/삭제, 한글 IME 조합 중인 글자도 같은 경로). 어긋나면 글자색을 빨갛게 바꾼다.
+ * - KeyListener: keyTyped 시각과 이벤트 처리 지연을 KeystrokeLog에 기록
+ * - 자동 제출이 켜져 있으면 단어를 다 맞게 친 순간 엔터 없이 제출한다.
+ *
+ * 엔터로 제출하는 기존 ActionListener 경로는 그대로 둔다.
+ */
+final class KeystrokeInput extends DocumentFilter {
+
+    private static final Color MISS_FG = UiResources.color(200, 60, 60);
+
+    private final JTextField field;
+    private final Color okForeground;  // 원래 글자색
+    private final WordDictionary words;
+    private final Runnable onComplete; // 자동 제출 시 호출 (EDT)
+    private final InputMatcher matcher = new InputMatcher();
+    private final KeystrokeLog log = new KeystrokeLog();
+
+    private GameSnapshot target;       // 지금 쳐야 하는 단어 (EDT가 마지막으로 받은 상태)
+    private boolean autoSubmit;
+    private boolean submitQueued;
+    private boolean mismatchShown;
+
+    KeystrokeInput(JTextField field, WordDictionary words, GameSnapshot initial, Runnable onComplete) {
+        this.field = field;
+        this.words = words;
+        this.target = initial;
+        this.onComplete = onComplete;
+        this.okForeground = field.getForeground();
+        ((AbstractDocument) field.getDocument()).setDocumentFilter(this);
+        field.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyTyped(KeyEvent e) {
+                long lag = System.currentTimeMillis() - e.getWhen();
+                log.record(System.nanoTime(), (int) Math.max(0, Math.min(lag, Integer.MAX_VALUE)));
+            }
+        });
+    }
+
+    KeystrokeLog getLog() {
+        return log;
+    }
+
+    void setAutoSubmit(boolean on) {
+        autoSubmit = on;
+    }
+
+    /** 새 상태를 받을 때마다 호출해서 표시를 다시 맞춘다 (단어가 그대로면 할 일 없음) */
+    void retarget(GameSnapshot s) {
+        target = s;
+        matcher.retarget(words, s.wordIndex, s.word);
+        updateFeedback();
+    }
+
+    // ===== DocumentFilter =====
+
+    @Override
+    public void insertString(FilterBypass fb, int offset, String text, AttributeSet attr)
+            throws BadLocationException {
+        super.insertString(fb, offset, text, attr);
+        matcher.insert(offset, text);
+        changed();
+    }
+
+    @Override
+    public void remove(FilterBypass fb, int offset, int length) throws BadLocationException {
+        super.remove(fb, offset, length);
+        matcher.remove(offset, length);
+        changed();
+    }
+
+    @Override
+    public void replace(FilterBypass fb, int offset, int length, String text, AttributeSet attrs)
+            throws BadLocationException {
+        super.replace(fb, offset, length, text, attrs);
+        matcher.remove(offset, length);
+        if (text != null) matcher.insert(offset, text);
+        changed();
+    }
+
+    private void changed() {
+        matcher.retarget(words, target.wordIndex, target.word);
+        updateFeedback();
+
+        // 문서 변경 알림 중에는 setText()를 못 하므로 제출은 다음 이벤트로 미룬다
+        if (autoSubmit && target.running && !submitQueued && matcher.isComplete()) {
+            submitQueued = true;
+            SwingUtilities.invokeLater(() -> {
+                submitQueued = false;
+                if (matcher.isComplete()) onComplete.run();
+            });
+        }
+    }
+
+    // 색이 실제로 바뀔 때만 setForeground (매 키마다 다시 그리지 않도록)
+    private void updateFeedback() {
+        boolean miss = matcher.isMismatch();
+        if (miss != mismatchShown) {
+            mismatchShown = miss;
+            field.setForeground(miss ? MISS_FG : okForeground);
+        }
+    }
+}
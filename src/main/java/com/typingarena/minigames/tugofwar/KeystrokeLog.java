@@ -0,0 +1,119 @@
+package com.typingarena.minigames.tugofwar;
+
+import java.util.Arrays;
+
+/**
+ * 키 입력 시각을 고정 크기 원형 버퍼(long[])에 쌓는다. 키마다 객체를 만들지 않는다.
+ *
+ * - 키 간격: 최근 버퍼 안의 연속 두 키 사이 시간
+ * - 처리 지연: 키 이벤트 발생(KeyEvent.getWhen, ms) -> 리스너가 받기까지
+ * - WPM: 최근 window개 키 기준 (5타 = 1단어)
+ *
+ * EDT에서만 기록/조회한다.
+ */
+public final class KeystrokeLog {
+
+    private static final int CAPACITY = 1024; // 2의 거듭제곱 (mask로 인덱스 계산)
+    private static final int MASK = CAPACITY - 1;
+
+    private final long[] keyNanos = new long[CAPACITY];
+    private final int[] lagMs = new int[CAPACITY];
+    private long count;
+
+    private long lagSum;
+    private int lagMax;
+
+    /** 키 하나 기록 */
+    public void record(long nanos, int eventLagMs) {
+        int i = (int) (count & MASK);
+        keyNanos[i] = nanos;
+        lagMs[i] = eventLagMs;
+        count++;
+        lagSum += eventLagMs;
+        if (eventLagMs > lagMax) lagMax = eventLagMs;
+    }
+
+    public void reset() {
+        count = 0;
+        lagSum = 0;
+        lagMax = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // 버퍼에 남아 있는 키 수
+    private int retained() {
+        return (int) Math.min(count, CAPACITY);
+    }
+
+    /** 최근 window개 키 기준 분당 단어 수 */
+    public double wpm(int window) {
+        int n = Math.min(window, retained());
+        if (n < 2) return 0.0;
+        long last = keyNanos[(int) ((count - 1) & MASK)];
+        long first = keyNanos[(int) ((count - n) & MASK)];
+        long span = last - first;
+        if (span <= 0) return 0.0;
+        // n개 키 사이 간격은 n-1개
+        return (n - 1) / 5.0 * 60e9 / span;
+    }
+
+    /** 버퍼 안 키 간격 평균 (ms) */
+    public double avgIntervalMs() {
+        int n = retained();
+        if (n < 2) return 0.0;
+        long last = keyNanos[(int) ((count - 1) & MASK)];
+        long first = keyNanos[(int) ((count - n) & MASK)];
+        return (last - first) / 1e6 / (n - 1);
+    }
+
+    /** 버퍼 안 키 간격의 p 분위 (ms). 조회할 때만 정렬용 배열을 만든다 */
+    public double intervalPercentileMs(double p) {
+        int n = retained();
+        if (n < 2) return 0.0;
+        long[] d = new long[n - 1];
+        for (int k = 0; k < n - 1; k++) {
+            long a = keyNanos[(int) ((count - n + k) & MASK)];
+            long b = keyNanos[(int) ((count - n + k + 1) & MASK)];
+            d[k] = b - a;
+        }
+        Arrays.sort(d);
+        return d[(int) Math.min(d.length - 1, (long) (p * d.length))] / 1e6;
+    }
+
+    /** 버퍼 안 키 간격을 오래된 순서로 dst에 마이크로초로 쓰고 개수를 돌려준다 (KeystrokeAnalyzer 입력) */
+    public int intervalsMicros(int[] dst) {
+        int n = Math.min(retained(), dst.length + 1);
+        for (int k = 0; k < n - 1; k++) {
+            long a = keyNanos[(int) ((count - n + k) & MASK)];
+            long b = keyNanos[(int) ((count - n + k + 1) & MASK)];
+            dst[k] = (int) Math.min((b - a) / 1000, Integer.MAX_VALUE);
+        }
+        return Math.max(0, n - 1);
+    }
+
+    public static int capacity() {
+        return CAPACITY;
+    }
+
+    public double avgLagMs() {
+        return count == 0 ? 0.0 : lagSum / (double) count;
+    }
+
+    public int maxLagMs() {
+        return lagMax;
+    }
+
+    /** 최근 키의 처리 지연 (ms), 없으면 -1 */
+    public int lastLagMs() {
+        return count == 0 ? -1 : lagMs[(int) ((count - 1) & MASK)];
+    }
+
+    public String describe() {
+        if (count == 0) return "키 입력: 없음";
+        return String.format("키 입력: %d타 WPM %.0f 간격 평균 %.0fms p90 %.0fms 처리지연 평균 %.1fms 최대 %dms",
+                count, wpm(50), avgIntervalMs(), intervalPercentileMs(0.9), avgLagMs(), lagMax);
+    }
+}
@@ -2,7 +2,6 @@ package com.typingarena.minigames.tugofwar;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.AlphaComposite;
 
 /**
  * RopePanel
@@ -12,151 +11,86 @@ import java.awt.AlphaComposite;
  * 먹물(blind) 효과가 활성화된 경우,
  * 단어가 그려진 그 영역 위에만 반투명 검은 사각형을 씌워서 가린다.
  * (이게 "화면 중앙"이 아니라 "단어 출력 부분만 가려달라"는 요구사항 반영)
+ *
+ * 그리기 자체는 RopeRenderer가 맡고, 이 패널은 Swing repaint 방식으로 연결만 한다.
+ * - 틱/입력 때는 refresh()로 말판과 단어 영역만 다시 그린다 (플래시 중이면 전체).
+ * - 말판은 틱 단위(100ms)로 움직인다. 부드러운 이동이 필요하면 ActiveRopeCanvas.
  */
-public class RopePanel extends JPanel {
-
-    private final GameLogic logic;
+public class RopePanel extends JPanel implements RopeView {
 
-    // 정답/오답 순간 번쩍 (초록/빨강)
-    private Color flashColor = null;
-    private long flashUntil = 0L;
+    private GameSnapshot state; // EDT 전용
+    private final RopeRenderer renderer = new RopeRenderer(this);
+    private final FrameLatency latency = new FrameLatency();
 
-    // 아이템 사용 순간 번쩍 (파워그립/앵커/먹물 버튼 눌렀을 때)
-    private Color buffFlashColor = null;
-    private long buffFlashUntil = 0L;
+    private final Rectangle dirty = new Rectangle();
 
-    public RopePanel(GameLogic logic) {
-        this.logic = logic;
-        setBackground(new Color(245, 248, 252));
+    public RopePanel(GameSnapshot initial) {
+        this.state = initial;
+        setBackground(RopeRenderer.BG);
+        setOpaque(true);
     }
 
     @Override
     protected void paintComponent(Graphics g0) {
-        super.paintComponent(g0);
-        Graphics2D g = (Graphics2D) g0;
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        int w = getWidth();
-        int h = getHeight();
-        int centerY = h / 2;
-
-        double pos = logic.getPos();
-        ActiveEffects eff = logic.getEffects();
-
-        // 1) 왼/오른쪽 영역 & 중앙선
-        g.setColor(new Color(235, 242, 247));
-        g.fillRect(0, centerY - 60, w/2, 120);
-
-        g.setColor(new Color(225, 240, 235));
-        g.fillRect(w/2, centerY - 60, w/2, 120);
-
-        g.setColor(new Color(210, 220, 230));
-        g.fillRect(w/2 - 3, centerY - 120, 6, 240);
-
-        // 2) 밧줄
-        g.setStroke(new BasicStroke(8f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        g.setColor(new Color(120, 90, 60));
-        g.drawLine(60, centerY, w - 60, centerY);
-
-        // 3) 승리/패배 라인
-        g.setColor(new Color(200, 80, 80));
-        g.drawLine(60, centerY - 80, 60, centerY + 80);        // 왼쪽 (패배선)
-        g.setColor(new Color(80, 160, 80));
-        g.drawLine(w - 60, centerY - 80, w - 60, centerY + 80); // 오른쪽 (승리선)
-
-        // 4) "YOU" 말판
-        double rangePx = (w - 160) / 2.0;  // pos -100~100 -> 픽셀 변환
-        int markerX = (int)(w/2 + (pos / 100.0) * rangePx);
-        int markerY = centerY;
-
-        g.setColor(new Color(60, 120, 255));
-        g.fillOval(markerX - 16, markerY - 16, 32, 32);
-
-        g.setColor(Color.WHITE);
-        g.setFont(g.getFont().deriveFont(Font.BOLD, 14f));
-        drawCenteredString(g, "YOU", new Rectangle(markerX - 18, markerY - 32, 36, 14));
-
-        // 5) 현재 단어 텍스트 (로프 아래쪽에 크게)
-        String word = logic.getCurrentWord();
-        Font wordFont = g.getFont().deriveFont(Font.BOLD, 28f);
-        g.setFont(wordFont);
-
-        FontMetrics fmWord = g.getFontMetrics();
-        int wordWidth = fmWord.stringWidth(word);
-        int wordX = (w - wordWidth) / 2;
-        int wordBaseY = centerY + 140; // 말판 아래쪽에 배치
-
-        // 단어 글자 (밑에 먹물 깔기 전, 원래 텍스트)
-        g.setColor(new Color(30, 30, 30));
-        g.drawString(word, wordX, wordBaseY);
-
-        // 6) 먹물(blind) 효과가 활성화되면
-        // 단어가 표시되는 그 사각형만 까맣게 덮는다.
-        if (eff.isBlindActive()) {
-            int pad = 8;
-            int rectX = wordX - pad;
-            int rectY = wordBaseY - fmWord.getAscent() - pad;
-            int rectW = wordWidth + pad * 2;
-            int rectH = fmWord.getHeight() + pad * 2;
+        // repaint 요청은 EDT에서 처리되므로 입력 표시와 같은 스레드
+        latency.frameStart();
+        long t0 = System.nanoTime();
+        renderer.paint((Graphics2D) g0, getWidth(), getHeight(), state.pos, state.word, state.blind);
+        GameMetrics.PAINT.recordSince(t0);
+        latency.framePresented();
+    }
 
-            // 반투명 검은 박스
-            g.setColor(new Color(0, 0, 0, 180));
-            g.fillRoundRect(rectX, rectY, rectW, rectH, 16, 16);
+    @Override
+    public Component component() {
+        return this;
+    }
 
-            // "먹물!" 텍스트 표시
-            g.setColor(Color.WHITE);
-            g.setFont(g.getFont().deriveFont(Font.BOLD, 14f));
-            FontMetrics fm2 = g.getFontMetrics();
-            String blindMsg = "먹물!";
-            int msgW = fm2.stringWidth(blindMsg);
-            int msgX = rectX + (rectW - msgW) / 2;
-            int msgY = rectY + (rectH - fm2.getHeight()) / 2 + fm2.getAscent();
-            g.drawString(blindMsg, msgX, msgY);
-        }
+    @Override
+    public FrameLatency latency() {
+        return latency;
+    }
 
-        // 7) 정답/오답 플래시 (전체 화면 살짝 번쩍)
-        long now = System.currentTimeMillis();
-        if (flashColor != null && now < flashUntil) {
-            g.setColor(flashColor);
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.15f));
-            g.fillRect(0, 0, w, h);
-            g.setComposite(AlphaComposite.SrcOver);
+    /**
+     * 틱/입력 후 호출: 바뀔 수 있는 영역(말판, 단어)만 다시 그리도록 요청한다.
+     * 플래시가 켜져 있거나 방금 꺼졌으면 전체를 다시 그린다.
+     */
+    @Override
+    public void refresh(GameSnapshot s) {
+        state = s;
+        if (renderer.needsFullRepaint()) {
+            repaint();
+            return;
         }
+        int w = getWidth();
+        int h = getHeight();
 
-        // 8) 아이템 사용 순간 플래시
-        if (buffFlashColor != null && now < buffFlashUntil) {
-            g.setColor(buffFlashColor);
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.15f));
-            g.fillRect(0, 0, w, h);
-            g.setComposite(AlphaComposite.SrcOver);
-        }
-    }
+        repaint(renderer.lastMarker);
+        renderer.markerBounds(w, h, s.pos, dirty);
+        repaint(dirty);
 
-    private void drawCenteredString(Graphics2D g, String text, Rectangle rect) {
-        FontMetrics fm = g.getFontMetrics();
-        int x = rect.x + (rect.width - fm.stringWidth(text)) / 2;
-        int y = rect.y + ((rect.height - fm.getHeight()) / 2) + fm.getAscent();
-        g.drawString(text, x, y);
+        repaint(renderer.lastWord);
+        renderer.wordBounds(w, h, s.word, dirty);
+        repaint(dirty);
     }
 
     // 정답 시 (초록 번쩍)
+    @Override
     public void flashRight() {
-        flashColor = new Color(50, 200, 120);
-        flashUntil = System.currentTimeMillis() + 120;
+        renderer.flashRight();
         repaint();
     }
 
     // 오답 시 (빨강 번쩍)
+    @Override
     public void flashLeft() {
-        flashColor = new Color(220, 80, 80);
-        flashUntil = System.currentTimeMillis() + 120;
+        renderer.flashLeft();
         repaint();
     }
 
     // 아이템 눌렀을 때 (파워그립/앵커/먹물 버튼)
+    @Override
     public void flashBuffColor(Color c) {
-        buffFlashColor = c;
-        buffFlashUntil = System.currentTimeMillis() + 200;
+        renderer.flashBuff(c);
         repaint();
     }
 }
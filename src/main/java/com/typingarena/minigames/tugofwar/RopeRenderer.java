@@ -0,0 +1,263 @@
+package com.typingarena.minigames.tugofwar;
+
+import com.typingarena.common.UiResources;
+
+import java.awt.*;
+import java.awt.AlphaComposite;
+import java.awt.image.BufferedImage;
+
+/**
+ * 경기장 그리기 전담.
+ * RopePanel(Swing repaint 방식)과 ActiveRopeCanvas(능동 렌더링 방식)가 같이 쓴다.
+ *
+ * - 배경/밧줄/승패 라인은 staticLayer 이미지에 한 번 그려 두고 크기가 바뀔 때만 다시 만든다.
+ * - 색/선/폰트는 상수나 캐시로 두고 프레임마다 새로 만들지 않는다.
+ * - 그릴 값(pos, 단어, 먹물 여부)은 인자로 받는다. GameLogic을 직접 읽지 않으므로
+ *   EDT가 아닌 렌더 스레드에서도 쓸 수 있다. (한 인스턴스는 한 스레드에서만 그릴 것)
+ */
+final class RopeRenderer {
+
+    // --- 색/선 (프레임마다 new 하지 않도록 상수) ---
+    static final Color BG                  = UiResources.color(245, 248, 252);
+    private static final Color LEFT_ZONE   = UiResources.color(235, 242, 247);
+    private static final Color RIGHT_ZONE  = UiResources.color(225, 240, 235);
+    private static final Color CENTER_LINE = UiResources.color(210, 220, 230);
+    private static final Color ROPE        = UiResources.color(120, 90, 60);
+    private static final Color LOSE_LINE   = UiResources.color(200, 80, 80);
+    private static final Color WIN_LINE    = UiResources.color(80, 160, 80);
+    private static final Color MARKER      = UiResources.color(60, 120, 255);
+    private static final Color WORD        = UiResources.color(30, 30, 30);
+    private static final Color INK         = UiResources.color(0, 0, 0, 180);
+    private static final Color FLASH_RIGHT = UiResources.color(50, 200, 120);
+    private static final Color FLASH_LEFT  = UiResources.color(220, 80, 80);
+
+    private static final BasicStroke ROPE_STROKE =
+            new BasicStroke(8f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final AlphaComposite FLASH_ALPHA =
+            AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.15f);
+
+    private static final String BLIND_MSG = "먹물!";
+    private static final int WORD_PAD = 8;
+
+    private final Component host; // 폰트/그래픽 설정을 얻어 올 컴포넌트
+
+    // 정답/오답 순간 번쩍 (초록/빨강) - EDT에서 쓰고 렌더 스레드에서 읽을 수 있음
+    private volatile Color flashColor = null;
+    private volatile long flashUntil = 0L;
+
+    // 아이템 사용 순간 번쩍 (파워그립/앵커/먹물 버튼 눌렀을 때)
+    private volatile Color buffFlashColor = null;
+    private volatile long buffFlashUntil = 0L;
+
+    // --- 캐시 ---
+    private BufferedImage staticLayer;   // 배경 레이어 (크기 바뀔 때만 다시 그림)
+    private Font baseFont;               // 아래 폰트들을 만든 기준 폰트
+    private Font markerFont;
+    private Font wordFont;
+    private FontMetrics wordMetrics;
+    private String measuredWord;         // wordWidth를 잰 단어 (참조 비교)
+    private int wordWidth;
+
+    // 직전 프레임에서 그린 영역 (부분 다시 그리기용)
+    final Rectangle lastMarker = new Rectangle();
+    final Rectangle lastWord = new Rectangle();
+    private boolean overlayDrawn;
+
+    RopeRenderer(Component host) {
+        this.host = host;
+    }
+
+    void paint(Graphics2D g, int w, int h, double pos, String word, boolean blind) {
+        int centerY = h / 2;
+
+        // 1~3) 배경, 밧줄, 승리/패배 라인: 캐시된 이미지 한 장
+        g.drawImage(staticLayer(w, h), 0, 0, null);
+
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        ensureFonts();
+
+        // 4) "YOU" 말판
+        int markerX = markerX(w, pos);
+        int markerY = centerY;
+
+        g.setColor(MARKER);
+        g.fillOval(markerX - 16, markerY - 16, 32, 32);
+
+        g.setColor(Color.WHITE);
+        g.setFont(markerFont);
+        drawCenteredString(g, "YOU", markerX - 18, markerY - 32, 36, 14);
+        markerBounds(w, h, pos, lastMarker);
+
+        // 5) 현재 단어 텍스트 (로프 아래쪽에 크게)
+        g.setFont(wordFont);
+        int wordW = wordWidth(word);
+        int wordX = (w - wordW) / 2;
+        int wordBaseY = centerY + 140; // 말판 아래쪽에 배치
+
+        // 단어 글자 (밑에 먹물 깔기 전, 원래 텍스트)
+        g.setColor(WORD);
+        g.drawString(word, wordX, wordBaseY);
+        wordBounds(w, h, word, lastWord);
+
+        // 6) 먹물(blind) 효과가 활성화되면
+        // 단어가 표시되는 그 사각형만 까맣게 덮는다.
+        if (blind) {
+            int rectX = wordX - WORD_PAD;
+            int rectY = wordBaseY - wordMetrics.getAscent() - WORD_PAD;
+            int rectW = wordW + WORD_PAD * 2;
+            int rectH = wordMetrics.getHeight() + WORD_PAD * 2;
+
+            // 반투명 검은 박스
+            g.setColor(INK);
+            g.fillRoundRect(rectX, rectY, rectW, rectH, 16, 16);
+
+            // "먹물!" 텍스트 표시
+            g.setColor(Color.WHITE);
+            g.setFont(markerFont);
+            FontMetrics fm2 = g.getFontMetrics();
+            int msgW = fm2.stringWidth(BLIND_MSG);
+            int msgX = rectX + (rectW - msgW) / 2;
+            int msgY = rectY + (rectH - fm2.getHeight()) / 2 + fm2.getAscent();
+            g.drawString(BLIND_MSG, msgX, msgY);
+        }
+
+        // 7) 정답/오답 플래시 (전체 화면 살짝 번쩍)
+        long now = System.currentTimeMillis();
+        boolean overlay = false;
+        Color fc = flashColor;
+        if (fc != null && now < flashUntil) {
+            g.setColor(fc);
+            g.setComposite(FLASH_ALPHA);
+            g.fillRect(0, 0, w, h);
+            g.setComposite(AlphaComposite.SrcOver);
+            overlay = true;
+        }
+
+        // 8) 아이템 사용 순간 플래시
+        Color bc = buffFlashColor;
+        if (bc != null && now < buffFlashUntil) {
+            g.setColor(bc);
+            g.setComposite(FLASH_ALPHA);
+            g.fillRect(0, 0, w, h);
+            g.setComposite(AlphaComposite.SrcOver);
+            overlay = true;
+        }
+        overlayDrawn = overlay;
+    }
+
+    /** 플래시가 켜져 있거나 방금 꺼져서 전체를 다시 그려야 하는지 */
+    boolean needsFullRepaint() {
+        long now = System.currentTimeMillis();
+        return wordMetrics == null || overlayDrawn || now < flashUntil || now < buffFlashUntil;
+    }
+
+    // 배경 레이어: 크기가 같으면 그대로, 다르면 새로 그림
+    private BufferedImage staticLayer(int w, int h) {
+        if (staticLayer != null && staticLayer.getWidth() == w && staticLayer.getHeight() == h) {
+            return staticLayer;
+        }
+        GraphicsConfiguration gc = host.getGraphicsConfiguration();
+        BufferedImage img = gc != null
+                ? gc.createCompatibleImage(Math.max(w, 1), Math.max(h, 1), Transparency.OPAQUE)
+                : new BufferedImage(Math.max(w, 1), Math.max(h, 1), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            int centerY = h / 2;
+
+            g.setColor(BG);
+            g.fillRect(0, 0, w, h);
+
+            // 1) 왼/오른쪽 영역 & 중앙선
+            g.setColor(LEFT_ZONE);
+            g.fillRect(0, centerY - 60, w/2, 120);
+
+            g.setColor(RIGHT_ZONE);
+            g.fillRect(w/2, centerY - 60, w/2, 120);
+
+            g.setColor(CENTER_LINE);
+            g.fillRect(w/2 - 3, centerY - 120, 6, 240);
+
+            // 2) 밧줄
+            g.setStroke(ROPE_STROKE);
+            g.setColor(ROPE);
+            g.drawLine(60, centerY, w - 60, centerY);
+
+            // 3) 승리/패배 라인
+            g.setColor(LOSE_LINE);
+            g.drawLine(60, centerY - 80, 60, centerY + 80);        // 왼쪽 (패배선)
+            g.setColor(WIN_LINE);
+            g.drawLine(w - 60, centerY - 80, w - 60, centerY + 80); // 오른쪽 (승리선)
+        } finally {
+            g.dispose();
+        }
+        staticLayer = img;
+        return img;
+    }
+
+    // 컴포넌트 폰트가 바뀌었을 때만 파생 폰트를 다시 만든다
+    private void ensureFonts() {
+        Font f = host.getFont();
+        if (f == null) f = new Font(Font.DIALOG, Font.PLAIN, 12); // Canvas는 부모가 없으면 null
+        if (f.equals(baseFont)) return;
+        baseFont = f;
+        markerFont = UiResources.font(f, Font.BOLD, 14f);
+        wordFont = UiResources.font(f, Font.BOLD, 28f);
+        wordMetrics = host.getFontMetrics(wordFont);
+        measuredWord = null;
+    }
+
+    // 단어가 바뀔 때만 폭을 다시 잰다
+    private int wordWidth(String word) {
+        if (word != measuredWord) {
+            measuredWord = word;
+            wordWidth = wordMetrics.stringWidth(word);
+        }
+        return wordWidth;
+    }
+
+    // pos -100~100 -> 픽셀 변환
+    private static int markerX(int w, double pos) {
+        double rangePx = (w - 160) / 2.0;
+        return (int)(w/2 + (pos / 100.0) * rangePx);
+    }
+
+    // 말판 + "YOU" 글자가 차지하는 영역
+    void markerBounds(int w, int h, double pos, Rectangle out) {
+        out.setBounds(markerX(w, pos) - 20, h / 2 - 34, 40, 52);
+    }
+
+    // 단어 + 먹물 박스가 차지하는 영역 (paint()가 한 번은 불린 뒤에만)
+    void wordBounds(int w, int h, String word, Rectangle out) {
+        int wordW = wordWidth(word);
+        int wordX = (w - wordW) / 2;
+        int wordBaseY = h / 2 + 140;
+        out.setBounds(wordX - WORD_PAD - 2, wordBaseY - wordMetrics.getAscent() - WORD_PAD - 2,
+                wordW + WORD_PAD * 2 + 4, wordMetrics.getHeight() + WORD_PAD * 2 + 4);
+    }
+
+    private void drawCenteredString(Graphics2D g, String text, int rx, int ry, int rw, int rh) {
+        FontMetrics fm = g.getFontMetrics();
+        int x = rx + (rw - fm.stringWidth(text)) / 2;
+        int y = ry + ((rh - fm.getHeight()) / 2) + fm.getAscent();
+        g.drawString(text, x, y);
+    }
+
+    // 정답 시 (초록 번쩍)
+    void flashRight() {
+        flashColor = FLASH_RIGHT;
+        flashUntil = System.currentTimeMillis() + 120;
+    }
+
+    // 오답 시 (빨강 번쩍)
+    void flashLeft() {
+        flashColor = FLASH_LEFT;
+        flashUntil = System.currentTimeMillis() + 120;
+    }
+
+    // 아이템 눌렀을 때 (파워그립/앵커/먹물 버튼)
+    void flashBuff(Color c) {
+        buffFlashColor = c;
+        buffFlashUntil = System.currentTimeMillis() + 200;
+    }
+}
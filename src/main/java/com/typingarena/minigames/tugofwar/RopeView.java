@@ -0,0 +1,29 @@
+package com.typingarena.minigames.tugofwar;
+
+import java.awt.Color;
+import java.awt.Component;
+
+/**
+ * 경기장 화면. TugOfWarGame은 이 인터페이스로만 화면을 건드린다.
+ * - RopePanel: Swing repaint 방식 (기본)
+ * - ActiveRopeCanvas: BufferStrategy 능동 렌더링 (-Dtypingarena.activeRender=true)
+ *
+ * 모든 메서드는 EDT에서 호출한다.
+ */
+public interface RopeView {
+
+    /** 레이아웃에 붙일 컴포넌트 */
+    Component component();
+
+    /** 틱/입력/아이템으로 상태가 바뀐 뒤 새 상태로 호출 */
+    void refresh(GameSnapshot state);
+
+    void flashRight();
+
+    void flashLeft();
+
+    void flashBuffColor(Color c);
+
+    /** 입력 -> 화면 반영 지연 측정 */
+    FrameLatency latency();
+}
@@ -0,0 +1,154 @@
+package com.typingarena.minigames.tugofwar;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 게임 시계: 전용 스레드가 System.nanoTime() 누적으로 GameLogic.tick()을 TICK_MS마다 한 번씩 부른다.
+ *
+ * Swing Timer는 EDT에서 돌아서 그리기가 밀리거나 모달 JOptionPane이 떠 있으면 틱이 늦거나
+ * 합쳐졌고, 그만큼 실제 경기 길이가 늘어났다. 여기서는
+ * - n번째 틱 예정 시각을 시작 시각 + n * TICK_MS로 잡는다 (지난 틱이 늦어도 오차가 쌓이지 않음)
+ * - 늦게 깨어나면 밀린 틱을 바로 몰아서 돌려 따라잡는다. MAX_CATCH_UP보다 많이 밀렸으면
+ *   (절전 복귀 등) 나머지는 버리고 기준을 다시 잡는다.
+ * - 돌린 뒤에는 GameSnapshot 하나를 EDT로 넘긴다. EDT가 바쁘면 최신 것 하나로 합쳐진다.
+ *
+ * GameLogic은 LOCK 하나로 보호한다. 틱은 시계 스레드, 시작/답 제출/아이템은 EDT에서
+ * 이 클래스를 거쳐서만 건드리고, 리스너(리플레이/통계)도 그 안에서 불린다.
+ * 락이 창마다가 아니라 하나인 것은 예전(EDT 하나)처럼 창끼리 공유하는 것
+ * (적응형 단어 선택기)을 한 번에 한 스레드만 건드리게 하려는 것.
+ *
+ * 지표: tick_lag(예정 시각부터 실제 처리까지), ticks_late(한 틱 이상 늦어서 몰아 돌린 틱),
+ * ticks_missed(너무 밀려서 버린 틱)
+ */
+final class SimulationClock implements AutoCloseable {
+
+    static final long STEP_NANOS = GameLogic.TICK_MS * 1_000_000L;
+    static final int MAX_CATCH_UP = 10; // 1초 분량까지는 따라잡는다
+
+    private static final Object LOCK = new Object();
+
+    private final GameLogic logic;
+    private final Consumer<GameSnapshot> onSnapshot; // EDT에서 호출
+    private final AtomicReference<GameSnapshot> pending = new AtomicReference<>();
+    private final Runnable deliver = this::deliver;
+
+    // LOCK 안에서만
+    private long version;
+    private String endReason; // 이번 경기가 끝났으면 사유 (다음 시작까지 스냅샷마다 붙임)
+
+    private volatile Thread thread; // 지금 경기를 돌리는 시계 스레드
+
+    SimulationClock(GameLogic logic, Consumer<GameSnapshot> onSnapshot) {
+        this.logic = logic;
+        this.onSnapshot = onSnapshot;
+    }
+
+    /** 새 경기를 시작하고 시계를 돌린다 (EDT). 시작 직후 상태를 돌려준다 */
+    GameSnapshot startGame() {
+        stop();
+        GameSnapshot s;
+        synchronized (LOCK) {
+            logic.startGame();
+            endReason = null;
+            s = new GameSnapshot(logic, ++version, null);
+        }
+        Thread t = new Thread(this::run, "game-clock");
+        t.setDaemon(true);
+        thread = t;
+        t.start();
+        return s;
+    }
+
+    boolean submitAnswer(String typed) {
+        synchronized (LOCK) {
+            return logic.submitAnswer(typed);
+        }
+    }
+
+    /** 아이템 발동. 경기 중이었으면 true */
+    boolean useItem(EffectType type) {
+        synchronized (LOCK) {
+            boolean running = logic.isRunning();
+            logic.useItem(type);
+            return running;
+        }
+    }
+
+    /** 지금 상태 (입력 직후 EDT에서 바로 화면에 반영할 때) */
+    GameSnapshot snapshot() {
+        synchronized (LOCK) {
+            return new GameSnapshot(logic, ++version, endReason);
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private void stop() {
+        Thread t = thread;
+        thread = null;
+        if (t != null) {
+            LockSupport.unpark(t);
+            try {
+                t.join(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ===== 시계 스레드 =====
+
+    private void run() {
+        Thread me = Thread.currentThread();
+        long next = System.nanoTime() + STEP_NANOS; // 다음 틱 예정 시각
+        while (thread == me) {
+            long wait;
+            while (thread == me && (wait = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (thread != me) return;
+
+            // 예정 시각이 지난 틱 수 (제때 깨어났으면 1)
+            long due = (System.nanoTime() - next) / STEP_NANOS + 1;
+            if (due > MAX_CATCH_UP) {
+                GameMetrics.TICKS_MISSED.add(due - MAX_CATCH_UP);
+                next += (due - MAX_CATCH_UP) * STEP_NANOS;
+                due = MAX_CATCH_UP;
+            }
+
+            GameSnapshot s;
+            synchronized (LOCK) {
+                if (thread != me) return; // 기다리는 사이 새 경기가 시작됨
+                String result = null;
+                for (long i = 0; i < due && result == null; i++) {
+                    long t0 = System.nanoTime();
+                    GameMetrics.TICK_LAG.record(t0 - next);
+                    if (t0 - next >= STEP_NANOS) GameMetrics.TICKS_LATE.inc();
+                    result = logic.tick(); // null이면 계속, 문자열이면 게임 끝 사유
+                    GameMetrics.TICK.recordSince(t0);
+                    next += STEP_NANOS;
+                }
+                if (result != null) endReason = result;
+                s = new GameSnapshot(logic, ++version, endReason);
+            }
+            publish(s);
+            if (s.endReason != null) return; // 경기 끝: 다음 startGame()이 새 스레드로
+        }
+    }
+
+    // 최신 것 하나만 EDT로 (이미 하나 기다리고 있으면 바꿔 끼우기만)
+    private void publish(GameSnapshot s) {
+        if (pending.getAndSet(s) == null) SwingUtilities.invokeLater(deliver);
+    }
+
+    private void deliver() {
+        GameSnapshot s = pending.getAndSet(null);
+        if (s != null) onSnapshot.accept(s);
+    }
+}
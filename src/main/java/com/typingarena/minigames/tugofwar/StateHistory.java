@@ -0,0 +1,201 @@
+package com.typingarena.minigames.tugofwar;
+
+import java.util.Arrays;
+
+/**
+ * 클라이언트 예측용 되감기 버퍼.
+ * 최근 틱들의 GameLogic 스냅샷과 그 사이에 넣은 입력(답/아이템)을 미리 잡아 둔 링에 보관하고,
+ * 아무 틱으로 되돌린 뒤 기록된 입력으로 지금 틱까지 다시 돌릴 수 있다.
+ *
+ * 흐름:
+ * - start() / tick() / submitAnswer() / useItem()으로 GameLogic을 대신 돌린다.
+ *   틱 t 스냅샷 = t번째 tick()이 끝난 직후 상태, 틱 t 입력 = 그 다음 tick() 전까지 넣은 입력.
+ * - 서버 상태가 도착하면 correct(t, 상태)로 틱 t를 바꿔 끼우고 지금 틱까지 다시 시뮬레이션한다.
+ *   예측이 맞았으면 결과가 같고, 틀렸으면 화면은 다음 refresh()에서 새 위치로 보간된다.
+ *
+ * 되감기/재시뮬레이션은 배열 복사와 GameLogic 호출뿐이라 할당이 없다.
+ * 재시뮬레이션 중에는 리스너(리플레이 기록 등)를 떼어 두어 같은 사건이 두 번 기록되지 않게 한다.
+ * 게임을 돌리는 스레드 하나에서만 쓴다.
+ */
+public final class StateHistory {
+
+    private final GameLogic logic;
+    private final int stride = GameLogic.STATE_LONGS;
+
+    // --- 스냅샷 링 (틱 t -> t & tickMask 칸) ---
+    private final int tickMask;
+    private final long[] states;
+    private final long[] stateTick; // 칸마다 들어 있는 틱 번호 (-1 = 비어 있음)
+
+    // --- 입력 링 (순서대로 추가, 오래된 것부터 덮어씀) ---
+    private final int inputMask;
+    private final long[] inputTick;
+    private final Object[] inputs;  // String(제출한 답) 또는 EffectType
+    private long inputCount;        // 지금까지 넣은 입력 수
+
+    private long tick = -1;         // 마지막으로 저장한 틱 (start 전 -1)
+    private int resimulated;        // 재시뮬레이션한 틱 수 (통계)
+
+    /**
+     * @param ticks 보관할 틱 수 (2의 거듭제곱으로 올림)
+     * @param inputsPerTick 틱당 평균 입력 수 예상치 (입력 링 크기 = ticks * 이 값)
+     */
+    public StateHistory(GameLogic logic, int ticks, int inputsPerTick) {
+        this.logic = logic;
+        int n = pow2(ticks);
+        this.tickMask = n - 1;
+        this.states = new long[n * stride];
+        this.stateTick = new long[n];
+        Arrays.fill(stateTick, -1L);
+
+        int m = pow2(n * Math.max(1, inputsPerTick));
+        this.inputMask = m - 1;
+        this.inputTick = new long[m];
+        this.inputs = new Object[m];
+    }
+
+    private static int pow2(int n) {
+        return Integer.highestOneBit(Math.max(2, n) - 1) << 1;
+    }
+
+    // ===== 게임 진행 (GameLogic 대신 호출) =====
+
+    public void start(long matchSeed) {
+        if (logic.getAdaptiveWords() != null) {
+            // 단어 가중치는 스냅샷에 없어서 다시 돌리면 다른 단어가 나온다
+            throw new IllegalStateException("적응형 단어 선택 중에는 되감기를 쓸 수 없음");
+        }
+        if (logic.getOpponent() != null) {
+            // 봇 상태(난수, 치는 단어, 남은 시간)도 스냅샷에 없어서 다시 돌리면 봇이 다르게 당긴다
+            throw new IllegalStateException("봇 상대 중에는 되감기를 쓸 수 없음");
+        }
+        logic.startGame(matchSeed);
+        Arrays.fill(stateTick, -1L);
+        Arrays.fill(inputs, null);
+        inputCount = 0;
+        tick = 0;
+        save(0);
+    }
+
+    public String tick() {
+        String result = logic.tick();
+        save(++tick);
+        return result;
+    }
+
+    public boolean submitAnswer(String typed) {
+        record(typed);
+        return logic.submitAnswer(typed);
+    }
+
+    public void useItem(EffectType type) {
+        record(type);
+        logic.useItem(type);
+    }
+
+    private void record(Object input) {
+        int i = (int) (inputCount++ & inputMask);
+        inputTick[i] = tick;
+        inputs[i] = input;
+    }
+
+    private void save(long t) {
+        int slot = (int) (t & tickMask);
+        logic.saveState(states, slot * stride);
+        stateTick[slot] = t;
+    }
+
+    // ===== 되감기 =====
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getResimulatedTicks() {
+        return resimulated;
+    }
+
+    /** 틱 t의 스냅샷이 아직 링에 있는지 */
+    public boolean hasState(long t) {
+        return t >= 0 && stateTick[(int) (t & tickMask)] == t;
+    }
+
+    /** 틱 t 스냅샷을 dst[off..]에 복사 (없으면 false) */
+    public boolean copyState(long t, long[] dst, int off) {
+        if (!hasState(t)) return false;
+        System.arraycopy(states, (int) (t & tickMask) * stride, dst, off, stride);
+        return true;
+    }
+
+    /**
+     * 틱 t 상태로 되돌리기만 한다 (그 뒤 기록은 남아 있음, 보기/디버그용).
+     * 다시 지금으로 오려면 resimulate(t).
+     */
+    public boolean restore(long t) {
+        if (!hasState(t)) return false;
+        logic.loadState(states, (int) (t & tickMask) * stride);
+        return true;
+    }
+
+    /**
+     * 틱 from으로 되돌린 뒤 기록된 입력으로 지금 틱까지 다시 돌린다.
+     * 그 사이 스냅샷도 새 결과로 바뀐다. 스냅샷이나 입력이 이미 링에서 밀려났으면 false (상태는 그대로).
+     */
+    public boolean resimulate(long from) {
+        if (from > tick || !hasState(from)) return false;
+        long first = firstInputAt(from);
+        if (first < 0) return false;
+
+        GameListener saved = logic.getListener();
+        logic.setListener(null);
+        try {
+            logic.loadState(states, (int) (from & tickMask) * stride);
+            long next = first;
+            for (long t = from; ; t++) {
+                // 틱 t 동안 넣은 입력
+                while (next < inputCount && inputTick[(int) (next & inputMask)] == t) {
+                    apply(inputs[(int) (next & inputMask)]);
+                    next++;
+                }
+                if (t == tick) break;
+                logic.tick();
+                save(t + 1);
+                resimulated++;
+            }
+        } finally {
+            logic.setListener(saved);
+        }
+        return true;
+    }
+
+    /**
+     * 서버가 확정한 틱 t 상태(GameLogic.saveState 형식)로 바꿔 끼우고 지금 틱까지 다시 돌린다.
+     * t가 이미 링 밖이면 false.
+     */
+    public boolean correct(long t, long[] authoritative, int off) {
+        if (!hasState(t)) return false;
+        System.arraycopy(authoritative, off, states, (int) (t & tickMask) * stride, stride);
+        return resimulate(t);
+    }
+
+    private void apply(Object input) {
+        if (input instanceof String) {
+            logic.submitAnswer((String) input);
+        } else {
+            logic.useItem((EffectType) input);
+        }
+    }
+
+    // 틱 from 이후 첫 입력의 순번 (입력이 없으면 inputCount). 이미 덮어쓴 입력이 필요하면 -1
+    private long firstInputAt(long from) {
+        long oldest = Math.max(0, inputCount - inputs.length);
+        long i = inputCount;
+        while (i > oldest && inputTick[(int) ((i - 1) & inputMask)] >= from) {
+            i--;
+        }
+        if (i == oldest && oldest > 0) {
+            return -1; // 남은 입력이 전부 from 이후라 그보다 앞에 밀려난 입력이 빠졌을 수 있음
+        }
+        return i;
+    }
+}
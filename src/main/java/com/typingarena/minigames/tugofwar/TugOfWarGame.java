@@ -1,24 +1,65 @@
 package com.typingarena.minigames.tugofwar;
 
+import com.typingarena.analytics.AnalyticsListener;
+import com.typingarena.analytics.KeystrokeAnalyzer;
+import com.typingarena.analytics.TypingAnalytics;
+import com.typingarena.common.AdaptiveWordSampler;
+import com.typingarena.common.UiResources;
+import com.typingarena.common.WordDictionary;
+import com.typingarena.leaderboard.Leaderboard;
+import com.typingarena.leaderboard.MatchRecord;
+import com.typingarena.minigames.tugofwar.bot.BotLevel;
+import com.typingarena.minigames.tugofwar.bot.TypistBots;
+import com.typingarena.minigames.tugofwar.replay.ReplayWriter;
+
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
 
 /**
  * TugOfWarGame
- * - JFrame + HUD + 입력창 + 아이템 버튼 + Swing Timer 연결만 담당.
- * - 실제 게임 규칙/상태는 GameLogic,
- *   실제 그리기는 RopePanel이 맡는다.
+ * - JFrame + HUD + 입력창 + 아이템 버튼 연결만 담당.
+ * - 실제 게임 규칙/상태는 GameLogic, 틱은 SimulationClock(전용 스레드),
+ *   실제 그리기는 RopeView(RopePanel 또는 ActiveRopeCanvas)가 맡는다.
+ * - 화면은 GameLogic을 직접 읽지 않고 GameSnapshot만 받아서 그린다 (show()).
  *
  * 흐름:
- *  1) 시작 버튼 -> logic.startGame() -> gameTimer.start()
- *  2) 100ms마다 gameTimer -> logic.tick() -> HUD 갱신 -> RopePanel.repaint()
- *  3) 플레이어가 엔터 -> logic.submitAnswer() -> flashRight/flashLeft()
- *  4) 아이템 버튼 -> logic.usePowerGrip()/useAnchor()/useBlind()
+ *  1) 시작 버튼 -> clock.startGame() (logic.startGame() + 시계 스레드 시작)
+ *  2) 100ms마다 시계 스레드 -> logic.tick() -> 스냅샷 -> EDT에서 show() -> HUD/ropeView 갱신
+ *  3) 플레이어가 엔터(또는 자동 제출) -> clock.submitAnswer() -> flashRight/flashLeft() -> show()
+ *     키 하나하나는 KeystrokeInput이 받아 앞부분 일치를 바로 표시하고 입력 시각을 기록
+ *  4) 아이템 버튼 -> clock.useItem(EffectType.*)
+ *  5) 끝난 상태의 스냅샷이 오면 결과 처리 (시계 스레드는 이미 멈춤).
+ *     키 간격을 KeystrokeAnalyzer에 넘기고, 판정이 오면 결과창 + 리더보드 기록
+ *     (매크로/봇으로 의심되면 리더보드에 남기지 않음)
+ *
+ * -Dtypingarena.activeRender=true 로 실행하면 경기장을 능동 렌더링(ActiveRopeCanvas)으로
+ * 그린다. -Dtypingarena.matchReport=true 를 같이 주면 경기가 끝날 때마다 입력->화면 지연
+ * (과 키 간격/처리 지연, 타이핑 통계, 입력 검사 판정)을 콘솔에 찍으니 두 방식을 비교할 수 있다.
  */
 public class TugOfWarGame extends JFrame {
 
+    // 아이템 버튼 플래시 색
+    private static final Color POWER_GRIP_FLASH = UiResources.color(80, 160, 255);
+    private static final Color ANCHOR_FLASH     = UiResources.color(80, 200, 120);
+    private static final Color BLIND_FLASH      = UiResources.color(30, 30, 30);
+
+    // -Dtypingarena.matchReport=true 면 경기가 끝날 때마다 측정값을 콘솔에 찍는다 (기본은 조용히)
+    private static final boolean MATCH_REPORT = Boolean.getBoolean("typingarena.matchReport");
+
     private final GameLogic logic = new GameLogic();
-    private final RopePanel ropePanel = new RopePanel(logic);
+    private final SimulationClock clock = new SimulationClock(logic, this::show);
+    private GameSnapshot shown = new GameSnapshot(logic, 0, null); // 마지막으로 화면에 반영한 상태
+    private boolean endShown; // 이번 경기 결과를 이미 처리했는지
+
+    private final RopeView ropeView = Boolean.getBoolean("typingarena.activeRender")
+            ? new ActiveRopeCanvas(shown)
+            : new RopePanel(shown);
 
     // HUD 라벨들
     private final JLabel lblTime    = new JLabel("남은 시간: 60.0s");
@@ -29,50 +70,69 @@ public class TugOfWarGame extends JFrame {
     // 입력창 / 버튼들
     private final JTextField tfInput   = new JTextField();
     private final JButton btnStart     = new JButton("게임 시작");
+    private final JCheckBox chkAuto    = new JCheckBox("자동 제출");
     private final JButton btnPowerGrip = new JButton("파워 그립 (힘 2배)");
     private final JButton btnAnchor    = new JButton("앵커 (안 밀림)");
     private final JButton btnBlind     = new JButton("먹물 (단어 가리기)");
 
-    // 100ms마다 게임 한 틱씩 진행시키는 타이머
-    // final이라 반드시 생성자에서 한 번만 할당돼야 함
-    private final Timer gameTimer;
+    private final KeystrokeInput keystrokes;
+
+    // 끝난 경기 기록 (열지 못했으면 null, 게임은 그대로 진행). 창끼리 같은 디렉터리면 한 인스턴스
+    private final Leaderboard leaderboard = LeaderboardHolder.get(leaderboardDir());
+
+    // 이 창의 플레이어 타이핑 통계 (혼자 하는 게임이라 플레이어 0 하나)
+    private final TypingAnalytics analytics = new TypingAnalytics(1, logic.getWords().size());
+
+    // 경기 끝에 키 간격을 옮겨 담을 곳 (매크로/봇 검사용)
+    private final int[] intervals = new int[KeystrokeLog.capacity() - 1];
+
+    // 경기가 끝날 때마다 결과(MatchRecord.WIN/LOSS/DRAW)를 받을 곳 (로비 매칭용, 없으면 null)
+    private IntConsumer resultListener;
 
     public TugOfWarGame() {
         super("Typing Arena - 줄다리기");
 
-        // 1) 타이머를 '가장 먼저' 초기화해서 final 필드 관련 에러를 없앤다.
-        //    이 리스너 안에서 gameTimer.stop()을 직접 부르면
-        //    초기화 순서 문제로 또 경고가 날 수 있으므로,
-        //    ((Timer)e.getSource()).stop() 으로 자기 자신을 멈춘다.
-        gameTimer = new Timer(100, e -> {
-            String result = logic.tick(); // null이면 계속, 문자열이면 게임 끝 사유
-
-            updateHUD();
-            ropePanel.repaint();
-
-            if (result != null) {
-                // 게임 종료 처리
-                ((Timer) e.getSource()).stop(); // 타이머 멈춤
-                btnStart.setEnabled(true);
-
-                JOptionPane.showMessageDialog(
-                        this,
-                        "게임 종료 (" + result + ")\n점수: " + logic.getScore()
-                                + " / 콤보: " + logic.getCombo(),
-                        "결과",
-                        JOptionPane.INFORMATION_MESSAGE
-                );
+        // 0) 키 단위 입력 처리
+        keystrokes = new KeystrokeInput(tfInput, logic.getWords(), shown, this::submitInput);
+        logic.addListener(new AnalyticsListener(analytics, 0));
+
+        // 적응형 단어 선택: -Dtypingarena.adaptiveWords=true 면 자주 틀리는 단어/키 위주로 낸다
+        if (Boolean.getBoolean("typingarena.adaptiveWords")) {
+            logic.setAdaptiveWords(AdaptiveHolder.INSTANCE);
+        }
+
+        // 봇 상대: -Dtypingarena.bot=easy|normal|hard 면 공식 대신 가상 타자 봇과 당긴다
+        String botName = System.getProperty("typingarena.bot");
+        if (botName != null) {
+            BotLevel level = BotLevel.byName(botName);
+            if (level == null) throw new IllegalArgumentException("알 수 없는 봇 단계: " + botName);
+            TypistBots bot = new TypistBots(logic.getWords(), 1);
+            bot.add(level, 0);
+            logic.setOpponent(bot);
+        }
+
+        // 리플레이 기록: -Dtypingarena.replay=파일경로 로 실행하면 경기를 이어서 기록
+        String replayPath = System.getProperty("typingarena.replay");
+        if (replayPath != null) {
+            if (logic.getAdaptiveWords() != null) {
+                // 단어 가중치는 리플레이에 안 남아서 재생하면 다른 단어가 나온다
+                System.err.println("적응형 단어 선택 중에는 리플레이를 기록하지 않습니다.");
+            } else if (logic.getOpponent() != null) {
+                // 봇 설정은 리플레이에 안 남아서 재생하면 공식 상대로 돌아간다
+                System.err.println("봇 상대 중에는 리플레이를 기록하지 않습니다.");
+            } else {
+                startRecording(Path.of(replayPath));
             }
-        });
+        }
 
-        // 2) 나머지 UI 세팅
+        // 1) UI 세팅
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         setSize(1000, 600);
         setLocationRelativeTo(null);
 
         // ===== 상단 HUD =====
         JPanel top = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
-        Font hudFont = lblTime.getFont().deriveFont(Font.BOLD, 14f);
+        Font hudFont = UiResources.font(lblTime.getFont(), Font.BOLD, 14f);
         lblTime.setFont(hudFont);
         lblScore.setFont(hudFont);
         lblCombo.setFont(hudFont);
@@ -87,9 +147,9 @@ public class TugOfWarGame extends JFrame {
         itemPanel.setLayout(new BoxLayout(itemPanel, BoxLayout.Y_AXIS));
         itemPanel.setBorder(BorderFactory.createTitledBorder("아이템"));
 
-        btnPowerGrip.setFont(btnPowerGrip.getFont().deriveFont(12f));
-        btnAnchor.setFont(btnAnchor.getFont().deriveFont(12f));
-        btnBlind.setFont(btnBlind.getFont().deriveFont(12f));
+        btnPowerGrip.setFont(UiResources.font(btnPowerGrip.getFont(), 12f));
+        btnAnchor.setFont(UiResources.font(btnAnchor.getFont(), 12f));
+        btnBlind.setFont(UiResources.font(btnBlind.getFont(), 12f));
 
         itemPanel.add(btnPowerGrip);
         itemPanel.add(Box.createVerticalStrut(10));
@@ -98,19 +158,22 @@ public class TugOfWarGame extends JFrame {
         itemPanel.add(btnBlind);
 
         // ===== 중앙(경기장 + 아이템 패널) =====
-        ropePanel.setPreferredSize(new Dimension(800, 380));
+        ropeView.component().setPreferredSize(new Dimension(800, 380));
         JPanel centerWrapper = new JPanel(new BorderLayout());
-        centerWrapper.add(ropePanel, BorderLayout.CENTER);
+        centerWrapper.add(ropeView.component(), BorderLayout.CENTER);
         centerWrapper.add(itemPanel, BorderLayout.EAST);
 
         // ===== 하단(입력창 + 시작 버튼) =====
-        tfInput.setFont(tfInput.getFont().deriveFont(22f));
+        tfInput.setFont(UiResources.font(tfInput.getFont(), 22f));
         JPanel bottom = new JPanel(new BorderLayout(10, 10));
         bottom.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
 
         JPanel south = new JPanel(new BorderLayout(10, 0));
         south.add(tfInput, BorderLayout.CENTER);
-        south.add(btnStart, BorderLayout.EAST);
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 0));
+        buttons.add(chkAuto);
+        buttons.add(btnStart);
+        south.add(buttons, BorderLayout.EAST);
         bottom.add(south, BorderLayout.CENTER);
 
         // ===== 전체 레이아웃 배치 =====
@@ -119,73 +182,228 @@ public class TugOfWarGame extends JFrame {
         add(centerWrapper, BorderLayout.CENTER);
         add(bottom, BorderLayout.SOUTH);
 
-        // 3) 이벤트 바인딩
-
-        // (a) 엔터로 답 제출
-        tfInput.addActionListener(ev -> {
-            String typed = tfInput.getText().trim();
-            boolean correct = logic.submitAnswer(typed);
+        // 2) 이벤트 바인딩
 
-            if (correct) {
-                ropePanel.flashRight();
-            } else {
-                ropePanel.flashLeft();
-            }
-
-            tfInput.setText("");
+        // (a) 엔터로 답 제출 / 다 맞게 치면 자동 제출
+        chkAuto.addActionListener(ev -> {
+            keystrokes.setAutoSubmit(chkAuto.isSelected());
             tfInput.requestFocusInWindow();
-
-            updateHUD();          // 점수/콤보/효과 갱신
-            ropePanel.repaint();  // 화면 다시 그림
         });
+        tfInput.addActionListener(ev -> submitInput());
 
         // (b) 게임 시작
         btnStart.addActionListener(ev -> {
-            logic.startGame();    // 내부 상태 초기화, 단어 새로 뽑음
             btnStart.setEnabled(false);
             tfInput.requestFocusInWindow();
 
-            updateHUD();
-            ropePanel.repaint();
+            ropeView.latency().reset();
+            keystrokes.getLog().reset();
+            endShown = false;
 
-            gameTimer.start();    // 틱 루프 시작
+            show(clock.startGame()); // 내부 상태 초기화, 단어 새로 뽑음 + 틱 루프 시작
         });
 
-        // (c) 아이템: 파워 그립 (정답 힘 2배)
-        btnPowerGrip.addActionListener(ev -> {
-            logic.usePowerGrip();
-            ropePanel.flashBuffColor(new Color(80,160,255)); // 파란 빛
-            updateHUD();
-            ropePanel.repaint();
-        });
+        // (c) 아이템: 파워 그립 (정답 힘 2배) - 파란 빛
+        btnPowerGrip.addActionListener(ev -> useItem(EffectType.POWER_GRIP, POWER_GRIP_FLASH));
 
-        // (d) 아이템: 앵커 (왼쪽으로 거의 안 밀림)
-        btnAnchor.addActionListener(ev -> {
-            logic.useAnchor();
-            ropePanel.flashBuffColor(new Color(80,200,120)); // 초록 빛
-            updateHUD();
-            ropePanel.repaint();
-        });
+        // (d) 아이템: 앵커 (왼쪽으로 거의 안 밀림) - 초록 빛
+        btnAnchor.addActionListener(ev -> useItem(EffectType.ANCHOR, ANCHOR_FLASH));
 
-        // (e) 아이템: 먹물 (단어 가리기)
-        btnBlind.addActionListener(ev -> {
-            logic.useBlind();
-            ropePanel.flashBuffColor(new Color(30,30,30));   // 어두운 빛
-            updateHUD();
-            ropePanel.repaint();
+        // (e) 아이템: 먹물 (단어 가리기) - 어두운 빛
+        btnBlind.addActionListener(ev -> useItem(EffectType.BLIND, BLIND_FLASH));
+
+        GameMetrics.expose(); // JMX 등록 (+ -Dtypingarena.metricsPort 있으면 HTTP)
+    }
+
+    private void useItem(EffectType type, Color flash) {
+        if (clock.useItem(type)) GameMetrics.itemUsed(type);
+        ropeView.flashBuffColor(flash);
+        show(clock.snapshot());
+    }
+
+    // 입력창 내용을 답으로 제출
+    private void submitInput() {
+        long t0 = System.nanoTime();
+        String typed = tfInput.getText().trim();
+        boolean correct = clock.submitAnswer(typed);
+        GameMetrics.SUBMIT.recordSince(t0);
+        (correct ? GameMetrics.ANSWERS_CORRECT : GameMetrics.ANSWERS_WRONG).inc();
+        ropeView.latency().markInput();
+
+        if (correct) {
+            ropeView.flashRight();
+        } else {
+            ropeView.flashLeft();
+        }
+
+        tfInput.setText("");
+        tfInput.requestFocusInWindow();
+
+        show(clock.snapshot()); // 점수/콤보/효과 갱신 + 화면 다시 그림 (플래시 중이면 전체)
+        GameMetrics.INPUT_TO_HUD.recordSince(t0);
+    }
+
+    // 새 상태를 화면에 반영 (EDT). 시계 스레드에서 온 것이 입력 직후 것보다 늦게 도착하면 버린다
+    private void show(GameSnapshot s) {
+        if (s.version <= shown.version) return;
+        shown = s;
+        keystrokes.retarget(s);
+        updateHUD(s);
+        ropeView.refresh(s); // 말판/단어 영역만 다시 그림 (능동 렌더링이면 이동 구간 갱신)
+        if (s.endReason != null && !endShown) {
+            endShown = true;
+            showResult(s);
+        }
+    }
+
+    // 게임 종료 처리
+    private void showResult(GameSnapshot s) {
+        btnStart.setEnabled(true);
+        if (resultListener != null) resultListener.accept(MatchRecord.resultOf(s.pos));
+        if (MATCH_REPORT) {
+            System.out.println(ropeView.latency().describe());
+            System.out.println(keystrokes.getLog().describe());
+            System.out.printf("이번 경기 WPM %.1f 정확도 %.1f%% / %s%n", analytics.matchWpm(0),
+                    analytics.matchAccuracy(0) * 100, analytics.describe(0));
+        }
+
+        // 키 간격 검사 판정이 오면 (보통 FLUSH 한 번, 50ms 안) 결과창. 분석이 밀려 있으면 검사 없이
+        int n = keystrokes.getLog().intervalsMicros(intervals);
+        long session = AntiCheatHolder.SESSIONS.incrementAndGet();
+        AntiCheatHolder.PENDING.put(session, flags -> showResultDialog(s, flags));
+        if (!AntiCheatHolder.INSTANCE.submit(session, intervals, n)) {
+            AntiCheatHolder.PENDING.remove(session);
+            showResultDialog(s, 0);
+        }
+    }
+
+    private void showResultDialog(GameSnapshot s, int cheatFlags) {
+        String record;
+        if (cheatFlags != 0) {
+            if (MATCH_REPORT) System.out.println("입력 검사: " + KeystrokeAnalyzer.describe(cheatFlags));
+            record = "\n입력 패턴이 자동 입력으로 의심되어 (" + KeystrokeAnalyzer.describe(cheatFlags)
+                    + ") 리더보드에 남기지 않았습니다.";
+        } else {
+            record = recordResult(s);
+        }
+        JOptionPane.showMessageDialog(
+                this,
+                "게임 종료 (" + s.endReason + ")\n점수: " + s.score
+                        + " / 콤보: " + s.combo
+                        + record,
+                "결과",
+                JOptionPane.INFORMATION_MESSAGE
+        );
+    }
+
+    @Override
+    public void dispose() {
+        clock.close();
+        super.dispose();
+    }
+
+    public void setResultListener(IntConsumer listener) {
+        this.resultListener = listener;
+    }
+
+    // 플레이어 오답 기록은 창(경기)이 바뀌어도 이어진다. 기본 사전 하나에 한 벌
+    private static final class AdaptiveHolder {
+        static final AdaptiveWordSampler INSTANCE =
+                new AdaptiveWordSampler(WordDictionary.defaultDictionary());
+    }
+
+    // 매크로/봇 입력 검사: JVM에 분석 스레드 하나, 판정은 세션 번호로 그 창에 EDT로 돌려준다
+    private static final class AntiCheatHolder {
+        static final AtomicLong SESSIONS = new AtomicLong();
+        static final ConcurrentHashMap<Long, IntConsumer> PENDING = new ConcurrentHashMap<>();
+        static final KeystrokeAnalyzer INSTANCE = KeystrokeAnalyzer.start((session, flags) -> {
+            IntConsumer done = PENDING.remove(session);
+            if (done != null) SwingUtilities.invokeLater(() -> done.accept(flags));
         });
     }
 
+    // 리더보드: 디렉터리 하나에 인스턴스 하나를 모든 창이 같이 쓰고, JVM이 끝날 때 한 번에 닫는다.
+    // (로그 파일은 한 곳에서만 열 수 있다 - LeaderboardLog의 파일 락)
+    private static final class LeaderboardHolder {
+        static final ConcurrentHashMap<Path, Leaderboard> OPEN = new ConcurrentHashMap<>();
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                for (Leaderboard lb : OPEN.values()) {
+                    try {
+                        lb.close();
+                    } catch (IOException ignored) {
+                        // 종료 중
+                    }
+                }
+            }));
+        }
+
+        // 못 열면 null (다음 창에서 다시 시도)
+        static Leaderboard get(Path dir) {
+            return OPEN.computeIfAbsent(dir, d -> {
+                try {
+                    return Leaderboard.open(d);
+                } catch (IOException e) {
+                    System.err.println("리더보드를 열 수 없음 (기록 없이 진행): " + e);
+                    return null;
+                }
+            });
+        }
+    }
+
+    // 리더보드 위치: -Dtypingarena.leaderboard=디렉터리 (기본 ~/.typingarena)
+    private static Path leaderboardDir() {
+        return Path.of(System.getProperty("typingarena.leaderboard",
+                Path.of(System.getProperty("user.home"), ".typingarena").toString()))
+                .toAbsolutePath().normalize();
+    }
+
+    // 끝난 경기를 리더보드에 남기고 결과창에 붙일 순위 문구를 돌려준다
+    private String recordResult(GameSnapshot s) {
+        if (leaderboard == null) return "";
+        String player = System.getProperty("typingarena.player", System.getProperty("user.name"));
+        MatchRecord r = leaderboard.record(player, s.score, s.maxCombo, MatchRecord.resultOf(s.pos));
+        return "\n최고 콤보: " + r.getMaxCombo()
+                + "\n순위: " + leaderboard.rankOf(r.getScore()) + "등 / " + leaderboard.size() + "경기";
+    }
+
+    private void startRecording(Path file) {
+        try {
+            ReplayWriter writer = ReplayWriter.append(file);
+            logic.addListener(writer);
+            // 창을 닫아 JVM이 끝날 때 버퍼에 남은 기록을 내보낸다
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    writer.close();
+                } catch (IOException ignored) {
+                    // 종료 중
+                }
+            }));
+        } catch (IOException e) {
+            throw new UncheckedIOException("리플레이 파일을 열 수 없음: " + file, e);
+        }
+    }
+
     // HUD 라벨들 업데이트
-    private void updateHUD() {
-        lblTime.setText(String.format("남은 시간: %.1fs", logic.getTimeMs() / 1000.0));
-        lblScore.setText("점수: " + logic.getScore());
-        lblCombo.setText("콤보: " + logic.getCombo());
-        lblEffects.setText(logic.getEffects().describeEffects());
+    private void updateHUD(GameSnapshot s) {
+        lblTime.setText(String.format("남은 시간: %.1fs", s.timeMs / 1000.0));
+        lblScore.setText("점수: " + s.score);
+        lblCombo.setText("콤보: " + s.combo);
+        lblEffects.setText(s.effectsText);
     }
 
     // 실행 진입점
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> new TugOfWarGame().setVisible(true));
     }
+
+    // 로비(TugOfWarMinigame)에서 여는 진입점.
+    // 반환형이 Window라서 로비가 목록만 띄울 때는 검증기가 이 클래스를 읽지 않는다.
+    static Window open(IntConsumer onResult) {
+        TugOfWarGame game = new TugOfWarGame();
+        if (onResult != null) game.setResultListener(onResult);
+        game.setVisible(true);
+        return game;
+    }
 }
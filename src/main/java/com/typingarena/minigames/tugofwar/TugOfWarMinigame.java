@@ -0,0 +1,54 @@
+package com.typingarena.minigames.tugofwar;
+
+import com.typingarena.common.WordDictionary;
+import com.typingarena.minigames.Minigame;
+
+import java.awt.Window;
+import java.util.function.IntConsumer;
+
+/**
+ * 줄다리기를 로비에 올리는 제공자.
+ * 이름/설명만 들고 있고, 게임 클래스는 launch()/prewarm()에서 처음 읽힌다.
+ */
+public final class TugOfWarMinigame implements Minigame {
+
+    @Override
+    public String id() {
+        return "tugofwar";
+    }
+
+    @Override
+    public String title() {
+        return "줄다리기 타자 대전 (Tug of War)";
+    }
+
+    @Override
+    public String description() {
+        return "60초 동안 단어를 맞혀 밧줄을 오른쪽 끝까지 당기세요. 아이템: 파워 그립, 앵커, 먹물.";
+    }
+
+    @Override
+    public boolean supportsMatchmaking() {
+        return true;
+    }
+
+    @Override
+    public Window launch(IntConsumer onResult) {
+        return TugOfWarGame.open(onResult);
+    }
+
+    @Override
+    public void prewarm() {
+        WordDictionary.defaultDictionary(); // 단어 목록 읽기
+        String pkg = TugOfWarMinigame.class.getPackageName() + ".";
+        ClassLoader cl = TugOfWarMinigame.class.getClassLoader();
+        for (String name : new String[] {"GameLogic", "GameMetrics", "GameSnapshot", "SimulationClock",
+                "RopeRenderer", "RopePanel", "KeystrokeInput", "TugOfWarGame"}) {
+            try {
+                Class.forName(pkg + name, true, cl);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("클래스 없음: " + name, e);
+            }
+        }
+    }
+}
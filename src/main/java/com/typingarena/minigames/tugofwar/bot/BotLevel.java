@@ -0,0 +1,45 @@
+package com.typingarena.minigames.tugofwar.bot;
+
+/**
+ * 봇 실력 프리셋. sim의 TypistProfile(초보 2.5타/85%, 보통 4타/92%, 고수 7타/97%)과
+ * 비슷한 타수와 단어 정답률이 나오게 맞췄다 (TypistBots.main으로 확인, 읽는 시간/엔터 포함).
+ */
+public enum BotLevel {
+
+    //        이름    키당(us)  흔들림 오타(키당) 고침     [실측 키/초, 단어 정답률]
+    EASY  ("초보", 285_000, 0.5f, 0.040f, 0.30f), // 2.5, 85%
+    NORMAL("보통", 160_000, 0.4f, 0.025f, 0.40f), // 4.0, 92%
+    HARD  ("고수",  75_000, 0.3f, 0.010f, 0.50f); // 7.0, 97%
+
+    private final String label;
+    private final int keyMicros;
+    private final float spread;
+    private final float typoRate;
+    private final float fixRate;
+
+    BotLevel(String label, int keyMicros, float spread, float typoRate, float fixRate) {
+        this.label = label;
+        this.keyMicros = keyMicros;
+        this.spread = spread;
+        this.typoRate = typoRate;
+        this.fixRate = fixRate;
+    }
+
+    public String getLabel()   { return label; }
+    /** 키 하나 평균 간격 (마이크로초) */
+    public int getKeyMicros()  { return keyMicros; }
+    /** 키 간격 흔들림: 평균 * (1 ± spread) 안에서 가운데가 두꺼운 분포 */
+    public float getSpread()   { return spread; }
+    /** 키 하나를 잘못 칠 확률 */
+    public float getTypoRate() { return typoRate; }
+    /** 오타를 알아채고 지우고 다시 칠 확률 (못 알아채면 틀린 채로 제출) */
+    public float getFixRate()  { return fixRate; }
+
+    /** 실행 옵션 값으로 찾기 (easy/normal/hard, 대소문자 무시). 없으면 null */
+    public static BotLevel byName(String name) {
+        for (BotLevel l : values()) {
+            if (l.name().equalsIgnoreCase(name)) return l;
+        }
+        return null;
+    }
+}
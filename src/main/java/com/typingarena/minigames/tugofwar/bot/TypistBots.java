@@ -0,0 +1,230 @@
+package com.typingarena.minigames.tugofwar.bot;
+
+import com.typingarena.common.WordDictionary;
+
+/**
+ * 가상 타자 봇 묶음. 봇 상태는 봇마다 객체가 아니라 필드마다 기본형 배열 한 개(struct-of-arrays)로
+ * 두고, advance() 한 번이 모든 봇을 한 틱씩 진행한다. 할당 없음.
+ *
+ * 봇 하나는 사람처럼 단어를 키 단위로 친다:
+ * - 새 단어를 보면 잠깐 읽고(REACT_MICROS), 자모 키마다 평균 keyMicros 간격(± spread)으로 친 뒤 엔터.
+ * - 키마다 typoRate 확률로 오타. fixRate 확률로 알아채서 지우고 다시 치고(키 2개 + 멈칫),
+ *   아니면 틀린 채로 제출한다. 틀리면 플레이어처럼 같은 단어를 다시 친다.
+ * 단어를 시작할 때 끝날 시각과 정답 여부를 한 번에 정해 두므로(plan), 틱마다 하는 일은
+ * 봇마다 남은 시간에서 틱 길이를 빼는 것뿐이고 단어가 끝난 봇만 다음 단어를 뽑는다.
+ *
+ * 봇마다 seat(자리 번호)가 있어서 advance()는 결과를 자리별 정답/오답 수로 모아 준다.
+ * 혼자 하는 경기는 자리 0 하나, 팀전은 팀 번호, 서버 샤드 하나가 방 여럿의 봇을
+ * 한 묶음으로 돌릴 때는 방마다 다른 번호를 쓰면 된다.
+ *
+ * 틱을 돌리는 스레드 하나에서만 쓴다. add()는 start() 전에.
+ */
+public final class TypistBots {
+
+    /** 새 단어를 보고 치기 시작할 때까지 평균 (마이크로초) */
+    public static final int REACT_MICROS = 300_000;
+
+    private final WordDictionary words;
+
+    // --- 봇별 설정 ---
+    private final int[] seat;
+    private final int[] keyMicros;
+    private final float[] spread;
+    private final float[] typoRate;
+    private final float[] fixRate;
+
+    // --- 봇별 상태 ---
+    private final long[] rng;       // SplitMix64 상태
+    private final int[] wordIndex;  // 지금 치는 단어
+    private final int[] dueMicros;  // 이 단어를 제출하기까지 남은 시간
+    private final boolean[] miss;   // 이번 제출이 오답인지 (plan에서 정함)
+    private final int[] correct;
+    private final int[] wrong;
+    private int count;
+
+    public TypistBots(WordDictionary words, int capacity) {
+        this.words = words;
+        seat = new int[capacity];
+        keyMicros = new int[capacity];
+        spread = new float[capacity];
+        typoRate = new float[capacity];
+        fixRate = new float[capacity];
+        rng = new long[capacity];
+        wordIndex = new int[capacity];
+        dueMicros = new int[capacity];
+        miss = new boolean[capacity];
+        correct = new int[capacity];
+        wrong = new int[capacity];
+    }
+
+    /** 봇 하나를 seat 자리에 넣고 봇 번호를 돌려준다 */
+    public int add(BotLevel level, int seat) {
+        if (count == this.seat.length) throw new IllegalStateException("봇 자리 없음: " + count);
+        int i = count++;
+        this.seat[i] = seat;
+        keyMicros[i] = level.getKeyMicros();
+        spread[i] = level.getSpread();
+        typoRate[i] = level.getTypoRate();
+        fixRate[i] = level.getFixRate();
+        return i;
+    }
+
+    /** 경기 시작: 봇마다 seed에서 갈라 낸 난수로 첫 단어를 고른다. 같은 seed면 같은 경기 */
+    public void start(long seed) {
+        for (int i = 0; i < count; i++) {
+            rng[i] = seed + i * 0x632BE59BD9B4E019L;
+            correct[i] = 0;
+            wrong[i] = 0;
+            wordIndex[i] = pick(i, 0);
+            dueMicros[i] = plan(i);
+        }
+    }
+
+    /**
+     * 모든 봇을 tickMs만큼 진행한다. 이번 틱에 제출한 답을 자리별로 hits/misses[seat]에 더하고
+     * 제출 수를 돌려준다. elapsedMs는 경기 경과 시간 (다음 단어 길이 구간을 정함).
+     */
+    public int advance(int tickMs, int elapsedMs, int[] hits, int[] misses) {
+        int tick = tickMs * 1000;
+        int answers = 0;
+        int[] due = dueMicros;
+        for (int i = 0, n = count; i < n; i++) {
+            int d = due[i] - tick;
+            if (d > 0) {
+                due[i] = d;
+                continue;
+            }
+            // 이번 틱 안에 단어가 끝남 (틱이 길면 여러 개)
+            do {
+                if (miss[i]) {
+                    misses[seat[i]]++;
+                    wrong[i]++;
+                } else {
+                    hits[seat[i]]++;
+                    correct[i]++;
+                    wordIndex[i] = pick(i, elapsedMs);
+                }
+                answers++;
+                d += plan(i);
+            } while (d <= 0);
+            due[i] = d;
+        }
+        return answers;
+    }
+
+    public int size()                { return count; }
+    public int getSeat(int bot)      { return seat[bot]; }
+    public int getCorrect(int bot)   { return correct[bot]; }
+    public int getWrong(int bot)     { return wrong[bot]; }
+    public String currentWord(int bot) { return words.word(wordIndex[bot]); }
+
+    // 지금 단어를 칠 시간(마이크로초)을 정하고 오답 여부를 miss[i]에 적는다
+    private int plan(int i) {
+        int keys = words.jamoLength(wordIndex[i]);
+        float typo = typoRate[i];
+        float fix = fixRate[i];
+        long t = latency(i, REACT_MICROS);
+        boolean bad = false;
+        for (int k = 0; k < keys; k++) {
+            t += latency(i, keyMicros[i]);
+            if (uniform(i) < typo) {
+                if (uniform(i) < fix) {
+                    // 멈칫 + 지우기 + 다시 치기
+                    t += latency(i, REACT_MICROS) + latency(i, keyMicros[i]) + latency(i, keyMicros[i]);
+                } else {
+                    bad = true;
+                }
+            }
+        }
+        t += latency(i, keyMicros[i]); // 엔터
+        miss[i] = bad;
+        return (int) t;
+    }
+
+    // 평균 mean, (1 ± spread) 안의 삼각 분포
+    private long latency(int i, int mean) {
+        float u = uniform(i) + uniform(i) - 1f;
+        return (long) (mean * (1f + spread[i] * u));
+    }
+
+    // GameLogic.nextWord()와 같은 길이 구간
+    private int pick(int i, int elapsedMs) {
+        int minLen = 4 + Math.min(elapsedMs / 15_000, 3);
+        int maxLen = Math.min(minLen + 1, 8);
+        int from = words.firstOfLength(minLen);
+        int to = words.firstOfLength(maxLen + 1);
+        if (from >= to) {
+            from = 0;
+            to = words.size();
+        }
+        return from + (int) (((next(i) >>> 32) * (to - from)) >>> 32);
+    }
+
+    private float uniform(int i) {
+        return (next(i) >>> 40) * 0x1.0p-24f;
+    }
+
+    private long next(int i) {
+        long z = (rng[i] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // ===== 측정 =====
+
+    /**
+     * 1) 단계별 봇을 혼자 경기 길이(60초)만큼 돌려 실측 타수/정답률을 찍는다 (BotLevel 값 확인용).
+     * 2) 봇 N마리를 한 스레드에서 틱마다 진행하는 비용을 잰다.
+     *   java com.typingarena.minigames.tugofwar.bot.TypistBots [봇 수=10000] [틱 수=6000]
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 6_000;
+        WordDictionary words = WordDictionary.defaultDictionary();
+        int tickMs = 100;
+        int matchMs = 60_000;
+
+        for (BotLevel level : BotLevel.values()) {
+            int perLevel = 2_000;
+            TypistBots bots = new TypistBots(words, perLevel);
+            for (int i = 0; i < perLevel; i++) bots.add(level, 0);
+            bots.start(7L);
+            int[] hits = new int[1];
+            int[] misses = new int[1];
+            int[] before = new int[perLevel];
+            int[] answered = new int[perLevel];
+            long keys = 0; // 제출한 단어(정답 + 오답)의 키 수 합
+            for (int t = tickMs; t <= matchMs; t += tickMs) {
+                System.arraycopy(bots.wordIndex, 0, before, 0, perLevel);
+                bots.advance(tickMs, t, hits, misses);
+                for (int i = 0; i < perLevel; i++) {
+                    int a = bots.correct[i] + bots.wrong[i];
+                    if (a != answered[i]) {
+                        keys += (long) words.jamoLength(before[i]) * (a - answered[i]);
+                        answered[i] = a;
+                    }
+                }
+            }
+            double sec = perLevel * (matchMs / 1000.0);
+            System.out.printf("%-6s 봇 %,d마리 60초: 1인당 정답 %.1f개, %.1f키/초, 단어 정답률 %.1f%%%n",
+                    level, perLevel, hits[0] / (double) perLevel, keys / sec,
+                    100.0 * hits[0] / (hits[0] + misses[0]));
+        }
+
+        TypistBots bots = new TypistBots(words, n);
+        int seats = Math.max(1, n / 8); // 방 n/8개, 방마다 봇 8마리
+        for (int i = 0; i < n; i++) bots.add(BotLevel.values()[i % 3], i / 8 % seats);
+        int[] hits = new int[seats];
+        int[] misses = new int[seats];
+        bots.start(1L);
+        long answers = 0;
+        long t0 = System.nanoTime();
+        for (int t = 0; t < ticks; t++) {
+            answers += bots.advance(tickMs, t * tickMs % matchMs, hits, misses);
+        }
+        double ns = System.nanoTime() - t0;
+        System.out.printf("봇 %,d마리, %,d틱: 틱당 %.1f us (봇당 %.1f ns), 제출 %,d개%n",
+                n, ticks, ns / ticks / 1000, ns / ticks / n, answers);
+    }
+}
@@ -0,0 +1,34 @@
+package com.typingarena.minigames.tugofwar.replay;
+
+/**
+ * 리플레이 로그 바이너리 형식 (빅 엔디언, 경기들이 이어 붙은 추가 전용 파일).
+ *
+ * 경기 헤더 (HEADER_SIZE 바이트)
+ *   int    MAGIC
+ *   byte   VERSION
+ *   long   matchSeed
+ *   double stepHit, stepMiss, enemyBase, enemyGrow
+ *   int    단어 사전 크기 (재생 시 같은 사전인지 확인용)
+ *
+ * 이벤트 (1바이트 타입 + 내용)
+ *   TICK                                   틱 경계 (답/아이템의 틱 위치는 TICK 개수로 센다)
+ *   ANSWER  short len, byte[len] UTF-8     제출한 문자열
+ *   ITEM    byte item                      EffectType.getId()
+ *   END     double pos, int score, int combo   종료 시 상태 (검증용)
+ */
+final class ReplayFormat {
+
+    static final int MAGIC = 0x54415231; // "TAR1"
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 4 + 1 + 8 + 8 * 4 + 4;
+
+    static final byte TICK   = 1;
+    static final byte ANSWER = 2;
+    static final byte ITEM   = 3;
+    static final byte END    = 4;
+
+    static final int END_SIZE = 1 + 8 + 4 + 4;
+
+    private ReplayFormat() {
+    }
+}
@@ -0,0 +1,147 @@
+package com.typingarena.minigames.tugofwar.replay;
+
+import com.typingarena.common.WordDictionary;
+import com.typingarena.minigames.tugofwar.EffectType;
+import com.typingarena.minigames.tugofwar.GameBalance;
+import com.typingarena.minigames.tugofwar.GameLogic;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 리플레이 로그를 GameLogic으로 다시 돌린다.
+ *
+ * 버퍼는 절대 위치로만 읽으므로 하나의 (메모리 매핑된) 버퍼를
+ * 여러 스레드가 서로 다른 경기 오프셋으로 동시에 재생해도 된다.
+ */
+public final class ReplayPlayer {
+
+    /** verify() 결과 */
+    public static final int OK         = 0;
+    public static final int MISMATCH   = 1;
+    public static final int INCOMPLETE = 2; // END 없이 끊긴 경기 (창을 닫는 등)
+
+    private final ByteBuffer buf;
+    private final WordDictionary words;
+
+    public ReplayPlayer(ByteBuffer buf, WordDictionary words) {
+        this.buf = buf;
+        this.words = words;
+    }
+
+    /** 버퍼 안 모든 경기의 시작 오프셋 */
+    public int[] index() {
+        int[] out = new int[64];
+        int n = 0;
+        int p = 0;
+        int limit = buf.limit();
+        while (p + ReplayFormat.HEADER_SIZE <= limit) {
+            if (buf.getInt(p) != ReplayFormat.MAGIC) {
+                throw new IllegalStateException("리플레이 헤더가 아님: offset " + p);
+            }
+            if (n == out.length) out = Arrays.copyOf(out, n * 2);
+            out[n++] = p;
+            p = skipMatch(p);
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // 경기 하나를 건너뛰고 다음 경기 오프셋을 돌려준다
+    private int skipMatch(int p) {
+        int limit = buf.limit();
+        p += ReplayFormat.HEADER_SIZE;
+        while (p < limit) {
+            byte type = buf.get(p);
+            switch (type) {
+                case ReplayFormat.TICK:   p += 1; break;
+                case ReplayFormat.ITEM:   p += 2; break;
+                case ReplayFormat.ANSWER: p += 3 + (buf.getShort(p + 1) & 0xFFFF); break;
+                case ReplayFormat.END:    return p + ReplayFormat.END_SIZE;
+                default:
+                    // 다음 경기 헤더 (END 없이 끊긴 경기)
+                    if (p + 4 <= limit && buf.getInt(p) == ReplayFormat.MAGIC) return p;
+                    throw new IllegalStateException("알 수 없는 이벤트 " + type + " at " + p);
+            }
+        }
+        return limit;
+    }
+
+    /** offset의 경기를 처음부터 재생해서 끝난 상태의 GameLogic을 돌려준다. */
+    public GameLogic replay(int offset) {
+        GameLogic logic = newLogic(offset);
+        play(logic, offset);
+        return logic;
+    }
+
+    /** 재생 결과가 기록된 END 상태(pos, score, combo)와 정확히 같은지 확인한다. */
+    public int verify(int offset) {
+        GameLogic logic = newLogic(offset);
+        int end = play(logic, offset);
+        if (end < 0) return INCOMPLETE;
+
+        double pos = buf.getDouble(end + 1);
+        int score = buf.getInt(end + 9);
+        int combo = buf.getInt(end + 13);
+        boolean same = Double.compare(pos, logic.getPos()) == 0
+                && score == logic.getScore()
+                && combo == logic.getCombo()
+                && !logic.isRunning();
+        return same ? OK : MISMATCH;
+    }
+
+    private GameLogic newLogic(int offset) {
+        int p = offset + 4;
+        if (buf.get(p) != ReplayFormat.VERSION) {
+            throw new IllegalStateException("지원하지 않는 리플레이 버전: " + buf.get(p));
+        }
+        GameBalance balance = new GameBalance(
+                buf.getDouble(p + 9), buf.getDouble(p + 17), buf.getDouble(p + 25), buf.getDouble(p + 33));
+        int dictSize = buf.getInt(p + 41);
+        if (dictSize != words.size()) {
+            throw new IllegalStateException("기록 때와 단어 사전이 다름: " + dictSize + " != " + words.size());
+        }
+        return new GameLogic(balance, words, 0L);
+    }
+
+    // 이벤트를 순서대로 적용. END 이벤트 오프셋을 돌려주고, 없으면 -1
+    private int play(GameLogic logic, int offset) {
+        logic.startGame(buf.getLong(offset + 5));
+
+        int limit = buf.limit();
+        int p = offset + ReplayFormat.HEADER_SIZE;
+        byte[] text = new byte[64];
+        while (p < limit) {
+            byte type = buf.get(p);
+            switch (type) {
+                case ReplayFormat.TICK:
+                    logic.tick();
+                    p += 1;
+                    break;
+                case ReplayFormat.ANSWER: {
+                    int len = buf.getShort(p + 1) & 0xFFFF;
+                    if (len > text.length) text = new byte[len];
+                    buf.get(p + 3, text, 0, len);
+                    logic.submitAnswer(new String(text, 0, len, StandardCharsets.UTF_8));
+                    p += 3 + len;
+                    break;
+                }
+                case ReplayFormat.ITEM:
+                    useItem(logic, buf.get(p + 1));
+                    p += 2;
+                    break;
+                case ReplayFormat.END:
+                    return p;
+                default:
+                    return -1; // 다음 경기 헤더
+            }
+        }
+        return -1;
+    }
+
+    private static void useItem(GameLogic logic, int item) {
+        EffectType type = EffectType.byId(item);
+        if (type == null) throw new IllegalStateException("알 수 없는 아이템: " + item);
+        logic.useItem(type);
+    }
+}
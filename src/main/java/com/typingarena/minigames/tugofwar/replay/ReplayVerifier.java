@@ -0,0 +1,77 @@
+package com.typingarena.minigames.tugofwar.replay;
+
+import com.typingarena.common.WordDictionary;
+import com.typingarena.minigames.tugofwar.EffectType;
+import com.typingarena.minigames.tugofwar.GameBalance;
+import com.typingarena.minigames.tugofwar.GameLogic;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * 리플레이 로그 일괄 재검증 도구.
+ * 파일을 메모리 매핑하고 모든 경기를 병렬로 다시 돌려서
+ * 기록된 종료 상태와 한 비트도 다르지 않은지 확인한다.
+ *
+ *   java com.typingarena.minigames.tugofwar.replay.ReplayVerifier replays.bin
+ *   java com.typingarena.minigames.tugofwar.replay.ReplayVerifier replays.bin -gen 10000   (가상 경기 생성 후 검증)
+ */
+public class ReplayVerifier {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("usage: ReplayVerifier <file> [-gen N]");
+            return;
+        }
+        Path file = Path.of(args[0]);
+        WordDictionary words = WordDictionary.defaultDictionary();
+
+        if (args.length >= 3 && args[1].equals("-gen")) {
+            Files.deleteIfExists(file);
+            generate(file, Integer.parseInt(args[2]));
+        }
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            ReplayPlayer player = new ReplayPlayer(buf, words);
+
+            long t0 = System.nanoTime();
+            int[] offsets = player.index();
+            LongAdder[] counts = {new LongAdder(), new LongAdder(), new LongAdder()};
+            IntStream.of(offsets).parallel().forEach(off -> counts[player.verify(off)].increment());
+            double sec = (System.nanoTime() - t0) / 1e9;
+
+            System.out.printf("%,d replays (%,d bytes) in %.2fs = %,.0f replays/s%n",
+                    offsets.length, ch.size(), sec, offsets.length / sec);
+            System.out.printf("ok=%,d mismatch=%,d incomplete=%,d%n",
+                    counts[ReplayPlayer.OK].sum(), counts[ReplayPlayer.MISMATCH].sum(),
+                    counts[ReplayPlayer.INCOMPLETE].sum());
+        }
+    }
+
+    // 무작위 타자로 n경기를 기록한다
+    private static void generate(Path file, int n) throws IOException {
+        SplittableRandom r = new SplittableRandom(2024);
+        try (ReplayWriter writer = ReplayWriter.append(file)) {
+            GameLogic logic = new GameLogic(GameBalance.DEFAULT, r.nextLong());
+            logic.setListener(writer);
+            for (int i = 0; i < n; i++) {
+                logic.startGame();
+                do {
+                    if (r.nextInt(3) == 0) {
+                        logic.submitAnswer(r.nextInt(10) == 0 ? "oops" : logic.getCurrentWord());
+                    }
+                    EffectType item = EffectType.byId(r.nextInt(200));
+                    if (item != null) logic.useItem(item);
+                } while (logic.tick() == null);
+            }
+        }
+    }
+}
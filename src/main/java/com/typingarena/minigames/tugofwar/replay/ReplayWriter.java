@@ -0,0 +1,123 @@
+package com.typingarena.minigames.tugofwar.replay;
+
+import com.typingarena.minigames.tugofwar.EffectType;
+import com.typingarena.minigames.tugofwar.GameBalance;
+import com.typingarena.minigames.tugofwar.GameListener;
+import com.typingarena.minigames.tugofwar.GameLogic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * GameLogic에 붙여서 경기를 리플레이 로그에 기록한다.
+ *
+ * 틱 경로에서는 미리 잡아 둔 다이렉트 버퍼에 1바이트만 쓰고,
+ * 버퍼가 찼을 때와 경기가 끝났을 때만 파일 채널로 내보낸다.
+ * 영어 답은 문자를 바로 바이트로 옮겨서 새 배열을 만들지 않는다.
+ */
+public class ReplayWriter implements GameListener, Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(64 * 1024);
+
+    public ReplayWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /** 파일 끝에 이어서 기록 (없으면 새로 만듦) */
+    public static ReplayWriter append(Path file) throws IOException {
+        return new ReplayWriter(FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    @Override
+    public void onStart(GameLogic game, long matchSeed) {
+        GameBalance b = game.getBalance();
+        ensure(ReplayFormat.HEADER_SIZE);
+        buf.putInt(ReplayFormat.MAGIC)
+           .put(ReplayFormat.VERSION)
+           .putLong(matchSeed)
+           .putDouble(b.getStepHit())
+           .putDouble(b.getStepMiss())
+           .putDouble(b.getEnemyBase())
+           .putDouble(b.getEnemyGrow())
+           .putInt(game.getWords().size());
+    }
+
+    @Override
+    public void onTick(GameLogic game) {
+        ensure(1);
+        buf.put(ReplayFormat.TICK);
+    }
+
+    @Override
+    public void onAnswer(GameLogic game, String typed, boolean correct) {
+        int len = Math.min(typed.length(), Short.MAX_VALUE / 4);
+        ensure(3 + len * 3);
+        buf.put(ReplayFormat.ANSWER);
+        int lenPos = buf.position();
+        buf.putShort((short) 0);
+
+        boolean ascii = true;
+        for (int i = 0; i < len; i++) {
+            char ch = typed.charAt(i);
+            if (ch >= 0x80) {
+                ascii = false;
+                break;
+            }
+            buf.put((byte) ch);
+        }
+        if (!ascii) {
+            // 한글 등: 그냥 UTF-8로 인코딩
+            buf.position(lenPos + 2);
+            byte[] bytes = typed.substring(0, len).getBytes(StandardCharsets.UTF_8);
+            buf.put(bytes);
+            buf.putShort(lenPos, (short) bytes.length);
+        } else {
+            buf.putShort(lenPos, (short) len);
+        }
+    }
+
+    @Override
+    public void onItem(GameLogic game, EffectType item) {
+        ensure(2);
+        buf.put(ReplayFormat.ITEM).put((byte) item.getId());
+    }
+
+    @Override
+    public void onEnd(GameLogic game, String result) {
+        ensure(ReplayFormat.END_SIZE);
+        buf.put(ReplayFormat.END)
+           .putDouble(game.getPos())
+           .putInt(game.getScore())
+           .putInt(game.getCombo());
+        flush();
+    }
+
+    private void ensure(int bytes) {
+        if (buf.remaining() < bytes) flush();
+    }
+
+    public void flush() {
+        buf.flip();
+        try {
+            while (buf.hasRemaining()) channel.write(buf);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buf.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
@@ -0,0 +1,170 @@
+package com.typingarena.minigames.tugofwar.sim;
+
+import com.typingarena.minigames.tugofwar.GameBalance;
+import com.typingarena.minigames.tugofwar.GameLogic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 헤드리스 몬테카를로 밸런스 시뮬레이터.
+ *
+ * Swing 창 없이 GameLogic.startGame()/tick()/submitAnswer()를 직접 돌린다.
+ * 효과 지속시간은 게임 틱 기준이라 실제 시간을 기다릴 필요가 없고,
+ * 한 경기(최대 600틱)가 수십 마이크로초 안에 끝난다.
+ *
+ * (밸런스 값 × 타자 모델) 그리드의 각 칸마다 경기 수를 잘게 나눠
+ * 포크조인 풀에 뿌리고, 결과는 SimulationStats로 합친다.
+ *
+ * 실행 예:
+ *   java com.typingarena.minigames.tugofwar.sim.BalanceSimulator 200000
+ */
+public class BalanceSimulator {
+
+    // 하위 작업 하나가 직접 돌리는 경기 수 (이보다 크면 반으로 쪼갬)
+    private static final int CHUNK = 2_048;
+
+    // 오답 제출용 (어떤 단어와도 안 맞음)
+    private static final String WRONG = "";
+
+    private final ForkJoinPool pool;
+
+    public BalanceSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BalanceSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** 한 그리드 칸에 대해 matches 경기를 돌린다. */
+    public SimulationStats run(GameBalance balance, TypistProfile typist, int matches, long seed) {
+        return pool.invoke(new MatchTask(balance, typist, seed, 0, matches));
+    }
+
+    /** 그리드 전체를 한꺼번에 풀에 넣고 칸별 결과를 돌려준다. */
+    public List<SimulationStats> runGrid(List<GameBalance> balances, List<TypistProfile> typists,
+                                         int matchesPerCell, long seed) {
+        List<MatchTask> tasks = new ArrayList<>();
+        long cellSeed = seed;
+        for (GameBalance b : balances) {
+            for (TypistProfile t : typists) {
+                tasks.add(new MatchTask(b, t, cellSeed++, 0, matchesPerCell));
+            }
+        }
+        return pool.invoke(new RecursiveTask<List<SimulationStats>>() {
+            @Override
+            protected List<SimulationStats> compute() {
+                invokeAll(tasks);
+                List<SimulationStats> out = new ArrayList<>(tasks.size());
+                for (MatchTask t : tasks) out.add(t.join());
+                return out;
+            }
+        });
+    }
+
+    // 경기 한 판: 타자 모델이 글자를 쳐 나가며 단어를 채우면 제출
+    static void playMatch(GameLogic logic, TypistProfile typist, SplittableRandom r, SimulationStats out) {
+        double charsPerTick = typist.getCharsPerSec() * GameLogic.TICK_MS / 1000.0;
+        double accuracy = typist.getAccuracy();
+        double typed = 0.0;
+
+        logic.startGame();
+        while (true) {
+            typed += charsPerTick;
+            String word = logic.getCurrentWord();
+            if (typed >= word.length()) {
+                typed -= word.length();
+                logic.submitAnswer(r.nextDouble() < accuracy ? word : WRONG);
+            }
+            if (logic.tick() != null) break;
+        }
+        out.record(logic.getPos(), GameLogic.MATCH_MS - logic.getTimeMs());
+    }
+
+    private static final class MatchTask extends RecursiveTask<SimulationStats> {
+        private final GameBalance balance;
+        private final TypistProfile typist;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        MatchTask(GameBalance balance, TypistProfile typist, long seed, int from, int to) {
+            this.balance = balance;
+            this.typist = typist;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from > CHUNK) {
+                int mid = (from + to) >>> 1;
+                MatchTask left = new MatchTask(balance, typist, seed, from, mid);
+                MatchTask right = new MatchTask(balance, typist, seed, mid, to);
+                left.fork();
+                SimulationStats r = right.compute();
+                return r.merge(left.join());
+            }
+
+            // 구간 시작 위치로 시드를 갈라서 작업 분할과 무관하게 결과가 재현되게 함
+            SplittableRandom r = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + from);
+            SimulationStats stats = new SimulationStats();
+            for (int i = from; i < to; i++) {
+                GameLogic logic = new GameLogic(balance, r.nextLong());
+                playMatch(logic, typist, r, stats);
+            }
+            return stats;
+        }
+    }
+
+    // ===== 콘솔 리포트 =====
+    public static void main(String[] args) {
+        int matchesPerCell = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        List<GameBalance> grid = new ArrayList<>();
+        for (double hit : new double[]{10.0, 12.0, 14.0}) {
+            for (double miss : new double[]{6.0, 8.0}) {
+                for (double base : new double[]{0.06, 0.08, 0.10}) {
+                    for (double grow : new double[]{0.0001, 0.00015, 0.0002}) {
+                        grid.add(new GameBalance(hit, miss, base, grow));
+                    }
+                }
+            }
+        }
+        List<TypistProfile> typists = List.of(
+                new TypistProfile("초보", 2.5, 0.85),
+                new TypistProfile("보통", 4.0, 0.92),
+                new TypistProfile("고수", 7.0, 0.97)
+        );
+
+        BalanceSimulator sim = new BalanceSimulator();
+        long t0 = System.nanoTime();
+        List<SimulationStats> results = sim.runGrid(grid, typists, matchesPerCell, 42L);
+        double sec = (System.nanoTime() - t0) / 1e9;
+
+        System.out.printf("%-45s %-20s %7s %7s %7s %5s %5s%n",
+                "balance", "typist", "win", "loss", "KO", "p50", "p90");
+        int i = 0;
+        long total = 0;
+        for (GameBalance b : grid) {
+            for (TypistProfile t : typists) {
+                SimulationStats s = results.get(i++);
+                total += s.getMatches();
+                System.out.printf("%-45s %-20s %6.1f%% %6.1f%% %6.1f%% %4ds %4ds%n",
+                        b, t,
+                        s.winRate() * 100,
+                        (double) s.getLosses() / s.getMatches() * 100,
+                        s.knockoutRate() * 100,
+                        s.finishPercentileSec(0.5),
+                        s.finishPercentileSec(0.9));
+            }
+        }
+        System.out.printf("%n%,d matches in %.2fs (%,.0f matches/s, %d threads)%n",
+                total, sec, total / sec, sim.pool.getParallelism());
+    }
+}
@@ -0,0 +1,65 @@
+package com.typingarena.minigames.tugofwar.sim;
+
+/**
+ * 한 파라미터 조합에 대한 시뮬레이션 결과 집계.
+ * 승/패/무 횟수와 경기 종료 시각 분포(1초 단위 히스토그램)를 모은다.
+ * 포크조인 하위 작업마다 하나씩 만들고 merge()로 합친다.
+ */
+public final class SimulationStats {
+
+    // 0~60초, 1초 간격 버킷
+    static final int BUCKETS = 61;
+
+    private long wins;
+    private long losses;
+    private long draws;
+    private final long[] finishHistogram = new long[BUCKETS];
+
+    void record(double pos, int elapsedMs) {
+        if (pos > 0) wins++;
+        else if (pos < 0) losses++;
+        else draws++;
+
+        int bucket = Math.min(elapsedMs / 1000, BUCKETS - 1);
+        finishHistogram[bucket]++;
+    }
+
+    SimulationStats merge(SimulationStats other) {
+        wins += other.wins;
+        losses += other.losses;
+        draws += other.draws;
+        for (int i = 0; i < BUCKETS; i++) {
+            finishHistogram[i] += other.finishHistogram[i];
+        }
+        return this;
+    }
+
+    public long getMatches() { return wins + losses + draws; }
+    public long getWins()    { return wins; }
+    public long getLosses()  { return losses; }
+    public long getDraws()   { return draws; }
+
+    public double winRate() {
+        long n = getMatches();
+        return n == 0 ? 0.0 : (double) wins / n;
+    }
+
+    // 종료 시각의 p 분위수(초). p는 0.0 ~ 1.0
+    public int finishPercentileSec(double p) {
+        long n = getMatches();
+        if (n == 0) return 0;
+        long target = (long) Math.ceil(p * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += finishHistogram[i];
+            if (seen >= target) return i;
+        }
+        return BUCKETS - 1;
+    }
+
+    // 시간 종료(60초) 전에 끝까지 당겨서 끝난 비율
+    public double knockoutRate() {
+        long n = getMatches();
+        return n == 0 ? 0.0 : (double) (n - finishHistogram[BUCKETS - 1]) / n;
+    }
+}
@@ -0,0 +1,28 @@
+package com.typingarena.minigames.tugofwar.sim;
+
+/**
+ * 시뮬레이션용 가상 타자 모델.
+ * 초당 타수(cps)만큼 글자를 쳐 나가다가 단어 길이를 채우면 제출하고,
+ * accuracy 확률로 정답, 나머지는 오답으로 처리한다.
+ */
+public final class TypistProfile {
+
+    private final String name;
+    private final double charsPerSec;
+    private final double accuracy; // 0.0 ~ 1.0
+
+    public TypistProfile(String name, double charsPerSec, double accuracy) {
+        this.name = name;
+        this.charsPerSec = charsPerSec;
+        this.accuracy = accuracy;
+    }
+
+    public String getName()         { return name; }
+    public double getCharsPerSec()  { return charsPerSec; }
+    public double getAccuracy()     { return accuracy; }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%.1fcps, %.0f%%)", name, charsPerSec, accuracy * 100);
+    }
+}
@@ -0,0 +1,260 @@
+package com.typingarena.minigames.tugofwar.team;
+
+import com.typingarena.common.Hangul;
+import com.typingarena.common.WordDictionary;
+import com.typingarena.minigames.tugofwar.GameBalance;
+import com.typingarena.minigames.tugofwar.GameLogic;
+import com.typingarena.minigames.tugofwar.bot.BotLevel;
+import com.typingarena.minigames.tugofwar.bot.TypistBots;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 팀전 줄다리기: 팀마다 최대 MAX_TEAM명이 밧줄 하나(TeamRope)를 당긴다.
+ *
+ * GameLogic의 혼자 하는 규칙(정답 STEP_HIT, 오답 STEP_MISS, 콤보 점수, 시간에 따라 길어지는 단어)을
+ * 플레이어마다 그대로 쓰되, 상대는 공식으로 끄는 적이 아니라 반대편 팀이다. 아이템은 없다.
+ * 빈 자리는 fillWithBots()로 가상 타자 봇(TypistBots)을 채울 수 있다.
+ *
+ * 스레드:
+ * - submit(player, ...)은 그 플레이어의 입력 스레드에서 (한 플레이어는 한 번에 한 스레드만).
+ *   플레이어 상태는 자기 것만 건드리고, 공유 상태는 TeamRope.pull() 한 번뿐이다 (락 없음).
+ * - tick()은 스레드 하나에서 TICK_MS마다. 봇을 한 틱 진행해 당긴 힘을 더하고,
+ *   힘을 pos에 접고 시간/종료를 판정한다.
+ * - 나머지 조회는 아무 스레드에서나.
+ * join()/fillWithBots()는 start() 전에 (팀 인원으로 힘을 나누므로).
+ */
+public final class TeamMatch {
+
+    public static final int MAX_TEAM = 100;
+
+    private final WordDictionary words;
+    private final long hit;   // 0.01 단위
+    private final long miss;
+    private final List<Player> joining = new ArrayList<>();
+    private final int[] teamSize = new int[2]; // 봇 포함
+    private final TypistBots bots;
+    private final int[] botHits = new int[2];   // 틱 스레드 전용
+    private final int[] botMisses = new int[2];
+
+    private Player[] players = new Player[0];
+    private TeamRope rope = new TeamRope(1, 1);
+    private volatile int timeMs = GameLogic.MATCH_MS;
+    private volatile boolean running;
+    private volatile String result;
+
+    // 플레이어 한 명 (입력 스레드 전용)
+    private static final class Player {
+        final int side;
+        final Random rnd = new Random();
+        final char[] scratch = new char[Hangul.MAX_JAMO];
+        int wordIndex;
+        int combo;
+        int maxCombo;
+        int score;
+        int correct;
+        int wrong;
+
+        Player(int side) {
+            this.side = side;
+        }
+    }
+
+    public TeamMatch(GameBalance balance, WordDictionary words) {
+        this.words = words;
+        this.hit = Math.round(balance.getStepHit() * 100);
+        this.miss = Math.round(balance.getStepMiss() * 100);
+        this.bots = new TypistBots(words, 2 * MAX_TEAM);
+    }
+
+    /** side(TeamRope.LEFT/RIGHT) 팀에 한 명 넣고 플레이어 번호를 돌려준다 */
+    public synchronized int join(int side) {
+        if (running) throw new IllegalStateException("경기 중에는 들어올 수 없음");
+        if (teamSize[side] >= MAX_TEAM) throw new IllegalStateException("팀 인원 초과: " + MAX_TEAM);
+        teamSize[side]++;
+        joining.add(new Player(side));
+        return joining.size() - 1;
+    }
+
+    /** 두 팀 모두 perTeam명이 되도록 빈 자리에 봇을 넣고, 넣은 수를 돌려준다 */
+    public synchronized int fillWithBots(int perTeam, BotLevel level) {
+        if (running) throw new IllegalStateException("경기 중에는 들어올 수 없음");
+        if (perTeam > MAX_TEAM) throw new IllegalArgumentException("팀 인원 초과: " + MAX_TEAM);
+        int added = 0;
+        for (int side = TeamRope.LEFT; side <= TeamRope.RIGHT; side++) {
+            for (; teamSize[side] < perTeam; teamSize[side]++, added++) bots.add(level, side);
+        }
+        return added;
+    }
+
+    /** 경기 시작 (틱 스레드). 같은 seed면 플레이어별 단어 순서가 같다 */
+    public synchronized void start(long seed) {
+        players = joining.toArray(new Player[0]);
+        rope = new TeamRope(teamSize[TeamRope.LEFT], teamSize[TeamRope.RIGHT]);
+        timeMs = GameLogic.MATCH_MS;
+        result = null;
+        for (int i = 0; i < players.length; i++) {
+            Player p = players[i];
+            p.rnd.setSeed(seed + i);
+            p.combo = 0;
+            p.maxCombo = 0;
+            p.score = 0;
+            p.correct = 0;
+            p.wrong = 0;
+            p.wordIndex = nextWord(p);
+        }
+        bots.start(seed);
+        running = true; // volatile 쓰기: 위 초기화가 입력 스레드에 보인다
+    }
+
+    // ===== 답 경로 (플레이어 입력 스레드) =====
+
+    /** typed가 이 플레이어의 지금 단어면 자기 팀 쪽으로 당기고 다음 단어로 */
+    public boolean submit(int player, CharSequence typed) {
+        if (!running) return false;
+        Player p = players[player];
+        if (words.matches(p.wordIndex, typed, p.scratch)) {
+            p.combo++;
+            if (p.combo > p.maxCombo) p.maxCombo = p.combo;
+            p.score += 10 + p.combo * 2;
+            p.correct++;
+            rope.pull(p.side, hit);
+            p.wordIndex = nextWord(p);
+            return true;
+        }
+        p.combo = 0;
+        p.wrong++;
+        rope.pull(p.side, -miss);
+        return false;
+    }
+
+    public String currentWord(int player) {
+        return words.word(players[player].wordIndex);
+    }
+
+    public int getScore(int player) {
+        return players[player].score;
+    }
+
+    public int getCorrect(int player) {
+        return players[player].correct;
+    }
+
+    public int getWrong(int player) {
+        return players[player].wrong;
+    }
+
+    // GameLogic.nextWord()와 같은 길이 구간
+    private int nextWord(Player p) {
+        int elapsed = GameLogic.MATCH_MS - timeMs;
+        int minLen = 4 + Math.min(elapsed / 15_000, 3);
+        int maxLen = Math.min(minLen + 1, 8);
+        return words.pickIndex(minLen, maxLen, p.rnd);
+    }
+
+    // ===== 틱 (스레드 하나) =====
+
+    /** null이면 계속, 문자열이면 경기 끝 사유 */
+    public String tick() {
+        if (!running) return null;
+        int t = Math.max(0, timeMs - GameLogic.TICK_MS);
+        timeMs = t;
+        if (bots.size() > 0) {
+            for (int side = TeamRope.LEFT; side <= TeamRope.RIGHT; side++) {
+                botHits[side] = 0;
+                botMisses[side] = 0;
+            }
+            bots.advance(GameLogic.TICK_MS, GameLogic.MATCH_MS - t, botHits, botMisses);
+            for (int side = TeamRope.LEFT; side <= TeamRope.RIGHT; side++) {
+                long f = botHits[side] * hit - botMisses[side] * miss;
+                if (f != 0) rope.pull(side, f);
+            }
+        }
+        double pos = rope.fold();
+
+        String r = null;
+        if (pos >= 100) r = "오른쪽 팀 승리";
+        else if (pos <= -100) r = "왼쪽 팀 승리";
+        else if (t == 0) r = pos > 0 ? "시간 종료: 오른쪽 팀 근소한 승리"
+                : pos < 0 ? "시간 종료: 왼쪽 팀 근소한 승리" : "무승부";
+        if (r != null) {
+            result = r;
+            running = false;
+        }
+        return r;
+    }
+
+    public TeamRope getRope()   { return rope; }
+    public double getPos()      { return rope.getPos(); }
+    public int getTimeMs()      { return timeMs; }
+    public boolean isRunning()  { return running; }
+    public String getResult()   { return result; }
+    public int teamSize(int side) { return teamSize[side]; }
+
+    // ===== 부하 테스트 =====
+
+    /**
+     * 팀당 N명이 스레드 T개로 나눠 쉬지 않고 치고 (10번에 한 번 오답), 틱은 실제 100ms마다.
+     * 답 처리량과, 힘이 하나도 빠지지 않았는지(플레이어별 정답/오답으로 센 합 == 밧줄 합) 확인한다.
+     * 사람보다 훨씬 빨리 치므로 한 번에 0.01씩만 당겨서 경기가 바로 끝나지 않게 한다.
+     *   java com.typingarena.minigames.tugofwar.team.TeamMatch [팀당 인원=100] [스레드=코어 수] [초=5]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int perTeam = args.length > 0 ? Integer.parseInt(args[0]) : MAX_TEAM;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        TeamMatch match = new TeamMatch(new GameBalance(0.01, 0.01, 0, 0), WordDictionary.defaultDictionary());
+        for (int i = 0; i < perTeam; i++) match.join(TeamRope.LEFT);
+        for (int i = 0; i < perTeam; i++) match.join(TeamRope.RIGHT);
+        match.start(42L);
+
+        int n = perTeam * 2;
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread[] workers = new Thread[threads];
+        for (int w = 0; w < threads; w++) {
+            int id = w;
+            workers[w] = new Thread(() -> {
+                Random r = new Random(id);
+                while (!stop.get() && match.isRunning()) {
+                    for (int p = id; p < n; p += threads) {
+                        match.submit(p, r.nextInt(10) == 0 ? "?" : match.currentWord(p));
+                    }
+                }
+            }, "team-input-" + w);
+            workers[w].start();
+        }
+
+        long step = GameLogic.TICK_MS * 1_000_000L;
+        long t0 = System.nanoTime();
+        long next = t0 + step;
+        long end = t0 + seconds * 1_000_000_000L;
+        int ticks = 0;
+        while (match.isRunning() && System.nanoTime() < end) {
+            long wait;
+            while ((wait = next - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+            next += step;
+            match.tick();
+            if (++ticks % 10 == 0) System.out.printf("t=%2ds pos %7.2f%n", ticks / 10, match.getPos());
+        }
+        stop.set(true);
+        for (Thread w : workers) w.join();
+        double secs = (System.nanoTime() - t0) / 1e9;
+
+        long answers = 0;
+        long[] expected = new long[2];
+        for (int p = 0; p < n; p++) {
+            answers += match.getCorrect(p) + match.getWrong(p);
+            expected[match.players[p].side] += match.getCorrect(p) * match.hit - match.getWrong(p) * match.miss;
+        }
+        TeamRope rope = match.getRope();
+        System.out.printf("팀당 %d명, 입력 스레드 %d개: 답 %,d개 (%,.0f/s), 틱 %d번, pos %.2f, 결과 %s%n",
+                perTeam, threads, answers, answers / secs, ticks, match.getPos(), match.getResult());
+        System.out.printf("힘 합 왼쪽 %,d / %,d, 오른쪽 %,d / %,d (밧줄 / 플레이어)%n",
+                rope.total(TeamRope.LEFT), expected[0], rope.total(TeamRope.RIGHT), expected[1]);
+    }
+}
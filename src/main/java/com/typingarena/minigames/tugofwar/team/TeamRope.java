@@ -0,0 +1,61 @@
+package com.typingarena.minigames.tugofwar.team;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 팀전 밧줄: 양쪽 팀이 밧줄 하나를 동시에 당긴다.
+ *
+ * 답 경로(플레이어 입력 스레드 여럿)는 자기 팀 힘 칸(LongAdder)에 더하기만 하고,
+ * 틱(스레드 하나)이 틱마다 한 번 두 칸의 합을 읽어 pos에 접는다. 그래서 답 경로에는
+ * 락도, 모두가 부딪히는 CAS 한 칸도 없다 (LongAdder는 경합이 보이면 셀을 코어 수만큼 늘린다).
+ * 접을 때 reset()하지 않고 누적 합에서 지난번 합을 빼서 쓰므로, 읽는 도중 더해진 힘도
+ * 잃지 않고 다음 틱에 들어간다.
+ *
+ * 힘은 0.01 단위 정수. 팀마다 인원수로 나눈 평균으로 접어서 인원이 달라도
+ * 같은 속도로 치면 비긴다 (한 명이 치는 속도로 한 팀이 치면 혼자 할 때만큼 움직임).
+ */
+public final class TeamRope {
+
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+
+    private final LongAdder[] force = {new LongAdder(), new LongAdder()};
+    private final long[] folded = new long[2]; // 지난번에 접은 누적 합 (틱 스레드 전용)
+    private final int[] size = new int[2];
+    private volatile double pos;               // -100(왼쪽 팀 승) ~ 100(오른쪽 팀 승)
+
+    TeamRope(int leftSize, int rightSize) {
+        size[LEFT] = Math.max(1, leftSize);
+        size[RIGHT] = Math.max(1, rightSize);
+    }
+
+    /** 답 경로: side 팀 쪽으로 hundredths(0.01 단위)만큼 당긴다. 음수면 덜 당김 (오답) */
+    public void pull(int side, long hundredths) {
+        force[side].add(hundredths);
+    }
+
+    public double getPos() {
+        return pos;
+    }
+
+    /** 지금까지 side 팀이 당긴 힘 합 (0.01 단위, 진행 중이면 근사값) */
+    public long total(int side) {
+        return force[side].sum();
+    }
+
+    /** 틱 스레드: 지난번 이후 더해진 힘을 pos에 접고 새 pos를 돌려준다 */
+    double fold() {
+        long right = force[RIGHT].sum();
+        long left = force[LEFT].sum();
+        double push = (right - folded[RIGHT]) / (100.0 * size[RIGHT])
+                - (left - folded[LEFT]) / (100.0 * size[LEFT]);
+        folded[RIGHT] = right;
+        folded[LEFT] = left;
+
+        double p = pos + push;
+        if (p > 100) p = 100;
+        if (p < -100) p = -100;
+        pos = p;
+        return p;
+    }
+}
@@ -0,0 +1,148 @@
+package com.typingarena.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 접속한 플레이어 한 명 (논블로킹 소켓 하나).
+ *
+ * - 읽기: 서버 이벤트 루프 스레드 전용. 줄 단위로 잘라서 GameServer.onLine()으로 넘김
+ * - 쓰기: 방이 있는 샤드 스레드와 이벤트 루프가 함께 쓰므로 synchronized.
+ *   바로 write() 해 보고, 남으면 outbound에 쌓아 두고 이벤트 루프에 OP_WRITE를 부탁한다.
+ *   outbound가 MAX_OUTBOUND를 넘는 느린 클라이언트는 끊는다.
+ * - 셀렉션 키(interestOps, cancel)와 소켓 닫기는 이벤트 루프 스레드만 한다. 다른 스레드의
+ *   close()는 닫힘 표시만 하고 루프에 넘긴다 (GameServer.closeLater)
+ * - 관전자(spectating)가 되면 쓰기는 SpectatorFanout이 소켓에 직접 하고 send()는 아무것도 안 한다.
+ */
+final class Connection {
+
+    private static final int MAX_OUTBOUND = 64 * 1024;
+
+    final SocketChannel channel;
+    final SelectionKey key;
+    private final GameServer server;
+
+    volatile Room room; // 명령을 보낼 방 (JOIN 전에는 null)
+    volatile boolean spectating;
+
+    private final ByteBuffer inbound = ByteBuffer.allocate(Protocol.MAX_LINE); // 한 줄이 다 들어가야 한다
+    private ByteBuffer outbound = ByteBuffer.allocate(1024);
+    private volatile boolean closed;
+    private boolean released; // 서버가 정리를 끝냈는지 (중복 정리 방지)
+
+    Connection(SocketChannel channel, SelectionKey key, GameServer server) {
+        this.channel = channel;
+        this.key = key;
+        this.server = server;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    // 방에서 나갈 때 (다른 방으로 이미 옮겨 갔으면 그대로 둔다)
+    void leftRoom(Room r) {
+        if (room == r) room = null;
+    }
+
+    /** 처음 한 번만 true (접속 수 집계용) */
+    synchronized boolean markReleased() {
+        if (released) return false;
+        released = true;
+        return true;
+    }
+
+    /** 읽을 수 있는 만큼 읽고 완성된 줄마다 handler를 부른다. 연결이 끝났으면 false. */
+    boolean read(GameServer handler) throws IOException {
+        int n = channel.read(inbound);
+        if (n < 0) return false;
+
+        inbound.flip();
+        int lineStart = inbound.position();
+        for (int i = inbound.position(); i < inbound.limit(); i++) {
+            if (inbound.get(i) == '\n') {
+                int end = i;
+                if (end > lineStart && inbound.get(end - 1) == '\r') end--;
+                String line = new String(inbound.array(), lineStart, end - lineStart, StandardCharsets.UTF_8);
+                lineStart = i + 1;
+                handler.onLine(this, line);
+                if (closed) return false;
+            }
+        }
+        inbound.position(lineStart);
+        inbound.compact();
+
+        // 줄바꿈 없이 버퍼가 가득 찼다 = MAX_LINE을 넘는 줄
+        return inbound.hasRemaining();
+    }
+
+    synchronized void send(byte[] data) {
+        if (closed || spectating) return;
+        if (outbound.position() == 0) {
+            // 쌓인 게 없으면 바로 보내 본다
+            try {
+                ByteBuffer direct = ByteBuffer.wrap(data);
+                channel.write(direct);
+                if (!direct.hasRemaining()) return;
+                enqueue(data, direct.position());
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            // 밀린 것이 새로 생겼다: OP_WRITE는 이벤트 루프가 건다
+            if (!closed) server.wantWrite(this);
+        } else {
+            enqueue(data, 0);
+        }
+    }
+
+    void send(String line) {
+        send(Protocol.line(line));
+    }
+
+    private void enqueue(byte[] data, int offset) {
+        int len = data.length - offset;
+        if (outbound.position() + len > MAX_OUTBOUND) {
+            close(); // 따라오지 못하는 클라이언트
+            return;
+        }
+        if (outbound.remaining() < len) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.min(MAX_OUTBOUND,
+                    Math.max(outbound.capacity() * 2, outbound.position() + len)));
+            outbound.flip();
+            bigger.put(outbound);
+            outbound = bigger;
+        }
+        outbound.put(data, offset, len);
+    }
+
+    /** OP_WRITE 때 호출: 밀린 데이터 내보내기 */
+    synchronized void flush() throws IOException {
+        outbound.flip();
+        channel.write(outbound);
+        outbound.compact();
+        if (outbound.position() == 0) {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        }
+    }
+
+    /** 어느 스레드에서든. 키 취소와 소켓 닫기는 이벤트 루프가 closeChannel()로 */
+    synchronized void close() {
+        if (closed) return;
+        closed = true;
+        server.closeLater(this);
+    }
+
+    /** 이벤트 루프 스레드 전용 (여러 번 불러도 됨) */
+    void closeChannel() {
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // 이미 끊긴 소켓
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.typingarena.server;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * GameServer에 붙는 단순 블로킹 클라이언트.
+ * Swing 화면(원격 모드)이나 수동 확인용으로 쓴다.
+ * 서버가 보내는 줄은 readLine()으로 하나씩 받는다.
+ */
+public class GameClient implements Closeable {
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final OutputStream out;
+
+    public GameClient(String host, int port) throws IOException {
+        socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(host, port), 3_000);
+        in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        out = socket.getOutputStream();
+    }
+
+    public void join(String room) throws IOException   { send(Protocol.JOIN + " " + room); }
+    public void start() throws IOException             { send(Protocol.START); }
+    public void answer(String typed) throws IOException { send(Protocol.ANSWER + " " + typed); }
+    public void item(String kind) throws IOException    { send(Protocol.ITEM + " " + kind); }
+
+    public void send(String line) throws IOException {
+        out.write(Protocol.line(line));
+        out.flush();
+    }
+
+    /** 서버가 보낸 다음 줄 (연결이 끊기면 null) */
+    public String readLine() throws IOException {
+        return in.readLine();
+    }
+
+    /** 주어진 명령(STATE, RESULT ...)으로 시작하는 줄이 올 때까지 읽는다. */
+    public String await(String command) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.startsWith(command)) return line;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            send(Protocol.QUIT);
+        } catch (IOException ignored) {
+            // 이미 끊김
+        }
+        socket.close();
+    }
+}
@@ -0,0 +1,342 @@
+package com.typingarena.server;
+
+import com.typingarena.minigames.tugofwar.GameLogic;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 헤드리스 줄다리기 게임 서버.
+ *
+ * 방(Room)마다 GameLogic을 하나씩 갖고, 정답 판정과 로프 위치는 서버가 결정한다.
+ * - 소켓 입출력: NIO 셀렉터 이벤트 루프 스레드 1개
+ * - 방 틱/명령 처리: TickScheduler 샤드 (방마다 샤드 하나에 고정)
+ * 방 상태는 자기 샤드 스레드만 만지므로 GameLogic에 락이 필요 없고,
+ * 입력은 읽히는 즉시 샤드로 넘어가 다음 틱을 기다리지 않고 반영된다.
+ * 셀렉션 키는 루프 스레드만 만진다: 샤드/팬아웃 스레드는 연결을 닫힘 표시하거나 OP_WRITE를
+ * 부탁하는 것까지만 하고 (pending), 실제 cancel/interestOps는 루프가 다음 바퀴에 한다.
+ * - 관전(WATCH): 방 샤드가 틱마다 프레임을 한 번 인코딩하고, SpectatorFanout 스레드가
+ *   그 공유 버퍼를 관전자 소켓들에 그대로 쓴다 (SpectatorHub 참고)
+ *
+ * 사용 예:
+ *   GameServer server = GameServer.open(new InetSocketAddress("127.0.0.1", 0));
+ *   server.start();               // 데몬 스레드에서 루프 시작
+ *   int port = server.getPort();  // 테스트는 루프백 + 임시 포트로
+ */
+public class GameServer implements AutoCloseable {
+
+    // 방 첫 틱을 슬롯 단위로 흩어 놓을 간격 (스케줄러 기본 해상도)
+    private static final int STAGGER_MS = 10;
+
+    private final Selector selector;
+    private final ServerSocketChannel acceptor;
+    private final TickScheduler scheduler;
+    private final SpectatorFanout fanout;
+    private final ConcurrentMap<String, Room> rooms = new ConcurrentHashMap<>();
+    private final AtomicInteger roomSeq = new AtomicInteger();
+    // 다른 스레드가 루프에 넘긴 연결: 닫혔으면 키 취소 + 소켓 닫기, 아니면 OP_WRITE 걸기
+    private final ConcurrentLinkedQueue<Connection> pending = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running = true;
+    private Thread loopThread;
+
+    // 입력 한 줄을 읽은 시점부터 샤드에서 상태 반영 + 응답을 큐에 넣기까지 걸린 시간
+    private final LongAdder inputs = new LongAdder();
+    private final LongAdder inputNanosTotal = new LongAdder();
+    private final AtomicLong inputNanosMax = new AtomicLong();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private GameServer(Selector selector, ServerSocketChannel acceptor, TickScheduler scheduler) throws IOException {
+        this.selector = selector;
+        this.acceptor = acceptor;
+        this.scheduler = scheduler;
+        this.fanout = new SpectatorFanout(this);
+    }
+
+    public static GameServer open(InetSocketAddress bind) throws IOException {
+        return open(bind, new TickScheduler());
+    }
+
+    public static GameServer open(InetSocketAddress bind, TickScheduler scheduler) throws IOException {
+        Selector selector = Selector.open();
+        ServerSocketChannel acceptor = ServerSocketChannel.open();
+        acceptor.bind(bind, 1024);
+        acceptor.configureBlocking(false);
+        acceptor.register(selector, SelectionKey.OP_ACCEPT);
+        GameServer server = new GameServer(selector, acceptor, scheduler);
+        server.fanout.start();
+        return server;
+    }
+
+    public TickScheduler getScheduler() {
+        return scheduler;
+    }
+
+    SpectatorFanout getFanout() {
+        return fanout;
+    }
+
+    public int getPort() {
+        return acceptor.socket().getLocalPort();
+    }
+
+    public void start() {
+        loopThread = new Thread(this::run, "game-server");
+        loopThread.setDaemon(true);
+        loopThread.start();
+    }
+
+    // ===== 이벤트 루프 =====
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                drainPending();
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection c = (Connection) key.attachment();
+                    if (c.isClosed()) continue; // 다음 바퀴에 drainPending()이 정리
+                    try {
+                        if (key.isWritable()) c.flush();
+                        if (key.isReadable() && !c.read(this)) disconnect(c);
+                    } catch (IOException e) {
+                        disconnect(c);
+                    } catch (CancelledKeyException e) {
+                        disconnect(c); // 키 하나 때문에 루프가 죽지 않도록
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("서버 루프 오류", e);
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel ch;
+        while ((ch = acceptor.accept()) != null) {
+            ch.configureBlocking(false);
+            ch.socket().setTcpNoDelay(true);
+            SelectionKey key = ch.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(ch, key, this));
+            connections.incrementAndGet();
+        }
+    }
+
+    // Connection.close()에서 (어느 스레드든)
+    void closeLater(Connection c) {
+        pending.add(c);
+        selector.wakeup();
+    }
+
+    // Connection.send()가 다 못 보내고 쌓아 뒀을 때 (어느 스레드든)
+    void wantWrite(Connection c) {
+        pending.add(c);
+        selector.wakeup();
+    }
+
+    private void drainPending() {
+        Connection c;
+        while ((c = pending.poll()) != null) {
+            if (c.isClosed()) {
+                c.closeChannel();
+            } else if (c.key.isValid()) {
+                c.key.interestOps(c.key.interestOps() | SelectionKey.OP_WRITE);
+            }
+        }
+    }
+
+    // ===== 방 관리 (어느 스레드에서 불러도 됨) =====
+
+    private Room createRoom(String name) {
+        Room r = new Room(name, scheduler.nextShard(), this);
+        int stagger = (roomSeq.getAndIncrement() % (GameLogic.TICK_MS / STAGGER_MS)) * STAGGER_MS;
+        r.tickHandle = scheduler.schedule(r.shard, r::tick, GameLogic.TICK_MS, GameLogic.TICK_MS + stagger);
+        return r;
+    }
+
+    private void joinRoom(Connection c, String name) {
+        Room r = rooms.computeIfAbsent(name, this::createRoom);
+        c.room = r;
+        r.shard.execute(() -> {
+            // 그 사이 마지막 플레이어가 나가서 닫힌 방이면 새로 만든다
+            if (r.closed) joinRoom(c, name);
+            else if (c.room == r) r.join(c);
+        });
+    }
+
+    // 테스트용: 이름으로 방 찾기 (없으면 null)
+    Room getRoom(String name) {
+        return rooms.get(name);
+    }
+
+    // Room.leave()에서 마지막 플레이어가 나갔을 때
+    void removeRoom(Room r) {
+        rooms.remove(r.name, r);
+    }
+
+    void release(Connection c) {
+        if (c.markReleased()) connections.decrementAndGet();
+    }
+
+    private void watch(Connection c, Room r) {
+        c.spectating = true;
+        try {
+            c.channel.setOption(StandardSocketOptions.SO_SNDBUF, SpectatorFanout.SEND_BUFFER);
+        } catch (IOException ignored) {
+            // 기본 버퍼로 진행
+        }
+        r.shard.execute(() -> {
+            if (r.closed) disconnect(c);
+            else r.watch(c);
+        });
+    }
+
+    private void disconnect(Connection c) {
+        c.close();
+        Room r = c.room;
+        if (r != null) r.shard.execute(() -> r.leave(c));
+        release(c);
+    }
+
+    // Connection.read()가 줄마다 호출 (이벤트 루프 스레드)
+    void onLine(Connection c, String line) {
+        long t0 = System.nanoTime();
+
+        int sp = line.indexOf(' ');
+        String cmd = sp < 0 ? line : line.substring(0, sp);
+        String arg = sp < 0 ? "" : line.substring(sp + 1).trim();
+
+        if (c.spectating) {
+            if (cmd.equals(Protocol.QUIT)) disconnect(c);
+            return;
+        }
+
+        Room r = c.room;
+        switch (cmd) {
+            case Protocol.JOIN:
+                if (arg.isEmpty()) {
+                    c.send(Protocol.ERR + " room name required");
+                    break;
+                }
+                if (r != null) r.shard.execute(() -> r.leave(c));
+                joinRoom(c, arg);
+                break;
+            case Protocol.START:
+                if (requireRoom(c)) r.shard.execute(() -> {
+                    if (r.owns(c)) r.start();
+                });
+                break;
+            case Protocol.ANSWER:
+                if (requireRoom(c)) r.shard.execute(() -> {
+                    if (r.owns(c)) r.answer(c, arg);
+                    recordInput(t0);
+                });
+                break;
+            case Protocol.ITEM:
+                if (requireRoom(c)) r.shard.execute(() -> {
+                    if (r.owns(c)) r.item(arg);
+                    recordInput(t0);
+                });
+                break;
+            case Protocol.WATCH: {
+                Room target = rooms.get(arg);
+                if (r != null) c.send(Protocol.ERR + " watch from a new connection");
+                else if (target == null) c.send(Protocol.ERR + " no such room");
+                else watch(c, target);
+                break;
+            }
+            case Protocol.QUIT:
+                disconnect(c);
+                break;
+            default:
+                c.send(Protocol.ERR + " unknown command");
+        }
+    }
+
+    private void recordInput(long t0) {
+        long dt = System.nanoTime() - t0;
+        inputs.increment();
+        inputNanosTotal.add(dt);
+        inputNanosMax.accumulateAndGet(dt, Math::max);
+    }
+
+    private boolean requireRoom(Connection c) {
+        if (c.room != null) return true;
+        c.send(Protocol.ERR + " join a room first");
+        return false;
+    }
+
+    // ===== 모니터링용 =====
+    public int getConnectionCount() { return connections.get(); }
+    public int getRoomCount()       { return rooms.size(); }
+    public long getInputCount()     { return inputs.sum(); }
+    public long getInputNanosMax()  { return inputNanosMax.get(); }
+    public long getSpectatorCount() { return fanout.spectatorCount(); }
+
+    public double getInputNanosAvg() {
+        long n = inputs.sum();
+        return n == 0 ? 0.0 : (double) inputNanosTotal.sum() / n;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        if (loopThread != null) {
+            try {
+                loopThread.join(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        scheduler.close();
+        fanout.close();
+    }
+
+    private void closeQuietly() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection) {
+                Connection c = (Connection) key.attachment();
+                c.close();
+                c.closeChannel();
+            }
+        }
+        try {
+            acceptor.close();
+            selector.close();
+        } catch (IOException ignored) {
+            // 종료 중
+        }
+    }
+
+    // 실행: java com.typingarena.server.GameServer [포트]
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        GameServer server = open(new InetSocketAddress(port));
+        System.out.println("Typing Arena 서버 시작: " + server.getPort());
+        server.run();
+    }
+}
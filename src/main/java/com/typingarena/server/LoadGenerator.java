@@ -0,0 +1,123 @@
+package com.typingarena.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * 루프백 부하 테스트.
+ * 같은 JVM에 GameServer를 띄우고 플레이어 N명을 논블로킹 소켓으로 붙여서
+ * 각자 (생각 시간) 간격으로 정답을 보내고 RESULT가 올 때까지의 왕복 시간을 잰다.
+ *
+ *   java com.typingarena.server.LoadGenerator [플레이어 수] [방당 인원] [초]
+ *
+ * 접속 수가 많으면 ulimit -n 을 먼저 늘려야 한다.
+ */
+public class LoadGenerator {
+
+    private static final long THINK_NANOS = 200_000_000L; // 정답 간격 200ms
+
+    private static final class Player {
+        final SocketChannel ch;
+        final ByteBuffer in = ByteBuffer.allocate(8 * 1024);
+        String word;
+        long sentAt;      // 0이면 대기 중인 답 없음
+        long nextSendAt;
+
+        Player(SocketChannel ch) {
+            this.ch = ch;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int perRoom = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        try (GameServer server = GameServer.open(new InetSocketAddress("127.0.0.1", 0));
+             Selector selector = Selector.open()) {
+            server.start();
+
+            Player[] all = new Player[players];
+            for (int i = 0; i < players; i++) {
+                SocketChannel ch = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.getPort()));
+                ch.socket().setTcpNoDelay(true);
+                ch.configureBlocking(false);
+                all[i] = new Player(ch);
+                ch.register(selector, SelectionKey.OP_READ, all[i]);
+                write(ch, Protocol.JOIN + " room-" + (i / perRoom) + "\n" + Protocol.START + "\n");
+            }
+            System.out.printf("connected %,d players in %,d rooms%n", players, (players + perRoom - 1) / perRoom);
+
+            long[] rtt = new long[1 << 20];
+            int samples = 0;
+            long end = System.nanoTime() + seconds * 1_000_000_000L;
+
+            while (System.nanoTime() < end) {
+                selector.select(5);
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    Player p = (Player) key.attachment();
+                    if (p.ch.read(p.in) < 0) {
+                        key.cancel();
+                        continue;
+                    }
+                    p.in.flip();
+                    int start = p.in.position();
+                    for (int i = start; i < p.in.limit(); i++) {
+                        if (p.in.get(i) != '\n') continue;
+                        String line = new String(p.in.array(), start, i - start, StandardCharsets.UTF_8);
+                        start = i + 1;
+
+                        if (line.startsWith(Protocol.STATE)) {
+                            String[] f = line.split(" ");
+                            p.word = f[5];
+                        } else if (line.startsWith(Protocol.RESULT) && p.sentAt != 0) {
+                            long now = System.nanoTime();
+                            if (samples < rtt.length) rtt[samples++] = now - p.sentAt;
+                            p.sentAt = 0;
+                            p.nextSendAt = now + THINK_NANOS;
+                        } else if (line.startsWith(Protocol.END)) {
+                            write(p.ch, Protocol.START + "\n");
+                        }
+                    }
+                    p.in.position(start);
+                    p.in.compact();
+                }
+
+                long now = System.nanoTime();
+                for (Player p : all) {
+                    if (p.sentAt == 0 && p.word != null && now >= p.nextSendAt) {
+                        p.sentAt = now;
+                        write(p.ch, Protocol.ANSWER + " " + p.word + "\n");
+                    }
+                }
+            }
+
+            Arrays.sort(rtt, 0, samples);
+            System.out.printf("answers: %,d (%.0f/s)%n", samples, samples / (double) seconds);
+            if (samples > 0) {
+                System.out.printf("round trip  p50 %.2fms  p99 %.2fms  max %.2fms%n",
+                        rtt[samples / 2] / 1e6, rtt[(int) (samples * 0.99)] / 1e6, rtt[samples - 1] / 1e6);
+            }
+            System.out.printf("server input->state  avg %.1fus  max %.1fus%n",
+                    server.getInputNanosAvg() / 1e3, server.getInputNanosMax() / 1e3);
+            System.out.println("scheduler: " + server.getScheduler().describeStats());
+
+            for (Player p : all) p.ch.close();
+        }
+    }
+
+    private static void write(SocketChannel ch, String s) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
+        while (buf.hasRemaining()) ch.write(buf);
+    }
+}
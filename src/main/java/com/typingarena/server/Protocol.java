@@ -0,0 +1,57 @@
+package com.typingarena.server;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 서버-클라이언트 줄 단위 텍스트 프로토콜 (UTF-8, '\n'으로 끝).
+ *
+ * 클라이언트 → 서버
+ *   JOIN <방이름>          방에 들어감 (없으면 새로 만듦)
+ *   START                  게임 시작 (이미 진행 중이면 무시)
+ *   ANSWER <단어>          답 제출
+ *   ITEM <이름>            아이템 사용 (EffectType.getWireName(): POWER|ANCHOR|BLIND ...)
+ *   WATCH <방이름>         관전 (새 연결의 첫 명령으로만. 이후에는 QUIT 말고는 무시)
+ *   QUIT                   연결 종료
+ *
+ * 서버 → 클라이언트
+ *   STATE <pos> <score> <combo> <timeMs> <단어> <효과비트>   (비트 = EffectType.getBit())
+ *   RESULT OK|MISS         방금 보낸 ANSWER의 판정
+ *   END <사유>             게임 종료
+ *   ERR <메시지>
+ *
+ * 서버 → 관전자 (틱마다 한 프레임, <seq>는 1씩 는다)
+ *   SPEC <seq> <pos> <score> <combo> <timeMs> <단어> <효과비트>   전체 상태 (STATE와 같은 순서)
+ *   DELTA <seq> [p<pos>] [s<score>] [c<combo>] [t<timeMs>] [w<단어>] [e<효과비트>]
+ *                          seq - 1 프레임에서 바뀐 값만. 예: DELTA 42 p-12.5 t55800
+ *   END <사유>             프레임 바로 뒤에 붙어서 옴
+ * 관전자가 밀리면 중간 프레임을 버리고 최신 SPEC 하나를 보낸다 (seq가 건너뜀).
+ */
+public final class Protocol {
+
+    public static final String JOIN   = "JOIN";
+    public static final String START  = "START";
+    public static final String ANSWER = "ANSWER";
+    public static final String ITEM   = "ITEM";
+    public static final String WATCH  = "WATCH";
+    public static final String QUIT   = "QUIT";
+
+    public static final String STATE  = "STATE";
+    public static final String RESULT = "RESULT";
+    public static final String END    = "END";
+    public static final String ERR    = "ERR";
+    public static final String SPEC   = "SPEC";
+    public static final String DELTA  = "DELTA";
+
+    // 받는 한 줄 최대 길이 (UTF-8 바이트, 줄바꿈 포함. 넘으면 연결을 끊는다)
+    public static final int MAX_LINE = 256;
+
+    static final byte[] RESULT_OK   = line(RESULT + " OK");
+    static final byte[] RESULT_MISS = line(RESULT + " MISS");
+
+    private Protocol() {
+    }
+
+    static byte[] line(String s) {
+        return (s + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+}
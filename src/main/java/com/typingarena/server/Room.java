@@ -0,0 +1,126 @@
+package com.typingarena.server;
+
+import com.typingarena.minigames.tugofwar.EffectType;
+import com.typingarena.minigames.tugofwar.GameLogic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 방 하나 = GameLogic 하나 (서버가 정답을 판정하는 권위 상태).
+ * 방 안의 플레이어들은 같은 밧줄을 함께 당긴다.
+ *
+ * 방은 TickScheduler의 한 샤드에 고정되고, 아래 메서드는 전부
+ * 그 샤드 스레드에서만 호출된다 (다른 스레드는 shard.execute()로 넘김).
+ */
+final class Room {
+
+    final String name;
+    final TickScheduler.Shard shard;
+    final GameLogic logic = new GameLogic();
+    final List<Connection> players = new ArrayList<>();
+    final SpectatorHub spectators;
+
+    private final GameServer server;
+    TickScheduler.Handle tickHandle;
+    volatile boolean closed; // 마지막 플레이어가 나가면 true, 다시 쓰지 않음
+
+    Room(String name, TickScheduler.Shard shard, GameServer server) {
+        this.name = name;
+        this.shard = shard;
+        this.server = server;
+        this.spectators = new SpectatorHub(name);
+    }
+
+    void join(Connection c) {
+        players.add(c);
+        c.send(encodeState());
+    }
+
+    // 관전자는 프레임 링만 공유하고 보내기는 팬아웃 스레드가 한다
+    void watch(Connection c) {
+        if (spectators.head() < 0) {
+            spectators.publish(logic, null); // 아직 시작 전인 방도 첫 화면은 보이도록
+        }
+        server.getFanout().add(new Spectator(c, spectators));
+    }
+
+    void leave(Connection c) {
+        players.remove(c);
+        c.leftRoom(this);
+        if (players.isEmpty()) {
+            closed = true;
+            spectators.closed = true;
+            server.getFanout().wakeup(spectators);
+            tickHandle.cancel();
+            server.removeRoom(this);
+        }
+    }
+
+    // c가 아직 이 방 소속인지 (다른 방으로 옮기는 중이면 명령을 버린다)
+    boolean owns(Connection c) {
+        return c.room == this && !closed;
+    }
+
+    void start() {
+        if (logic.isRunning()) return;
+        logic.startGame();
+        broadcast(encodeState());
+    }
+
+    void answer(Connection from, String typed) {
+        boolean ok = logic.submitAnswer(typed);
+        from.send(ok ? Protocol.RESULT_OK : Protocol.RESULT_MISS);
+        broadcast(encodeState());
+    }
+
+    void item(String kind) {
+        EffectType type = EffectType.byWireName(kind);
+        if (type == null) return;
+        logic.useItem(type);
+        broadcast(encodeState());
+    }
+
+    /** 스케줄러가 100ms마다 호출. 진행 중인 방만 상태를 보낸다. */
+    void tick() {
+        if (logic.isRunning()) {
+            String result = logic.tick();
+            broadcast(encodeState());
+            if (result != null) {
+                broadcast(Protocol.line(Protocol.END + " " + result));
+            }
+            // 관전 프레임은 틱마다 한 번 (그 사이 답/아이템은 다음 프레임에 합쳐짐)
+            spectators.publish(logic, result);
+            server.getFanout().wakeup(spectators);
+        }
+
+        // 쓰기가 밀려서 끊긴 플레이어 정리
+        for (int i = players.size() - 1; i >= 0 && !closed; i--) {
+            Connection c = players.get(i);
+            if (c.isClosed()) {
+                leave(c);
+                server.release(c);
+            }
+        }
+    }
+
+    // 한 번만 인코딩해서 같은 바이트 배열을 모든 플레이어에게 보낸다
+    private void broadcast(byte[] line) {
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).send(line);
+        }
+    }
+
+    private byte[] encodeState() {
+        long bits = logic.getEffects().getActiveMask();
+        StringBuilder sb = new StringBuilder(64);
+        sb.append(Protocol.STATE).append(' ')
+          .append(Math.round(logic.getPos() * 100) / 100.0).append(' ')
+          .append(logic.getScore()).append(' ')
+          .append(logic.getCombo()).append(' ')
+          .append(logic.getTimeMs()).append(' ')
+          .append(logic.getCurrentWord()).append(' ')
+          .append(bits);
+        return Protocol.line(sb.toString());
+    }
+}
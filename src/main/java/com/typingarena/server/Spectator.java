@@ -0,0 +1,34 @@
+package com.typingarena.server;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+
+/**
+ * 관전자 한 명의 보내기 상태 (SpectatorFanout 스레드 전용).
+ *
+ * 관전자마다 들고 있는 것은 링 사본(view) 하나와 어디까지 보냈는지뿐이라
+ * 느린 관전자가 있어도 메모리가 늘지 않는다. 보내다 만 프레임의 칸이 덮이게 생겼을 때만
+ * 남은 바이트(반 칸 이하)를 rest로 옮겨 둔다.
+ */
+final class Spectator {
+
+    final Connection conn;
+    final SpectatorHub hub;
+    final ByteBuffer view;     // hub.ring의 duplicate (position/limit만 관전자별)
+    ByteBuffer rest;           // 덮이기 전에 옮겨 둔 보내다 만 프레임 (필요할 때 한 번 할당)
+    ByteBuffer out;            // 지금 보내는 쪽: view 또는 rest
+
+    long sent = -1;            // 끝까지 보낸 마지막 프레임 번호
+    long sending = -1;         // 보내는 중인 프레임 (view에 남은 바이트가 있으면)
+    SelectionKey writeKey;     // 팬아웃 셀렉터 등록 (소켓이 가득 찼을 때만 OP_WRITE)
+    boolean stalled;           // OP_WRITE를 기다리는 중
+    long stalledSince;
+
+    Spectator(Connection conn, SpectatorHub hub) {
+        this.conn = conn;
+        this.hub = hub;
+        this.view = hub.ring.duplicate();
+        this.view.limit(0);
+        this.out = view;
+    }
+}
@@ -0,0 +1,291 @@
+package com.typingarena.server;
+
+import com.typingarena.common.metrics.Counter;
+import com.typingarena.common.metrics.Gauge;
+import com.typingarena.common.metrics.LatencyHistogram;
+import com.typingarena.common.metrics.MetricRegistry;
+import com.typingarena.minigames.tugofwar.GameMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 관전 프레임을 모든 관전자 소켓에 내보내는 스레드 하나 (서버에 하나).
+ *
+ * 방 샤드가 SpectatorHub.publish() 후 wakeup(hub)을 부르면, 그 방의 관전자만 한 바퀴 돌며
+ * 각자 다음에 보낼 프레임을 한 번의 write()로 보낸다 (공유 링에서 바로, 복사 없음).
+ * 방마다 대기열에는 한 번만 오른다 (SpectatorHub.markDirty). 프레임이 안 올라오는 방(끝난 경기)의
+ * 멈춘 관전자도 끊을 수 있게 CHECK_MS마다 한 번은 모든 방을 돈다.
+ * - 바로 앞 프레임까지 받은 관전자: 최신 델타
+ * - 처음이거나 두 프레임 이상 밀린 관전자: 최신 키 프레임 하나로 합친다 (밀린 델타는 버림)
+ * - 소켓이 가득 차서 다 못 쓴 관전자는 OP_WRITE를 걸어 두고 건너뛴다. 그사이 보내던 칸이
+ *   덮이게 되면 남은 바이트만 관전자 쪽 작은 버퍼로 옮긴다 (줄이 중간에 끊기지 않게).
+ *   다시 보낼 수 있게 되면 그 나머지 + 최신 키 프레임을 받는다.
+ * - STALL_TIMEOUT_MS 동안 한 바이트도 못 보낸 관전자는 끊는다.
+ * 관전자별 큐가 없어서 느린 관전자가 몇 명이든 메모리는 관전자 수에만 비례한다.
+ *
+ * 관전자 소켓의 읽기(QUIT/끊김 감지)는 GameServer 이벤트 루프가 그대로 맡는다.
+ * 지표: typingarena_spectator_* (GameMetrics.REGISTRY)
+ */
+final class SpectatorFanout implements AutoCloseable {
+
+    // 관전자 소켓 보내기 버퍼. 작게 잡아서 느린 관전자가 커널에 쌓아 두는 양도 제한한다
+    static final int SEND_BUFFER = 4 * 1024;
+    static final long STALL_TIMEOUT_MS = 30_000;
+    private static final long CHECK_MS = 1_000;
+
+    private static final MetricRegistry REGISTRY = GameMetrics.REGISTRY;
+    static final Gauge SPECTATORS =
+            REGISTRY.gauge("spectators", "관전자 수 (JVM 안의 서버 전체 합)");
+    static final Counter FRAMES =
+            REGISTRY.counter("spectator_frames", "관전자에게 보낸 프레임 수 (델타 + 키)");
+    static final Counter COALESCED =
+            REGISTRY.counter("spectator_coalesced", "밀려서 키 프레임으로 합쳐 버린 프레임 수");
+    static final Counter DROPPED =
+            REGISTRY.counter("spectator_dropped", "오래 멈춰 있어서 끊은 관전자 수");
+    static final Counter PARKED =
+            REGISTRY.counter("spectator_parked", "칸이 덮이기 전에 보내다 만 프레임을 옮겨 둔 횟수");
+    static final LatencyHistogram SWEEP =
+            REGISTRY.histogram("spectator_sweep", "프레임이 올라온 방들의 관전자에게 한 바퀴 보내는 시간");
+
+    private final GameServer server;
+    private final Selector selector;
+    private final ConcurrentLinkedQueue<Spectator> joining = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<SpectatorHub> dirty = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile long stallTimeoutNanos = STALL_TIMEOUT_MS * 1_000_000L;
+    private volatile int spectators; // 이 서버의 관전자 수 (sweep()마다 count를 옮겨 둔다)
+
+    // 여기부터 팬아웃 스레드 전용
+    private final ArrayList<SpectatorHub> hubs = new ArrayList<>();  // 관전자가 한 명 이상 있는 방
+    private final ArrayList<SpectatorHub> ready = new ArrayList<>(); // 이번 바퀴에 돌 방
+    private long pass;         // 바퀴 번호 (ready 중복 방지, SpectatorHub.fanoutPass)
+    private int count;         // 관전자 수
+    private long lastCheck;
+
+    SpectatorFanout(GameServer server) throws IOException {
+        this.server = server;
+        this.selector = Selector.open();
+        this.thread = new Thread(this::run, "spectator-fanout");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /** 관전자 추가 (어느 스레드에서든). 첫 프레임은 다음 바퀴에 키 프레임으로 */
+    void add(Spectator s) {
+        joining.add(s);
+        selector.wakeup();
+    }
+
+    /** 방에 새 프레임이 올라왔거나 방이 닫혔을 때 (방 샤드 스레드) */
+    void wakeup(SpectatorHub hub) {
+        if (hub.markDirty()) {
+            dirty.add(hub);
+            selector.wakeup();
+        }
+    }
+
+    /** 이 시간 동안 한 바이트도 못 보낸 관전자를 끊는다 (기본 STALL_TIMEOUT_MS, 테스트용) */
+    void setStallTimeoutMs(long ms) {
+        stallTimeoutNanos = ms * 1_000_000L;
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select(CHECK_MS);
+                pass++;
+                Spectator s;
+                while ((s = joining.poll()) != null) {
+                    attach(s);
+                    queue(s.hub); // 첫 키 프레임
+                }
+                SpectatorHub h;
+                while ((h = dirty.poll()) != null) {
+                    h.clearDirty();
+                    queue(h);
+                }
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    Spectator w = (Spectator) key.attachment();
+                    w.stalled = false;
+                    queue(w.hub);
+                    try {
+                        key.interestOps(0);
+                    } catch (CancelledKeyException e) {
+                        // 서버 루프가 소켓을 닫았다. 이번 바퀴에 빠진다
+                    }
+                }
+
+                long now = System.nanoTime();
+                if (now - lastCheck >= CHECK_MS * 1_000_000L) {
+                    lastCheck = now;
+                    for (int i = 0; i < hubs.size(); i++) queue(hubs.get(i));
+                }
+                sweep(now);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("관전 팬아웃 루프 오류", e);
+        } finally {
+            SPECTATORS.add(-spectators); // 닫힌 서버의 관전자는 전체 합에서 뺀다
+            spectators = 0;
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // 종료 중
+            }
+        }
+    }
+
+    private void attach(Spectator s) {
+        SpectatorHub hub = s.hub;
+        if (hub.fanoutIndex < 0) {
+            hub.fanoutIndex = hubs.size();
+            hubs.add(hub);
+        }
+        hub.watchers.add(s);
+        count++;
+    }
+
+    // 관전자가 다 나간 방은 목록에서 뺀다 (빈 자리는 마지막 방으로)
+    private void detach(SpectatorHub hub) {
+        int i = hub.fanoutIndex;
+        SpectatorHub last = hubs.remove(hubs.size() - 1);
+        if (last != hub) {
+            hubs.set(i, last);
+            last.fanoutIndex = i;
+        }
+        hub.fanoutIndex = -1;
+    }
+
+    private void queue(SpectatorHub hub) {
+        if (hub.fanoutPass == pass || hub.fanoutIndex < 0) return;
+        hub.fanoutPass = pass;
+        ready.add(hub);
+    }
+
+    // 대기열에 오른 방의 관전자만 한 바퀴: 각자 한 번씩만 write()
+    private void sweep(long t0) {
+        int swept = 0;
+        for (int r = 0; r < ready.size(); r++) {
+            SpectatorHub hub = ready.get(r);
+            ArrayList<Spectator> list = hub.watchers;
+            swept += list.size();
+            for (int i = list.size() - 1; i >= 0; i--) {
+                Spectator s = list.get(i);
+                park(s);
+                boolean dead = expired(s, t0);
+                if (s.stalled && !dead) continue;
+                if (dead || !pump(s)) {
+                    // 빈 자리는 마지막 관전자로 메운다 (순서는 상관없음)
+                    list.set(i, list.get(list.size() - 1));
+                    list.remove(list.size() - 1);
+                    drop(s);
+                }
+            }
+            if (list.isEmpty()) detach(hub);
+        }
+        ready.clear();
+        if (count != spectators) {
+            SPECTATORS.add(count - spectators); // 전체 게이지는 서버들이 같이 쓰므로 차이만
+            spectators = count;
+        }
+        if (swept > 0) SWEEP.recordSince(t0);
+    }
+
+    // 연결/방이 끝났거나 너무 오래 멈춘 관전자
+    private boolean expired(Spectator s, long now) {
+        if (s.conn.isClosed() || s.hub.closed) return true;
+        if (s.stalled && now - s.stalledSince > stallTimeoutNanos) {
+            DROPPED.inc();
+            return true;
+        }
+        return false;
+    }
+
+    // 보내던 칸을 샤드가 곧 덮으면 (head + 1 칸) 남은 바이트를 관전자 버퍼로 옮긴다
+    private static void park(Spectator s) {
+        if (s.out != s.view || !s.view.hasRemaining()) return;
+        if (s.hub.head() - s.sending < SpectatorHub.RING - 2) return;
+        if (s.rest == null) s.rest = ByteBuffer.allocate(SpectatorHub.SLOT / 2);
+        s.rest.clear();
+        s.rest.put(s.view);
+        s.rest.flip();
+        s.out = s.rest;
+        PARKED.inc();
+    }
+
+    // 보낼 것이 있으면 한 번 보낸다. 관전자를 빼야 하면 false
+    private boolean pump(Spectator s) {
+        SpectatorHub hub = s.hub;
+        long head = hub.head();
+
+        try {
+            if (s.out.hasRemaining()) {
+                s.conn.channel.write(s.out);
+                if (s.out.hasRemaining()) return stall(s);
+                s.sent = s.sending;
+            }
+            if (head <= s.sent) return true;
+
+            long next = head;
+            if (s.sent >= 0 && head == s.sent + 1) {
+                s.view.limit(hub.deltaEnd(next)).position(hub.deltaStart(next));
+            } else {
+                if (s.sent >= 0) COALESCED.add(head - s.sent - 1);
+                s.view.limit(hub.keyEnd(next)).position(hub.keyStart(next));
+            }
+            s.sending = next;
+            s.out = s.view;
+            FRAMES.inc();
+            s.conn.channel.write(s.view);
+            if (s.view.hasRemaining()) return stall(s);
+            s.sent = next;
+            return true;
+        } catch (IOException | CancelledKeyException e) {
+            return false; // 끊겼거나 서버 루프가 소켓을 닫았다
+        }
+    }
+
+    private boolean stall(Spectator s) throws IOException {
+        s.stalled = true;
+        s.stalledSince = System.nanoTime();
+        if (s.writeKey == null) {
+            s.writeKey = s.conn.channel.register(selector, SelectionKey.OP_WRITE, s);
+        } else {
+            s.writeKey.interestOps(SelectionKey.OP_WRITE);
+        }
+        return true;
+    }
+
+    private void drop(Spectator s) {
+        count--;
+        if (s.writeKey != null) s.writeKey.cancel();
+        s.conn.close();
+        server.release(s.conn);
+    }
+
+    /** 이 서버의 관전자 수 (최근 sweep 기준) */
+    int spectatorCount() {
+        return spectators;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+}
@@ -0,0 +1,203 @@
+package com.typingarena.server;
+
+import com.typingarena.minigames.tugofwar.GameLogic;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 방 하나의 관전 프레임 링 (쓰기 = 방의 샤드 스레드, 읽기 = SpectatorFanout 스레드).
+ *
+ * 틱마다 publish()가 상태를 한 번만 인코딩해서 링 칸 하나에 두 가지로 넣는다.
+ * - 델타: 직전 프레임에서 바뀐 값만 (DELTA, Protocol 참고). 바로 앞 프레임을 받은 관전자용
+ * - 키: 전체 상태 (SPEC). 처음 들어왔거나 밀려서 프레임을 건너뛰는 관전자용
+ * 관전자마다 다시 인코딩하거나 복사하지 않는다. 각 관전자는 링 전체를 가리키는
+ * ByteBuffer 사본(duplicate, 관전 시작 때 한 번) 하나로 칸 구간을 바로 소켓에 쓴다.
+ *
+ * 링은 다이렉트 버퍼 하나 (RING칸 * SLOT바이트). head(volatile)를 올리기 전에 칸을 다 채우므로
+ * 팬아웃 스레드는 head를 읽은 뒤 그 이하 칸을 읽으면 된다. 샤드는 head + 1 칸만 쓰므로
+ * head - RING + 2 보다 새 칸은 읽는 도중 덮이지 않는다.
+ *
+ * 이 방의 관전자 목록(watchers)도 여기 둔다 (팬아웃 스레드 전용). 팬아웃은 프레임이 올라온
+ * 방(dirty)의 관전자만 돈다.
+ */
+final class SpectatorHub {
+
+    static final int RING = 64;          // 6.4초 분량 (2의 거듭제곱)
+    static final int SLOT = 1024;
+    private static final int KEY_OFFSET = SLOT / 2;
+    private static final int MAX_TEXT_BYTES = 128; // 단어/종료 사유 한도 (델타/키 한 줄씩 + END가 반 칸 안에 들어가도록)
+
+    final String roomName;
+    final ByteBuffer ring = ByteBuffer.allocateDirect(RING * SLOT);
+    private final int[] deltaLen = new int[RING];
+    private final int[] keyLen = new int[RING];
+    private volatile long head = -1;     // 마지막으로 다 채운 프레임 번호 (-1 = 아직 없음)
+    volatile boolean closed;
+
+    // 팬아웃 쪽 상태
+    final ArrayList<Spectator> watchers = new ArrayList<>(); // 팬아웃 스레드 전용
+    int fanoutIndex = -1;                                    // SpectatorFanout.hubs 안 위치 (-1 = 없음)
+    long fanoutPass = -1;                                    // 마지막으로 돈 바퀴 번호
+    private final AtomicBoolean dirty = new AtomicBoolean(); // 팬아웃 대기열에 올라가 있는지
+
+    // 직전 프레임 값 (델타 기준, 샤드 스레드 전용)
+    private long lastPos = Long.MIN_VALUE; // 0.01 단위
+    private int lastScore = -1;
+    private int lastCombo = -1;
+    private int lastTime = -1;
+    private String lastWord;
+    private long lastEffects = -1;
+
+    SpectatorHub(String roomName) {
+        this.roomName = roomName;
+    }
+
+    long head() {
+        return head;
+    }
+
+    /** 팬아웃 대기열에 올려야 하면 true (이미 올라가 있으면 false) */
+    boolean markDirty() {
+        return dirty.compareAndSet(false, true);
+    }
+
+    /** 팬아웃이 이 방을 돌기 직전에 (그 뒤의 publish는 다시 대기열에 오른다) */
+    void clearDirty() {
+        dirty.set(false);
+    }
+
+    int deltaStart(long seq) {
+        return (int) (seq & (RING - 1)) * SLOT;
+    }
+
+    int deltaEnd(long seq) {
+        return deltaStart(seq) + deltaLen[(int) (seq & (RING - 1))];
+    }
+
+    int keyStart(long seq) {
+        return deltaStart(seq) + KEY_OFFSET;
+    }
+
+    int keyEnd(long seq) {
+        return keyStart(seq) + keyLen[(int) (seq & (RING - 1))];
+    }
+
+    /** 지금 상태를 다음 프레임으로 인코딩한다 (샤드 스레드). endReason이 있으면 END 줄을 붙인다 */
+    void publish(GameLogic logic, String endReason) {
+        long seq = head + 1;
+        int slot = (int) (seq & (RING - 1));
+        int base = slot * SLOT;
+
+        long pos = Math.round(logic.getPos() * 100);
+        int score = logic.getScore();
+        int combo = logic.getCombo();
+        int time = logic.getTimeMs();
+        String word = logic.getCurrentWord();
+        long effects = logic.getEffects().getActiveMask();
+
+        // 델타: DELTA <seq> [p<pos>] [s<score>] [c<combo>] [t<timeMs>] [w<word>] [e<effects>]
+        int at = putAscii(base, Protocol.DELTA);
+        at = putByte(at, ' ');
+        at = putLong(at, seq);
+        if (pos != lastPos)         at = putFixed2(putAscii(at, " p"), pos);
+        if (score != lastScore)     at = putLong(putAscii(at, " s"), score);
+        if (combo != lastCombo)     at = putLong(putAscii(at, " c"), combo);
+        if (time != lastTime)       at = putLong(putAscii(at, " t"), time);
+        if (!word.equals(lastWord)) at = putUtf8(putAscii(at, " w"), word);
+        if (effects != lastEffects) at = putLong(putAscii(at, " e"), effects);
+        at = putByte(at, '\n');
+        if (endReason != null) at = putEnd(at, endReason);
+        deltaLen[slot] = at - base;
+
+        // 키: SPEC <seq> <pos> <score> <combo> <timeMs> <word> <effects>  (STATE와 같은 순서)
+        int keyBase = base + KEY_OFFSET;
+        at = putAscii(keyBase, Protocol.SPEC);
+        at = putByte(at, ' ');
+        at = putLong(at, seq);
+        at = putFixed2(putByte(at, ' '), pos);
+        at = putLong(putByte(at, ' '), score);
+        at = putLong(putByte(at, ' '), combo);
+        at = putLong(putByte(at, ' '), time);
+        at = putUtf8(putByte(at, ' '), word);
+        at = putLong(putByte(at, ' '), effects);
+        at = putByte(at, '\n');
+        if (endReason != null) at = putEnd(at, endReason);
+        keyLen[slot] = at - keyBase;
+
+        lastPos = pos;
+        lastScore = score;
+        lastCombo = combo;
+        lastTime = time;
+        lastWord = word;
+        lastEffects = effects;
+        head = seq; // 칸을 다 채운 뒤에 공개
+    }
+
+    // ===== 바이트 쓰기 (할당 없음, 절대 위치) =====
+
+    private int putByte(int at, char c) {
+        ring.put(at, (byte) c);
+        return at + 1;
+    }
+
+    private int putAscii(int at, String s) {
+        for (int i = 0; i < s.length(); i++) ring.put(at++, (byte) s.charAt(i));
+        return at;
+    }
+
+    private int putLong(int at, long v) {
+        if (v < 0) {
+            ring.put(at++, (byte) '-');
+            v = -v;
+        }
+        long div = 1;
+        while (div <= v / 10) div *= 10;
+        for (; div > 0; div /= 10) ring.put(at++, (byte) ('0' + (v / div) % 10));
+        return at;
+    }
+
+    // 0.01 단위 정수를 "12.5" / "-3.25" / "0.0" 처럼 (Room.encodeState의 double 출력과 같은 값)
+    private int putFixed2(int at, long hundredths) {
+        if (hundredths < 0) {
+            ring.put(at++, (byte) '-');
+            hundredths = -hundredths;
+        }
+        at = putLong(at, hundredths / 100);
+        int frac = (int) (hundredths % 100);
+        ring.put(at++, (byte) '.');
+        ring.put(at++, (byte) ('0' + frac / 10));
+        if (frac % 10 != 0) ring.put(at++, (byte) ('0' + frac % 10));
+        return at;
+    }
+
+    // BMP 글자만 나오므로 (단어 목록/종료 사유) 3바이트까지. MAX_TEXT_BYTES를 넘으면 자른다
+    private int putUtf8(int at, String s) {
+        int limit = at + MAX_TEXT_BYTES;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (at + 1 > limit) break;
+                ring.put(at++, (byte) c);
+            } else if (c < 0x800) {
+                if (at + 2 > limit) break;
+                ring.put(at++, (byte) (0xC0 | c >> 6));
+                ring.put(at++, (byte) (0x80 | c & 0x3F));
+            } else {
+                if (at + 3 > limit) break;
+                ring.put(at++, (byte) (0xE0 | c >> 12));
+                ring.put(at++, (byte) (0x80 | c >> 6 & 0x3F));
+                ring.put(at++, (byte) (0x80 | c & 0x3F));
+            }
+        }
+        return at;
+    }
+
+    private int putEnd(int at, String reason) {
+        at = putAscii(at, Protocol.END);
+        at = putByte(at, ' ');
+        at = putUtf8(at, reason);
+        return putByte(at, '\n');
+    }
+}
@@ -0,0 +1,211 @@
+package com.typingarena.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * 관전 루프백 부하 테스트: 경기 하나를 관전자 N명이 본다.
+ *
+ * 이 JVM에 GameServer와 플레이어 한 명(정답을 계속 침)을 띄우고, 관전자 소켓들은
+ * 자식 JVM에서 붙인다 (파일 디스크립터 한도가 프로세스마다라서 양쪽 합이 한도를 넘지 않게).
+ * 관전자 중 일부(느린 관전자)는 2초 뒤부터 끝나기 4초 전까지 읽지 않는다. 프레임이 작아서
+ * 소켓 버퍼(받기 1KB + 서버 보내기 SEND_BUFFER)가 차는 데 20초쯤 걸린다.
+ * 그동안 서버는 그 관전자에게 보낼 프레임을 버리고 다시 읽기 시작하면 키 프레임 하나로 합쳐 보내야 하며,
+ * 나머지 관전자는 건너뛰는 프레임 없이 받아야 한다.
+ *
+ *   java com.typingarena.server.SpectatorLoad [관전자 수=10000] [초=30] [느린 관전자 %=5]
+ */
+public class SpectatorLoad {
+
+    private static final String ROOM = "arena";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--viewers")) {
+            runViewers(args[1], Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+                    Integer.parseInt(args[4]), Integer.parseInt(args[5]));
+            return;
+        }
+        int viewers = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int slowPct = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        try (GameServer server = GameServer.open(new InetSocketAddress("127.0.0.1", 0))) {
+            server.start();
+            Thread player = new Thread(() -> play(server.getPort()), "player");
+            player.setDaemon(true);
+            player.start();
+            Thread.sleep(300); // 방이 생길 때까지
+
+            String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+            Process child = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    SpectatorLoad.class.getName(), "--viewers", "127.0.0.1",
+                    String.valueOf(server.getPort()), String.valueOf(viewers),
+                    String.valueOf(seconds), String.valueOf(slowPct))
+                    .inheritIO()
+                    .start();
+
+            // 서버 쪽 지표를 초마다
+            long heap0 = usedHeap();
+            while (child.isAlive()) {
+                Thread.sleep(1_000);
+                System.out.printf("[server] spectators %,d  frames %,d  coalesced %,d  parked %,d  dropped %,d  sweep p50 %.2fms p99 %.2fms  heap +%,d KB%n",
+                        server.getSpectatorCount(), SpectatorFanout.FRAMES.getValue(),
+                        SpectatorFanout.COALESCED.getValue(), SpectatorFanout.PARKED.getValue(),
+                        SpectatorFanout.DROPPED.getValue(),
+                        SpectatorFanout.SWEEP.percentileNanos(0.5) / 1e6,
+                        SpectatorFanout.SWEEP.percentileNanos(0.99) / 1e6,
+                        (usedHeap() - heap0) / 1024);
+            }
+            System.out.println("scheduler: " + server.getScheduler().describeStats());
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    // 방을 만들고 계속 정답을 치는 플레이어 (경기가 끝나면 다시 시작)
+    private static void play(int port) {
+        try (GameClient c = new GameClient("127.0.0.1", port)) {
+            c.join(ROOM);
+            c.start();
+            String line;
+            long nextAnswer = 0;
+            while ((line = c.readLine()) != null) {
+                if (line.startsWith(Protocol.STATE) && System.nanoTime() >= nextAnswer) {
+                    c.answer(line.split(" ")[5]);
+                    nextAnswer = System.nanoTime() + 150_000_000L;
+                } else if (line.startsWith(Protocol.END)) {
+                    c.start();
+                }
+            }
+        } catch (IOException e) {
+            // 테스트 종료
+        }
+    }
+
+    // ===== 자식 JVM: 관전자들 =====
+
+    private static final class Viewer {
+        final SocketChannel ch;
+        final boolean slow;
+        final ByteBuffer in = ByteBuffer.allocate(4 * 1024);
+        long lastSeq = -1;
+        long frames, keys, gaps, skipped;
+
+        Viewer(SocketChannel ch, boolean slow) {
+            this.ch = ch;
+            this.slow = slow;
+        }
+    }
+
+    private static void runViewers(String host, int port, int n, int seconds, int slowPct) throws IOException {
+        Viewer[] all = new Viewer[n];
+        try (Selector selector = Selector.open()) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                SocketChannel ch = SocketChannel.open();
+                ch.setOption(StandardSocketOptions.SO_RCVBUF, 1024);
+                ch.connect(new InetSocketAddress(host, port));
+                ch.configureBlocking(false);
+                all[i] = new Viewer(ch, i % 100 < slowPct);
+                ch.register(selector, SelectionKey.OP_READ, all[i]);
+                ch.write(ByteBuffer.wrap((Protocol.WATCH + " " + ROOM + "\n").getBytes(StandardCharsets.UTF_8)));
+            }
+            System.out.printf("[viewers] connected %,d in %.1fs%n", n, (System.nanoTime() - t0) / 1e9);
+
+            long start = System.nanoTime();
+            long end = start + seconds * 1_000_000_000L;
+            long pauseFrom = start + 2_000_000_000L;
+            long pauseTo = end - 4_000_000_000L;
+            boolean paused = false;
+            while (System.nanoTime() < end) {
+                long now = System.nanoTime();
+                boolean pause = now >= pauseFrom && now < pauseTo;
+                if (pause != paused) {
+                    paused = pause;
+                    for (Viewer v : all) {
+                        SelectionKey k = v.ch.keyFor(selector);
+                        if (v.slow && k != null && k.isValid()) k.interestOps(pause ? 0 : SelectionKey.OP_READ);
+                    }
+                }
+                selector.select(10);
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    Viewer v = (Viewer) key.attachment();
+                    if (!key.isValid()) continue;
+                    if (v.ch.read(v.in) < 0) {
+                        key.cancel();
+                        continue;
+                    }
+                    parse(v);
+                }
+            }
+
+            // 결과: 보통 관전자와 느린 관전자를 나눠서
+            long[] normal = new long[5];
+            long[] slow = new long[5];
+            int slowCount = 0, closedSlow = 0, closedNormal = 0;
+            for (Viewer v : all) {
+                long[] s = v.slow ? slow : normal;
+                if (v.slow) slowCount++;
+                s[0] += v.frames;
+                s[1] += v.keys;
+                s[2] += v.gaps;
+                s[3] += v.skipped;
+                if (!v.ch.isOpen() || v.ch.keyFor(selector) == null || !v.ch.keyFor(selector).isValid()) {
+                    if (v.slow) closedSlow++;
+                    else closedNormal++;
+                }
+            }
+            report("normal", n - slowCount, normal, closedNormal, seconds);
+            report("slow", slowCount, slow, closedSlow, seconds);
+            for (Viewer v : all) v.ch.close();
+        }
+    }
+
+    private static void report(String name, int count, long[] s, int closed, int seconds) {
+        if (count == 0) return;
+        System.out.printf("[viewers] %-6s %,6d명: 프레임 %.1f/s/명, 키 프레임 %.1f/명, 건너뛴 구간 %.1f/명 (프레임 %.1f/명), 끊김 %,d%n",
+                name, count, s[0] / (double) count / seconds, s[1] / (double) count,
+                s[2] / (double) count, s[3] / (double) count, closed);
+    }
+
+    // 줄마다 "SPEC <seq>" / "DELTA <seq>"의 seq가 1씩 느는지 본다
+    private static void parse(Viewer v) {
+        ByteBuffer in = v.in;
+        in.flip();
+        int lineStart = in.position();
+        for (int i = lineStart; i < in.limit(); i++) {
+            if (in.get(i) != '\n') continue;
+            byte first = in.get(lineStart);
+            if (first == 'S' || first == 'D') {
+                int p = lineStart;
+                while (in.get(p) != ' ') p++;
+                long seq = 0;
+                for (p++; p < i && in.get(p) >= '0' && in.get(p) <= '9'; p++) seq = seq * 10 + in.get(p) - '0';
+                v.frames++;
+                if (first == 'S') v.keys++;
+                if (v.lastSeq >= 0 && seq != v.lastSeq + 1) {
+                    v.gaps++;
+                    v.skipped += seq - v.lastSeq - 1;
+                }
+                v.lastSeq = seq;
+            }
+            lineStart = i + 1;
+        }
+        in.position(lineStart);
+        in.compact();
+    }
+}
@@ -0,0 +1,248 @@
+package com.typingarena.server;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 여러 게임의 tick()을 소수의 고정 스레드로 돌리는 해시 타이밍 휠 스케줄러.
+ *
+ * - 샤드(스레드)마다 휠을 하나씩 갖는다. 방은 한 샤드에 고정되고,
+ *   그 방의 상태는 그 샤드 스레드만 만지므로 방끼리 경합이 없다.
+ * - 휠은 resolutionMs 간격의 슬롯 wheelSize개. 주기가 한 바퀴보다 길면 rounds로 센다.
+ * - 다른 스레드(네트워크 등)는 execute()로 작업을 샤드에 넘긴다.
+ *   샤드는 다음 슬롯까지 park 하다가 작업이 오면 바로 깨어나 처리한다.
+ * - 슬롯을 처리하기 시작한 시각과 원래 예정 시각의 차이(lag)와
+ *   연속 lag의 변화량(jitter)을 샤드별로 기록한다.
+ */
+public final class TickScheduler implements AutoCloseable {
+
+    /** 주기적으로 불릴 작업 (샤드 스레드에서 실행) */
+    public interface Tickable {
+        void tick();
+    }
+
+    /** schedule()이 돌려주는 취소 핸들 */
+    public static final class Handle {
+        final Tickable task;
+        final int periodTicks;
+        int rounds;
+        Handle next;
+        volatile boolean cancelled;
+
+        Handle(Tickable task, int periodTicks) {
+            this.task = task;
+            this.periodTicks = periodTicks;
+        }
+
+        /** 다음 슬롯 방문 때 휠에서 빠진다. 어느 스레드에서 불러도 된다. */
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private final Shard[] shards;
+    private final long resolutionNanos;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public TickScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), 10, 64);
+    }
+
+    /**
+     * @param shardCount   샤드(스레드) 수
+     * @param resolutionMs 슬롯 간격
+     * @param wheelSize    슬롯 수 (2의 거듭제곱)
+     */
+    public TickScheduler(int shardCount, int resolutionMs, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize는 2의 거듭제곱이어야 함: " + wheelSize);
+        }
+        this.resolutionNanos = TimeUnit.MILLISECONDS.toNanos(resolutionMs);
+        this.shards = new Shard[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i, wheelSize);
+            shards[i].thread.start();
+        }
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /** 라운드 로빈으로 샤드를 하나 고른다 (새 방 배치용). */
+    public Shard nextShard() {
+        return shards[Math.floorMod(nextShard.getAndIncrement(), shards.length)];
+    }
+
+    public Shard shard(int index) {
+        return shards[index];
+    }
+
+    /**
+     * task를 periodMs마다 shard에서 실행한다.
+     * initialDelayMs로 첫 실행 시점을 슬롯 단위로 흩어 놓으면
+     * 모든 방이 같은 슬롯에 몰리지 않는다.
+     */
+    public Handle schedule(Shard shard, Tickable task, int periodMs, int initialDelayMs) {
+        Handle h = new Handle(task, toTicks(periodMs));
+        int delay = toTicks(initialDelayMs);
+        shard.execute(() -> shard.insert(h, delay));
+        return h;
+    }
+
+    private int toTicks(int ms) {
+        return (int) Math.max(1, TimeUnit.MILLISECONDS.toNanos(ms) / resolutionNanos);
+    }
+
+    // ===== 지표 =====
+
+    /** 전체 샤드의 lag/jitter 요약 */
+    public String describeStats() {
+        long slots = 0, tasks = 0, lagTotal = 0, lagMax = 0, jitterTotal = 0, jitterMax = 0;
+        for (Shard s : shards) {
+            slots += s.slots;
+            tasks += s.tasksRun;
+            lagTotal += s.lagTotal;
+            lagMax = Math.max(lagMax, s.lagMax);
+            jitterTotal += s.jitterTotal;
+            jitterMax = Math.max(jitterMax, s.jitterMax);
+        }
+        double n = Math.max(1, slots);
+        return String.format("shards=%d slots=%,d ticks=%,d lag avg=%.1fus max=%.1fus jitter avg=%.1fus max=%.1fus",
+                shards.length, slots, tasks, lagTotal / n / 1e3, lagMax / 1e3, jitterTotal / n / 1e3, jitterMax / 1e3);
+    }
+
+    @Override
+    public void close() {
+        for (Shard s : shards) {
+            s.running = false;
+            LockSupport.unpark(s.thread);
+        }
+        for (Shard s : shards) {
+            try {
+                s.thread.join(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** 스레드 하나 + 휠 하나. */
+    public final class Shard {
+
+        final int index;
+        final Thread thread;
+        private final Handle[] wheel;
+        private final int mask;
+        private final ConcurrentLinkedQueue<Runnable> inbox = new ConcurrentLinkedQueue<>();
+        volatile boolean running = true;
+
+        private long now; // 지금까지 처리한 슬롯 수 (휠 시계)
+
+        // 지표 (샤드 스레드만 씀)
+        volatile long slots;
+        volatile long tasksRun;
+        volatile long lagTotal;
+        volatile long lagMax;
+        volatile long jitterTotal;
+        volatile long jitterMax;
+
+        Shard(int index, int wheelSize) {
+            this.index = index;
+            this.wheel = new Handle[wheelSize];
+            this.mask = wheelSize - 1;
+            this.thread = new Thread(this::run, "tick-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /** 이 샤드 스레드에서 task를 실행한다 (순서 보장). */
+        public void execute(Runnable task) {
+            inbox.add(task);
+            if (Thread.currentThread() != thread) LockSupport.unpark(thread);
+        }
+
+        public boolean inShardThread() {
+            return Thread.currentThread() == thread;
+        }
+
+        // delay 슬롯 뒤에 실행되도록 휠에 넣는다 (샤드 스레드 전용)
+        void insert(Handle h, int delay) {
+            long target = now + delay;
+            int slot = (int) (target & mask);
+            h.rounds = (delay - 1) / wheel.length;
+            h.next = wheel[slot];
+            wheel[slot] = h;
+        }
+
+        private void drainInbox() {
+            Runnable r;
+            while ((r = inbox.poll()) != null) {
+                try {
+                    r.run();
+                } catch (RuntimeException e) {
+                    e.printStackTrace(); // 작업 하나가 터져도 샤드는 계속 돈다
+                }
+            }
+        }
+
+        private void run() {
+            long start = System.nanoTime();
+            long prevLag = 0;
+            while (running) {
+                long deadline = start + (now + 1) * resolutionNanos;
+                drainInbox();
+                long t;
+                while ((t = System.nanoTime()) < deadline) {
+                    LockSupport.parkNanos(deadline - t);
+                    drainInbox();
+                    if (!running) return;
+                }
+
+                long lag = t - deadline;
+                long jitter = Math.abs(lag - prevLag);
+                prevLag = lag;
+                lagTotal += lag;
+                if (lag > lagMax) lagMax = lag;
+                jitterTotal += jitter;
+                if (jitter > jitterMax) jitterMax = jitter;
+
+                now++;
+                slots++;
+                processSlot((int) (now & mask));
+            }
+        }
+
+        // 슬롯 목록을 떼어 낸 뒤 돌면서, 살아 있는 핸들은 다시 휠에 꽂는다
+        private void processSlot(int slot) {
+            Handle h = wheel[slot];
+            wheel[slot] = null;
+            long ran = 0;
+            while (h != null) {
+                Handle next = h.next;
+                if (!h.cancelled) {
+                    if (h.rounds > 0) {
+                        h.rounds--;
+                        h.next = wheel[slot];
+                        wheel[slot] = h;
+                    } else {
+                        try {
+                            h.task.tick();
+                        } catch (RuntimeException e) {
+                            e.printStackTrace();
+                        }
+                        ran++;
+                        if (!h.cancelled) insert(h, h.periodTicks);
+                    }
+                }
+                h = next;
+            }
+            tasksRun += ran;
+        }
+    }
+}
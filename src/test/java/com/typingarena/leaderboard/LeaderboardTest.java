@@ -0,0 +1,131 @@
+package com.typingarena.leaderboard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 임시 디렉터리에 리더보드를 열고 닫으며 복구/압축/용량/파일 락을 확인한다.
+ */
+@Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+class LeaderboardTest {
+
+    @TempDir
+    Path dir;
+
+    // 상위 전체의 seq 목록 (중복 확인용)
+    private static Set<Long> seqs(Leaderboard lb) {
+        Set<Long> out = new HashSet<>();
+        for (MatchRecord r : lb.top(lb.size())) {
+            assertTrue(out.add(r.getSeq()), "seq 중복: " + r);
+        }
+        return out;
+    }
+
+    @Test
+    void tornTailIsTruncatedOnOpen() throws IOException {
+        try (Leaderboard lb = Leaderboard.open(dir)) {
+            for (int i = 1; i <= 5; i++) lb.record("p" + i, i * 100, i, MatchRecord.WIN);
+        }
+
+        // 마지막 레코드를 쓰다 만 것처럼 꼬리 몇 바이트를 자른다
+        Path file = dir.resolve(Leaderboard.LOG_NAME);
+        long full = Files.size(file);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.truncate(full - 3);
+        }
+
+        try (Leaderboard lb = Leaderboard.open(dir)) {
+            assertEquals(4, lb.size());
+            assertEquals(400, lb.top(1).get(0).getScore()); // 500점(마지막 레코드)이 빠짐
+            lb.record("p6", 600, 6, MatchRecord.WIN);      // 잘라낸 뒤로 이어 쓴다
+        }
+
+        try (Leaderboard lb = Leaderboard.open(dir)) {
+            assertEquals(5, lb.size());
+            assertEquals(600, lb.top(1).get(0).getScore());
+        }
+    }
+
+    @Test
+    void reopenAfterCompactKeepsEveryRecordOnce() throws IOException {
+        try (Leaderboard lb = Leaderboard.open(dir)) {
+            for (int i = 0; i < 50; i++) lb.record("a", i, 0, MatchRecord.LOSS);
+            lb.compact();
+            for (int i = 50; i < 80; i++) lb.record("b", i, 0, MatchRecord.WIN);
+        }
+
+        try (Leaderboard lb = Leaderboard.open(dir)) {
+            assertEquals(80, lb.size());
+            Set<Long> seqs = seqs(lb);
+            for (long s = 1; s <= 80; s++) assertTrue(seqs.contains(s), "seq " + s + " 없음");
+
+            // seq는 복구한 것 다음부터 이어진다
+            assertEquals(81, lb.record("c", 1, 0, MatchRecord.DRAW).getSeq());
+        }
+    }
+
+    @Test
+    void capacityKeepsOnlyTheTopScores() throws IOException {
+        try (Leaderboard lb = Leaderboard.open(dir, 10)) {
+            for (int i = 1; i <= 30; i++) lb.record("p", i * 7 % 31, 0, MatchRecord.WIN); // 1..30 섞어서
+            assertEquals(10, lb.size());
+            List<MatchRecord> top = lb.top(3);
+            assertEquals(30, top.get(0).getScore());
+            assertEquals(29, top.get(1).getScore());
+            assertEquals(28, top.get(2).getScore());
+            assertEquals(21, lb.top(10).get(9).getScore());
+        }
+
+        // 로그에는 밀려난 기록도 남아 있지만 다시 열 때도 capacity까지만
+        try (Leaderboard lb = Leaderboard.open(dir, 10)) {
+            assertEquals(10, lb.size());
+            assertEquals(21, lb.top(10).get(9).getScore());
+            assertEquals(11, lb.rankOf(20));
+        }
+    }
+
+    @Test
+    void closeWhileFlusherIsWritingLosesNothing() throws IOException {
+        // 백그라운드 flush와 close()가 겹치는 경우 (인터럽트로 채널이 닫히면 버퍼 하나가 통째로 빠졌다)
+        int total = 0;
+        for (int round = 0; round < 20; round++) {
+            try (Leaderboard lb = Leaderboard.open(dir)) {
+                long end = System.nanoTime() + round * 1_000_000L;
+                do {
+                    lb.record("p", total++, 0, MatchRecord.WIN);
+                } while (System.nanoTime() < end);
+            }
+        }
+        try (Leaderboard lb = Leaderboard.open(dir)) {
+            assertEquals(total, lb.size());
+        }
+    }
+
+    @Test
+    void secondOpenOfSameDirectoryFails() throws IOException {
+        try (Leaderboard lb = Leaderboard.open(dir)) {
+            lb.record("p", 1, 0, MatchRecord.WIN);
+            assertThrows(IOException.class, () -> Leaderboard.open(dir));
+            lb.record("p", 2, 0, MatchRecord.WIN); // 실패한 open이 먼저 연 쪽을 망가뜨리지 않는다
+        }
+
+        // 닫은 뒤에는 다시 열린다
+        try (Leaderboard lb = Leaderboard.open(dir)) {
+            assertEquals(2, lb.size());
+        }
+    }
+}
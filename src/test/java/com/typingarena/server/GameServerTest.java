@@ -0,0 +1,186 @@
+package com.typingarena.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 루프백 + 임시 포트로 서버를 띄워 명령 왕복을 확인한다.
+ */
+@Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD) // 소켓을 막고 기다리는 테스트도 끊기도록
+class GameServerTest {
+
+    private GameServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = GameServer.open(new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    private GameClient connect() throws IOException {
+        return new GameClient("127.0.0.1", server.getPort());
+    }
+
+    // STATE <pos> <score> <combo> <timeMs> <단어> <효과비트>
+    private static String[] state(String line) {
+        assertNotNull(line, "연결이 끊김");
+        String[] f = line.split(" ");
+        assertEquals(Protocol.STATE, f[0]);
+        assertEquals(7, f.length, line);
+        return f;
+    }
+
+    @Test
+    void joinSendsCurrentState() throws IOException {
+        try (GameClient c = connect()) {
+            c.join("lobby");
+            String[] s = state(c.await(Protocol.STATE));
+            assertEquals("0", s[2]);      // 점수
+            assertEquals("60000", s[4]);  // 시작 전이라 시간이 그대로
+        }
+    }
+
+    @Test
+    void answersAreJudgedByServer() throws IOException {
+        try (GameClient c = connect()) {
+            c.join("answers");
+            c.await(Protocol.STATE);
+            c.start();
+            String word = state(c.await(Protocol.STATE))[5];
+
+            c.answer(word);
+            assertEquals("RESULT OK", c.await(Protocol.RESULT));
+            String[] after = state(c.await(Protocol.STATE));
+            assertTrue(Integer.parseInt(after[2]) > 0, "정답이면 점수가 오른다");
+            assertEquals("1", after[3]);  // 콤보
+
+            c.answer("틀린답");
+            assertEquals("RESULT MISS", c.await(Protocol.RESULT));
+            assertEquals("0", state(c.await(Protocol.STATE))[3]);
+        }
+    }
+
+    @Test
+    void runningRoomTicks() throws IOException {
+        try (GameClient c = connect()) {
+            c.join("ticks");
+            c.await(Protocol.STATE);
+            c.start();
+            int first = Integer.parseInt(state(c.await(Protocol.STATE))[4]);
+            int later = first;
+            for (int i = 0; i < 5; i++) later = Integer.parseInt(state(c.await(Protocol.STATE))[4]);
+            assertTrue(later < first, "틱마다 남은 시간이 준다: " + first + " -> " + later);
+        }
+    }
+
+    @Test
+    void playersInRoomShareState() throws IOException {
+        try (GameClient a = connect(); GameClient b = connect()) {
+            a.join("shared");
+            a.await(Protocol.STATE);
+            b.join("shared");
+            b.await(Protocol.STATE);
+            a.start();
+            String word = state(a.await(Protocol.STATE))[5];
+            a.answer(word);
+            a.await(Protocol.RESULT);
+
+            // b도 a의 정답이 반영된 상태를 받는다 (점수 > 0)
+            String[] s;
+            do {
+                s = state(b.await(Protocol.STATE));
+            } while (s[2].equals("0"));
+            assertEquals(1, server.getRoomCount());
+        }
+    }
+
+    @Test
+    void commandsNeedRoom() throws IOException {
+        try (GameClient c = connect()) {
+            c.start();
+            assertEquals("ERR join a room first", c.await(Protocol.ERR));
+            c.send("DANCE");
+            assertEquals("ERR unknown command", c.await(Protocol.ERR));
+        }
+    }
+
+    @Test
+    void quitClosesConnection() throws Exception {
+        GameClient c = connect();
+        c.join("quit");
+        c.await(Protocol.STATE);
+        c.send(Protocol.QUIT);
+        assertEquals(null, c.readLine()); // 서버가 소켓을 닫는다
+        c.close();
+        for (int i = 0; i < 100 && (server.getConnectionCount() > 0 || server.getRoomCount() > 0); i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, server.getConnectionCount());
+        assertEquals(0, server.getRoomCount()); // 마지막 플레이어가 나가면 방도 닫힌다
+    }
+
+    @Test
+    void overlongLineClosesConnection() throws IOException {
+        try (GameClient c = connect()) {
+            c.join("long");
+            c.await(Protocol.STATE);
+            c.start();
+            // 줄바꿈까지 MAX_LINE 바이트면 받는다
+            c.answer("x".repeat(Protocol.MAX_LINE - Protocol.ANSWER.length() - 2));
+            assertEquals("RESULT MISS", c.await(Protocol.RESULT));
+        }
+        try (GameClient c = connect()) {
+            c.join("long");
+            c.await(Protocol.STATE);
+            c.answer("가".repeat(Protocol.MAX_LINE / 3)); // 한글은 글자당 3바이트
+            assertNull(c.await(Protocol.ERR)); // 서버가 소켓을 닫는다
+        }
+    }
+
+    @Test
+    void slowPlayerIsClosedWithoutStoppingServer() throws Exception {
+        try (Socket slow = new Socket()) {
+            slow.setReceiveBufferSize(4 * 1024);
+            slow.connect(new InetSocketAddress("127.0.0.1", server.getPort()));
+            OutputStream out = slow.getOutputStream();
+            out.write(Protocol.line(Protocol.JOIN + " slow"));
+            out.write(Protocol.line(Protocol.START));
+            // 답마다 RESULT + STATE가 샤드 스레드에서 나간다. 읽지 않으면 쓰기가 밀려서
+            // 샤드가 연결을 닫고 (MAX_OUTBOUND), 그 뒤의 쓰기는 실패한다
+            byte[] answers = new byte[64 * 1024];
+            byte[] one = Protocol.line(Protocol.ANSWER + " x");
+            for (int i = 0; i + one.length <= answers.length; i += one.length) {
+                System.arraycopy(one, 0, answers, i, one.length);
+            }
+            assertThrows(IOException.class, () -> {
+                while (true) out.write(answers);
+            });
+        }
+        for (int i = 0; i < 100 && server.getConnectionCount() > 0; i++) Thread.sleep(20);
+        assertEquals(0, server.getConnectionCount());
+
+        // 이벤트 루프는 그대로 돌아서 새 연결도 받는다
+        try (GameClient c = connect()) {
+            c.join("after");
+            assertEquals("60000", state(c.await(Protocol.STATE))[4]);
+        }
+    }
+}
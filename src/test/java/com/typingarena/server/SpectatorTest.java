@@ -0,0 +1,154 @@
+package com.typingarena.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 관전(WATCH): 프레임 순서, 느린 관전자 끊기.
+ */
+@Timeout(value = 15, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+class SpectatorTest {
+
+    private GameServer server;
+    private GameClient player;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = GameServer.open(new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        player = connect();
+        player.join("show");
+        player.await(Protocol.STATE);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        player.close();
+        server.close();
+    }
+
+    private GameClient connect() throws IOException {
+        return new GameClient("127.0.0.1", server.getPort());
+    }
+
+    // SPEC/DELTA 줄의 프레임 번호
+    private static long seq(String line) {
+        assertNotNull(line, "연결이 끊김");
+        return Long.parseLong(line.split(" ")[1]);
+    }
+
+    @Test
+    void keyFrameThenDeltas() throws IOException {
+        try (GameClient viewer = connect()) {
+            viewer.send(Protocol.WATCH + " show");
+            String first = viewer.readLine();
+            assertTrue(first.startsWith(Protocol.SPEC + " "), first);
+
+            player.start();
+            long seq = seq(first);
+            for (int i = 0; i < 5; i++) {
+                String line = viewer.readLine();
+                assertTrue(line.startsWith(Protocol.DELTA + " "), line); // 관전자에게는 STATE가 안 간다
+                assertEquals(++seq, seq(line));
+            }
+        }
+    }
+
+    @Test
+    void watchNeedsExistingRoom() throws IOException {
+        try (GameClient viewer = connect()) {
+            viewer.send(Protocol.WATCH + " nowhere");
+            assertEquals("ERR no such room", viewer.readLine());
+        }
+    }
+
+    @Test
+    void spectatorCountIsPerServer() throws Exception {
+        GameServer other = GameServer.open(new InetSocketAddress("127.0.0.1", 0));
+        other.start();
+        try (GameClient viewer = connect()) {
+            viewer.send(Protocol.WATCH + " show");
+            seq(viewer.readLine());
+            player.start(); // 틱마다 프레임이 올라와 sweep이 돈다
+            while (server.getSpectatorCount() != 1) Thread.sleep(10);
+            assertEquals(0, other.getSpectatorCount()); // 같은 JVM의 다른 서버 관전자는 안 센다
+            assertTrue(SpectatorFanout.SPECTATORS.getValue() >= 1);
+        } finally {
+            other.close();
+        }
+    }
+
+    @Test
+    void slowSpectatorIsDroppedOthersKeepWatching() throws Exception {
+        server.getFanout().setStallTimeoutMs(200);
+        Room room = server.getRoom("show");
+        long dropped = SpectatorFanout.DROPPED.getValue();
+
+        try (GameClient viewer = connect(); Socket slow = new Socket()) {
+            viewer.send(Protocol.WATCH + " show");
+            seq(viewer.readLine());
+            AtomicInteger frames = new AtomicInteger();
+            Thread reader = new Thread(() -> {
+                try {
+                    while (viewer.readLine() != null) frames.incrementAndGet(); // 계속 읽는 관전자
+                } catch (IOException ignored) {
+                    // 테스트 끝
+                }
+            });
+            reader.setDaemon(true);
+            reader.start();
+
+            slow.setReceiveBufferSize(1);
+            slow.connect(new InetSocketAddress("127.0.0.1", server.getPort()));
+            slow.getOutputStream().write(Protocol.line(Protocol.WATCH + " show"));
+
+            // 틱(100ms)을 기다리지 않고 샤드에서 프레임을 빨리 올려 소켓 버퍼를 채운다. 읽지 않는
+            // 관전자는 멈추고(stall) 200ms 뒤에 끊긴다
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (SpectatorFanout.DROPPED.getValue() == dropped) {
+                if (System.nanoTime() > deadline) fail("느린 관전자가 끊기지 않음");
+                for (int i = 0; i < 50; i++) {
+                    room.shard.execute(() -> {
+                        room.spectators.publish(room.logic, null);
+                        server.getFanout().wakeup(room.spectators);
+                    });
+                }
+                Thread.sleep(5);
+            }
+
+            // 서버가 닫은 소켓: 남은 것을 다 읽으면 끝 (또는 reset)
+            slow.setSoTimeout(5_000);
+            InputStream in = slow.getInputStream();
+            byte[] buf = new byte[4096];
+            try {
+                while (in.read(buf) >= 0) {
+                    // 비우기
+                }
+            } catch (IOException ignored) {
+                // reset
+            }
+
+            // 다른 관전자는 그대로 받는다
+            int before = frames.get();
+            player.start();
+            while (frames.get() == before) Thread.sleep(10);
+            try (GameClient late = connect()) {
+                late.send(Protocol.WATCH + " show");
+                assertTrue(late.readLine().startsWith(Protocol.SPEC + " "));
+            }
+        }
+    }
+}